@@ -0,0 +1,199 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Groovy sources the benchmarks run over: the {@code *.groovy} files of the repository testdata plus generated
+ * large files which the testdata lacks.
+ *
+ * @since 2026-10-19
+ */
+public final class BenchmarkCorpus {
+  public static final String TESTDATA_PROPERTY = "groovy.benchmark.testdata";
+  /**
+   * Testdata files shorter than this are left out of {@link Kind#LARGE_TESTDATA}
+   */
+  public static final int LARGE_FILE_LENGTH = 4096;
+
+  public enum Kind {
+    /**
+     * All {@code *.groovy} files under testdata
+     */
+    TESTDATA,
+    /**
+     * A single class with many methods, closures and local variables
+     */
+    LARGE_CLASS,
+    /**
+     * A Gradle/Grails like script built of nested builder closures and command chains
+     */
+    BUILD_SCRIPT,
+    /**
+     * The {@code *.groovy} files under testdata of at least {@link #LARGE_FILE_LENGTH} characters
+     */
+    LARGE_TESTDATA
+  }
+
+  private BenchmarkCorpus() {
+  }
+
+  public static List<String> load(Kind kind) {
+    switch (kind) {
+      case TESTDATA:
+        return loadTestdata();
+      case LARGE_CLASS:
+        return Collections.singletonList(generateClass(400));
+      case BUILD_SCRIPT:
+        return Collections.singletonList(generateBuildScript(400));
+      case LARGE_TESTDATA:
+        return loadLargeTestdata();
+    }
+    throw new IllegalArgumentException(kind.toString());
+  }
+
+  public static List<String> loadTestdata() {
+    Path root = Paths.get(System.getProperty(TESTDATA_PROPERTY, "../testdata"));
+    if (!Files.isDirectory(root)) {
+      throw new IllegalStateException("Testdata not found at " + root.toAbsolutePath() + ", set -D" + TESTDATA_PROPERTY);
+    }
+
+    List<String> result = new ArrayList<String>();
+    try (Stream<Path> files = Files.walk(root)) {
+      files.filter(file -> file.toString().endsWith(".groovy")).sorted().forEach(file -> {
+        try {
+          result.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  public static List<String> loadLargeTestdata() {
+    List<String> result = new ArrayList<String>();
+    for (String text : loadTestdata()) {
+      if (text.length() >= LARGE_FILE_LENGTH) {
+        result.add(text);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return a class of {@code methods} methods, each with typed and untyped locals, a closure iterating a list,
+   * string interpolation and calls to the neighbouring methods
+   */
+  public static String generateClass(int methods) {
+    StringBuilder text = new StringBuilder();
+    text.append("package bench\n\n");
+    text.append("import groovy.transform.CompileStatic\n");
+    text.append("import java.util.concurrent.ConcurrentHashMap\n\n");
+    text.append("class LargeService {\n");
+    text.append("  private final Map<String, List<Integer>> cache = new ConcurrentHashMap<>()\n");
+    text.append("  def counter = 0\n\n");
+    for (int i = 0; i < methods; i++) {
+      text.append("  /**\n   * Method ").append(i).append("\n   */\n");
+      text.append("  def method").append(i).append("(String name, int count = ").append(i).append(") {\n");
+      text.append("    def list = (0..count).collect { it * 2 }\n");
+      text.append("    String key = \"${name}-").append(i).append("\"\n");
+      text.append("    int total = 0\n");
+      text.append("    for (x in list) {\n");
+      text.append("      if (x % 3 == 0) total += x else total -= 1\n");
+      text.append("    }\n");
+      text.append("    cache.computeIfAbsent(key) { k -> [total, list.size()] }\n");
+      text.append("    def result = list.findAll { it > total }.inject(0) { acc, v -> acc + v }\n");
+      if (i > 0) {
+        text.append("    result += method").append(i - 1).append("(key.toUpperCase(), count - 1) as int\n");
+      }
+      text.append("    counter++\n");
+      text.append("    return result\n");
+      text.append("  }\n\n");
+    }
+    text.append("}\n");
+    return text.toString();
+  }
+
+  /**
+   * @return a DSL-heavy build script: nested builder closures, named arguments, method calls without parentheses
+   * and long command chains
+   */
+  public static String generateBuildScript(int blocks) {
+    StringBuilder text = new StringBuilder();
+    text.append("apply plugin: 'groovy'\n");
+    text.append("version = '1.0'\n\n");
+    for (int i = 0; i < blocks; i++) {
+      text.append("project(':module").append(i).append("') {\n");
+      text.append("  dependencies {\n");
+      text.append("    compile group: 'org.example', name: 'lib").append(i).append("', version: '1.").append(i).append("'\n");
+      text.append("    testCompile 'junit:junit:4.12'\n");
+      text.append("  }\n");
+      text.append("  task build").append(i).append("(type: Copy, dependsOn: ['compile']) {\n");
+      text.append("    from 'src' into 'out' include '**/*.groovy' exclude '**/Test*'\n");
+      text.append("    doLast { println \"built ${project.name} ").append(i).append("\" }\n");
+      text.append("  }\n");
+      text.append("  please show the square_root of ").append(i).append("\n");
+      text.append("  repositories { maven { url 'https://repo").append(i).append(".example.org' } }\n");
+      text.append("  Map<String, List<Map<String, Integer>>> options").append(i).append(" = [a: [[b: ").append(i).append("]]]\n");
+      text.append("}\n\n");
+    }
+    return text.toString();
+  }
+
+  /**
+   * @return a script of {@code statements} statements which the parser tries several ways. Each statement is a call
+   * used as an operand ({@code call3(...) + 3}), which is parsed as a command expression first, then rolled back at the
+   * operator and parsed again as a plain expression. The call arguments nest calls {@code depth} levels deep, and every
+   * level has a parenthesized name compared with something ({@code (Alpha1) == a1}, tried as a type cast first) and a
+   * comparison starting with a capitalized name ({@code (Level1 < limit1)}, tried as a generic type first). Without
+   * {@link org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo} each of these attempts is made again
+   * when the statement is reparsed.
+   */
+  public static String generateBacktrackingScript(int depth, int statements) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < statements; i++) {
+      appendBacktrackingCall(text, depth);
+      text.append(" + ").append(i).append('\n');
+    }
+    return text.toString();
+  }
+
+  private static void appendBacktrackingCall(StringBuilder text, int level) {
+    if (level == 0) {
+      text.append("(Alpha0) == a0 && (Level0 < limit0)");
+      return;
+    }
+    text.append("call").append(level).append('(');
+    appendBacktrackingCall(text, level - 1);
+    text.append(", (Alpha").append(level).append(") == a").append(level);
+    text.append(", (Level").append(level).append(" < limit").append(level).append(")) + ").append(level);
+  }
+}
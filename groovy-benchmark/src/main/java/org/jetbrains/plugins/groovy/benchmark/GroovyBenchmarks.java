@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.application.Application;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+/**
+ * Runs the suites given on the command line (all by default) with the GC profiler, so that every result is
+ * reported as throughput plus allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ * <p>
+ * Only {@link GroovyLexerBenchmark} runs in a plain JVM. The other suites need a running Consulo application and
+ * are {@code @Fork(0)}: they are started with {@link #runInProcess} from code running inside the application,
+ * e.g. a test case or an internal action. Without an application {@link #main} runs the lexer suite only.
+ *
+ * @since 2026-10-19
+ */
+public class GroovyBenchmarks {
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    OptionsBuilder options = createOptions(commandLine);
+    if (commandLine.getIncludes().isEmpty()) {
+      if (Application.get() == null) {
+        System.out.println("No Consulo application is running, only GroovyLexerBenchmark is run. " +
+                           "Start the PSI suites with GroovyBenchmarks.runInProcess() inside the application.");
+        options.include(GroovyLexerBenchmark.class.getName());
+      }
+      else {
+        options.include(GroovyBenchmarks.class.getPackage().getName() + ".*");
+      }
+    }
+    new Runner(options.build()).run();
+  }
+
+  /**
+   * Runs the suites given by JMH command line options in the current JVM, which has to run a Consulo application
+   * with the Groovy plugin loaded. Must not be called on the event dispatch thread, as the benchmarks take read
+   * and write actions.
+   */
+  public static Collection<RunResult> runInProcess(String... args) throws RunnerException, CommandLineOptionException {
+    GroovyPsiBenchmarkState.requireApplication();
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    OptionsBuilder options = createOptions(commandLine);
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include(GroovyBenchmarks.class.getPackage().getName() + ".*");
+    }
+    options.forks(0);
+    return new Runner(options.build()).run();
+  }
+
+  private static OptionsBuilder createOptions(CommandLineOptions commandLine) {
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(commandLine);
+    options.addProfiler(GCProfiler.class);
+    return options;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import org.jetbrains.plugins.groovy.lang.psi.GrControlFlowOwner;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElement;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.impl.ControlFlowBuilder;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DFAEngine;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.DefinitionMap;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsDfaInstance;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsSemilattice;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.types.TypeInferenceHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ControlFlowBuilder}, of the reaching definitions {@link DFAEngine} pass over the built flows,
+ * and of {@link TypeInferenceHelper} inference over every control flow owner of the corpus.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyControlFlowBenchmark {
+  @State(Scope.Benchmark)
+  public static class Owners {
+    List<GrControlFlowOwner> owners = new ArrayList<GrControlFlowOwner>();
+    List<Instruction[]> flows = new ArrayList<Instruction[]>();
+
+    @Setup
+    public void setUp(GroovyPsiBenchmarkState state) {
+      state.readAction(() -> {
+        for (String text : state.texts) {
+          collectOwners(state.createFile(text), owners);
+        }
+        for (GrControlFlowOwner owner : owners) {
+          flows.add(new ControlFlowBuilder(state.project).buildControlFlow((GroovyPsiElement)owner));
+        }
+        return null;
+      });
+    }
+  }
+
+  static void collectOwners(GroovyFile file, List<GrControlFlowOwner> owners) {
+    file.accept(new PsiRecursiveElementWalkingVisitor() {
+      @Override
+      public void visitElement(PsiElement element) {
+        if (element instanceof GrControlFlowOwner && ((GrControlFlowOwner)element).isTopControlFlowOwner()) {
+          owners.add((GrControlFlowOwner)element);
+        }
+        super.visitElement(element);
+      }
+    });
+  }
+
+  @Benchmark
+  public void buildControlFlow(GroovyPsiBenchmarkState state, Owners owners, Blackhole blackhole) {
+    state.readAction(() -> {
+      for (GrControlFlowOwner owner : owners.owners) {
+        blackhole.consume(new ControlFlowBuilder(state.project).buildControlFlow((GroovyPsiElement)owner));
+      }
+      return null;
+    });
+  }
+
+  @Benchmark
+  public void reachingDefinitions(Owners owners, Blackhole blackhole) {
+    for (Instruction[] flow : owners.flows) {
+      DFAEngine<DefinitionMap> engine =
+        new DFAEngine<DefinitionMap>(flow, new ReachingDefinitionsDfaInstance(flow), new ReachingDefinitionsSemilattice());
+      blackhole.consume(engine.performForceDFA());
+    }
+  }
+
+  /**
+   * Infers the types of all variable reads on fresh files, so the inference caches start empty every time.
+   */
+  @Benchmark
+  public void inferTypes(GroovyPsiBenchmarkState state, Blackhole blackhole) {
+    state.readAction(() -> {
+      List<GrControlFlowOwner> owners = new ArrayList<GrControlFlowOwner>();
+      for (String text : state.texts) {
+        collectOwners(state.createFile(text), owners);
+      }
+      for (GrControlFlowOwner owner : owners) {
+        blackhole.consume(TypeInferenceHelper.isTooComplexTooAnalyze(owner));
+      }
+      return null;
+    });
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.application.Application;
+import consulo.project.ProjectManager;
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Parse time of {@link BenchmarkCorpus#generateBacktrackingScript scripts the parser backtracks in} by nesting depth,
+ * with and without {@link ParserMemo}. The speculative attempts in each statement are made twice without the memo,
+ * the difference between {@code memo=true} and {@code memo=false} is what the memo saves.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyDslParserBenchmark {
+  @Param({"2", "4", "8", "16"})
+  public int depth;
+
+  @Param({"true", "false"})
+  public boolean memo;
+
+  private String myText;
+  private GroovyPsiElementFactory myFactory;
+
+  @Setup
+  public void setUp() {
+    GroovyPsiBenchmarkState.requireApplication();
+    myText = BenchmarkCorpus.generateBacktrackingScript(depth, 200);
+    ParserMemo.setEnabled(memo);
+    myFactory = GroovyPsiElementFactory.getInstance(ProjectManager.getInstance().getDefaultProject());
+  }
+
+  @TearDown
+  public void tearDown() {
+    ParserMemo.setEnabled(true);
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    GroovyFile file = Application.get().runReadAction((Supplier<GroovyFile>)() -> {
+      GroovyFile result = myFactory.createGroovyFile(myText, false, null);
+      GroovyPsiBenchmarkState.ensureParsed(result);
+      return result;
+    });
+    blackhole.consume(file);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.application.Application;
+import consulo.language.codeStyle.CodeStyleManager;
+import consulo.project.Project;
+import consulo.project.ProjectManager;
+import org.jetbrains.plugins.groovy.impl.formatter.GroovyFormattingModelBuilder;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to compute the indent of a line in the middle of a class of about 10,000 lines, which is what pressing Enter
+ * costs the formatter, with the blocks outside of the line left unexpanded and with the blocks of the whole file.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyEnterIndentBenchmark {
+  // BenchmarkCorpus.generateClass() writes 17 lines per method
+  private static final int METHODS = 10000 / 17;
+
+  @Param({"true", "false"})
+  public boolean restrictToRange;
+
+  private Project myProject;
+  private GroovyFile myFile;
+  private int myOffset;
+
+  @Setup
+  public void setUp() {
+    GroovyPsiBenchmarkState.requireApplication();
+    String text = BenchmarkCorpus.generateClass(METHODS);
+    String line = "    int total = 0\n";
+    myOffset = text.indexOf(line, text.length() / 2) + line.indexOf('i');
+    myProject = ProjectManager.getInstance().getDefaultProject();
+    myFile = Application.get().runReadAction(() -> {
+      GroovyFile file = GroovyPsiElementFactory.getInstance(myProject).createGroovyFile(text, false, null);
+      GroovyPsiBenchmarkState.ensureParsed(file);
+      return file;
+    });
+    GroovyFormattingModelBuilder.setRestrictToRange(restrictToRange);
+  }
+
+  @TearDown
+  public void tearDown() {
+    GroovyFormattingModelBuilder.setRestrictToRange(true);
+  }
+
+  @Benchmark
+  public String lineIndent() {
+    return Application.get().runReadAction(() -> CodeStyleManager.getInstance(myProject).getLineIndent(myFile, myOffset));
+  }
+}
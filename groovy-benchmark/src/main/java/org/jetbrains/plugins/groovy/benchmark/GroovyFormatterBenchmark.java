@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.codeStyle.CodeStyleManager;
+import consulo.project.Project;
+import consulo.project.ProjectManager;
+import consulo.undoRedo.CommandProcessor;
+import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingTable;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to reformat one of the {@link BenchmarkCorpus.Kind#LARGE_TESTDATA large testdata files}, with spacing taken
+ * from {@link GroovySpacingTable} and from the spacing processors alone. Each invocation reformats the next file of
+ * the corpus, so a score is the average time per file and the difference between the two modes is the time the
+ * table saves per file.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyFormatterBenchmark {
+  @Param({"TABLE", "VISITOR"})
+  public GroovySpacingTable.Mode spacing;
+
+  private List<String> myTexts;
+  private Project myProject;
+  private int myNext;
+
+  @Setup
+  public void setUp() {
+    GroovyPsiBenchmarkState.requireApplication();
+    myTexts = BenchmarkCorpus.loadLargeTestdata();
+    myProject = ProjectManager.getInstance().getDefaultProject();
+    GroovySpacingTable.setMode(spacing);
+  }
+
+  @TearDown
+  public void tearDown() {
+    GroovySpacingTable.setMode(GroovySpacingTable.Mode.TABLE);
+  }
+
+  @Benchmark
+  public void reformat(Blackhole blackhole) {
+    String text = myTexts.get(myNext++ % myTexts.size());
+    CommandProcessor.getInstance().newCommand()
+      .project(myProject)
+      .inWriteAction()
+      .run(() -> {
+        // a fresh non-physical file per invocation, so no formatter or PSI caches survive between invocations
+        GroovyFile file = GroovyPsiElementFactory.getInstance(myProject).createGroovyFile(text, false, null);
+        blackhole.consume(CodeStyleManager.getInstance(myProject).reformat(file));
+      });
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.cacheBuilder.WordOccurrence;
+import consulo.language.cacheBuilder.WordsScanner;
+import consulo.language.lexer.Lexer;
+import consulo.language.psi.search.UsageSearchContext;
+import consulo.language.psi.stub.IdDataConsumer;
+import consulo.language.psi.stub.OccurrenceConsumer;
+import org.jetbrains.plugins.groovy.impl.findUsages.GroovyFindUsagesProvider;
+import org.jetbrains.plugins.groovy.impl.findUsages.GroovyIdIndexer;
+import org.jetbrains.plugins.groovy.impl.highlighter.GroovyTodoIndexer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexing throughput of word and todo data: the id index built by {@link GroovyFindUsagesProvider#getWordsScanner()
+ * the words scanner} followed by a {@link GroovyTodoIndexer} pass, as before the Groovy id indexer was registered,
+ * versus the single {@link GroovyIdIndexer} pass which collects the todo counts too. Needs a running application for
+ * the todo patterns.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyIndexingBenchmark {
+  private final GroovyIdIndexer myIdIndexer = new GroovyIdIndexer();
+  private final GroovyTodoIndexer myTodoIndexer = new GroovyTodoIndexer();
+
+  @Benchmark
+  public void separatePasses(GroovyPsiBenchmarkState state, Blackhole blackhole) {
+    WordsScanner scanner = new GroovyFindUsagesProvider().getWordsScanner();
+    for (String text : state.texts) {
+      IdDataConsumer ids = new IdDataConsumer();
+      scanner.processWords(text, occurrence -> {
+        ids.addOccurrence(occurrence.getBaseText(), occurrence.getStart(), occurrence.getEnd(), getMask(occurrence.getKind()));
+        return true;
+      });
+      blackhole.consume(ids);
+
+      OccurrenceConsumer todos = new OccurrenceConsumer(null, true);
+      scan(myTodoIndexer.createLexer(todos), text);
+      blackhole.consume(todos);
+    }
+  }
+
+  @Benchmark
+  public void sharedPass(GroovyPsiBenchmarkState state, Blackhole blackhole) {
+    for (String text : state.texts) {
+      IdDataConsumer ids = new IdDataConsumer();
+      OccurrenceConsumer consumer = new OccurrenceConsumer(ids, true);
+      scan(myIdIndexer.createLexer(consumer), text);
+      blackhole.consume(consumer);
+    }
+  }
+
+  private static void scan(Lexer lexer, String text) {
+    lexer.start(text);
+    while (lexer.getTokenType() != null) {
+      lexer.advance();
+    }
+  }
+
+  /**
+   * The occurrence masks the platform id indexer puts the words of a {@link WordsScanner} under
+   */
+  private static int getMask(WordOccurrence.Kind kind) {
+    if (kind == WordOccurrence.Kind.CODE) return UsageSearchContext.IN_CODE;
+    if (kind == WordOccurrence.Kind.COMMENTS) return UsageSearchContext.IN_COMMENTS;
+    if (kind == WordOccurrence.Kind.LITERALS) return UsageSearchContext.IN_STRINGS;
+    if (kind == WordOccurrence.Kind.FOREIGN_LANGUAGE) return UsageSearchContext.IN_FOREIGN_LANGUAGES;
+    return 0;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.lexer.Lexer;
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link GroovyLexer} over the corpus. Doesn't need a running application.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class GroovyLexerBenchmark {
+  @Param({"TESTDATA", "LARGE_CLASS", "BUILD_SCRIPT"})
+  public BenchmarkCorpus.Kind corpus;
+
+  private List<String> myTexts;
+
+  @Setup
+  public void setUp() {
+    myTexts = BenchmarkCorpus.load(corpus);
+  }
+
+  @Benchmark
+  public void lex(Blackhole blackhole) {
+    lex(new GroovyLexer(), blackhole);
+  }
+
+  /**
+   * The look-ahead and merging adapter stack the fused lexer replaces.
+   */
+  @Benchmark
+  public void lexAdapters(Blackhole blackhole) {
+    lex(GroovyLexer.createAdapterLexer(), blackhole);
+  }
+
+  private void lex(Lexer lexer, Blackhole blackhole) {
+    for (String text : myTexts) {
+      lexer.start(text);
+      while (lexer.getTokenType() != null) {
+        blackhole.consume(lexer.getTokenType());
+        lexer.advance();
+      }
+    }
+  }
+}
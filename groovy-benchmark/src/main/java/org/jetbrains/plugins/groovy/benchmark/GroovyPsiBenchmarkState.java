@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.application.Application;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import consulo.project.Project;
+import consulo.project.ProjectManager;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Corpus and project for the benchmarks which need Groovy PSI.
+ * <p>
+ * Those benchmarks need a Consulo application with the Groovy plugin loaded and use its default project. A forked
+ * JMH JVM never has one, so they are {@code @Fork(0)} and have to be started in the JVM of a running application
+ * through {@link GroovyBenchmarks#runInProcess}.
+ *
+ * @since 2026-10-19
+ */
+@State(Scope.Benchmark)
+public class GroovyPsiBenchmarkState {
+  @Param({"TESTDATA", "LARGE_CLASS", "BUILD_SCRIPT"})
+  public BenchmarkCorpus.Kind corpus;
+
+  public List<String> texts;
+  public Project project;
+
+  @Setup
+  public void setUp() {
+    requireApplication();
+    texts = BenchmarkCorpus.load(corpus);
+    project = ProjectManager.getInstance().getDefaultProject();
+  }
+
+  public static void requireApplication() {
+    if (Application.get() == null) {
+      throw new IllegalStateException("PSI benchmarks need a running Consulo application, start them with GroovyBenchmarks.runInProcess()");
+    }
+  }
+
+  /**
+   * @return a fresh, not yet parsed non-physical file, so no PSI caches survive between invocations
+   */
+  public GroovyFile createFile(String text) {
+    return GroovyPsiElementFactory.getInstance(project).createGroovyFile(text, false, null);
+  }
+
+  public <T> T readAction(Supplier<T> computation) {
+    return Application.get().runReadAction(computation);
+  }
+
+  /**
+   * Walks the whole tree, which parses lazy blocks and creates PSI for every node.
+   */
+  public static void ensureParsed(PsiElement root) {
+    root.accept(new PsiRecursiveElementWalkingVisitor() {
+    });
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.ast.ASTNode;
+import org.jetbrains.plugins.groovy.lang.parser.GroovyPsiCreator;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link GroovyPsiCreator#createElement} over every composite node of the parsed corpus, i.e. the
+ * dispatch cost paid for each node when PSI of a file is loaded.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyPsiCreatorBenchmark {
+  @State(Scope.Benchmark)
+  public static class Nodes {
+    List<ASTNode> nodes = new ArrayList<ASTNode>();
+
+    @Setup
+    public void setUp(GroovyPsiBenchmarkState state) {
+      state.readAction(() -> {
+        for (String text : state.texts) {
+          GroovyFile file = state.createFile(text);
+          GroovyPsiBenchmarkState.ensureParsed(file);
+          collect(file.getNode().getFirstChildNode(), nodes);
+        }
+        return null;
+      });
+    }
+
+    private static void collect(ASTNode node, List<ASTNode> nodes) {
+      for (ASTNode child = node; child != null; child = child.getTreeNext()) {
+        if (child.getFirstChildNode() != null) {
+          nodes.add(child);
+          collect(child.getFirstChildNode(), nodes);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void createElements(Nodes nodes, Blackhole blackhole) {
+    for (ASTNode node : nodes.nodes) {
+      blackhole.consume(GroovyPsiCreator.createElement(node));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import org.jetbrains.plugins.groovy.lang.psi.GrReferenceElement;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.resolve.GrBatchResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of resolving every reference of fresh files, one by one in tree order and through
+ * {@link GrBatchResolver}.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyResolveBenchmark {
+  @Benchmark
+  public void resolveEach(GroovyPsiBenchmarkState state, Blackhole blackhole) {
+    state.readAction(() -> {
+      for (String text : state.texts) {
+        GroovyFile file = state.createFile(text);
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+          @Override
+          public void visitElement(PsiElement element) {
+            if (element instanceof GrReferenceElement) {
+              blackhole.consume(((GrReferenceElement<?>)element).multiResolve(false));
+            }
+            super.visitElement(element);
+          }
+        });
+      }
+      return null;
+    });
+  }
+
+  @Benchmark
+  public void resolveBatch(GroovyPsiBenchmarkState state, Blackhole blackhole) {
+    state.readAction(() -> {
+      for (String text : state.texts) {
+        GroovyFile file = state.createFile(text);
+        GrBatchResolver.resolveAll(file);
+        blackhole.consume(file);
+      }
+      return null;
+    });
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.language.psi.stub.StubBuilder;
+import consulo.language.psi.stub.StubElement;
+import org.jetbrains.plugins.groovy.lang.parser.GroovyParserDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.elements.GrStubFileElementType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of building stub trees with {@link GrStubFileElementType} from already parsed files.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyStubBuilderBenchmark {
+  @State(Scope.Benchmark)
+  public static class ParsedFiles {
+    List<GroovyFile> files = new ArrayList<GroovyFile>();
+
+    @Setup
+    public void setUp(GroovyPsiBenchmarkState state) {
+      state.readAction(() -> {
+        for (String text : state.texts) {
+          GroovyFile file = state.createFile(text);
+          GroovyPsiBenchmarkState.ensureParsed(file);
+          files.add(file);
+        }
+        return null;
+      });
+    }
+  }
+
+  @Benchmark
+  public void buildStubs(GroovyPsiBenchmarkState state, ParsedFiles parsed, Blackhole blackhole) {
+    StubBuilder builder = GroovyParserDefinition.GROOVY_FILE.getBuilder();
+    state.readAction(() -> {
+      for (GroovyFile file : parsed.files) {
+        StubElement stub = builder.buildStubTree(file);
+        blackhole.consume(stub);
+      }
+      return null;
+    });
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark;
+
+import consulo.index.io.AbstractStringEnumerator;
+import consulo.index.io.StringRef;
+import consulo.language.psi.stub.*;
+import consulo.util.collection.ArrayUtil;
+import org.jetbrains.plugins.groovy.lang.parser.GroovyParserDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.GrFileStub;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialized size and load cost of Groovy stub trees.
+ * <p>
+ * The stubs of the corpus are written with the element types' own {@code serialize} into an in-memory stream, with
+ * an in-memory name enumerator standing in for the persistent one shared by all files. The setup prints the size of
+ * the stub data and of the enumerated names; {@link #deserialize} loads all the trees, run it with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm} to see the heap the loaded stubs take. Compare the numbers
+ * of two revisions to see the effect of a stub format change.
+ *
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(0)
+public class GroovyStubSerializationBenchmark {
+  @State(Scope.Benchmark)
+  public static class StubTrees {
+    List<StubElement<?>> trees = new ArrayList<StubElement<?>>();
+    List<byte[]> serialized = new ArrayList<byte[]>();
+    List<IStubElementType<?, ?>> types = new ArrayList<IStubElementType<?, ?>>();
+    NameStorage names = new NameStorage();
+
+    @Setup
+    public void setUp(GroovyPsiBenchmarkState state) {
+      StubBuilder builder = GroovyParserDefinition.GROOVY_FILE.getBuilder();
+      state.readAction(() -> {
+        for (String text : state.texts) {
+          GroovyFile file = state.createFile(text);
+          trees.add(builder.buildStubTree(file));
+        }
+        return null;
+      });
+
+      long stubBytes = 0;
+      for (StubElement<?> tree : trees) {
+        byte[] bytes = serialize(tree, types, names);
+        serialized.add(bytes);
+        stubBytes += bytes.length;
+      }
+      System.out.println("stub data: " + stubBytes + " bytes in " + trees.size() + " files, enumerated names: " + names.size() +
+                         " (" + names.totalLength() + " chars)");
+    }
+  }
+
+  @Benchmark
+  public void serialize(StubTrees stubs, Blackhole blackhole) {
+    for (StubElement<?> tree : stubs.trees) {
+      blackhole.consume(serialize(tree, stubs.types, stubs.names));
+    }
+  }
+
+  @Benchmark
+  public void deserialize(StubTrees stubs, Blackhole blackhole) {
+    for (byte[] bytes : stubs.serialized) {
+      blackhole.consume(deserialize(bytes, stubs.types, stubs.names));
+    }
+  }
+
+  static byte[] serialize(StubElement<?> tree, List<IStubElementType<?, ?>> types, NameStorage names) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      StubOutputStream out = new StubOutputStream(bytes, names);
+      writeChildren(tree, out, types);
+      out.flush();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeChildren(StubElement<?> parent, StubOutputStream out, List<IStubElementType<?, ?>> types) throws IOException {
+    List<StubElement> children = parent.getChildrenStubs();
+    out.writeVarInt(children.size());
+    for (StubElement child : children) {
+      IStubElementType type = child.getStubType();
+      int id = types.indexOf(type);
+      if (id < 0) {
+        id = types.size();
+        types.add(type);
+      }
+      out.writeVarInt(id);
+      type.serialize(child, out);
+      writeChildren(child, out, types);
+    }
+  }
+
+  static StubElement<?> deserialize(byte[] bytes, List<IStubElementType<?, ?>> types, NameStorage names) {
+    GrFileStub root = new GrFileStub(StringRef.fromString("benchmark.groovy"), false, ArrayUtil.EMPTY_STRING_ARRAY);
+    try {
+      readChildren(root, new StubInputStream(new ByteArrayInputStream(bytes), names), types);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return root;
+  }
+
+  private static void readChildren(StubElement<?> parent, StubInputStream in, List<IStubElementType<?, ?>> types) throws IOException {
+    int count = in.readVarInt();
+    for (int i = 0; i < count; i++) {
+      IStubElementType<?, ?> type = types.get(in.readVarInt());
+      StubElement<?> child = type.deserialize(in, parent);
+      readChildren(child, in, types);
+    }
+  }
+
+  /**
+   * Stands in for the persistent name enumerator of the stub index.
+   */
+  static class NameStorage implements AbstractStringEnumerator {
+    private final Map<String, Integer> myIds = new HashMap<String, Integer>();
+    private final List<String> myNames = new ArrayList<String>(Collections.singletonList(null));
+    private long myTotalLength;
+
+    @Override
+    public synchronized int enumerate(String value) {
+      if (value == null) return 0;
+      Integer id = myIds.get(value);
+      if (id == null) {
+        id = myNames.size();
+        myNames.add(value);
+        myIds.put(value, id);
+        myTotalLength += value.length();
+      }
+      return id;
+    }
+
+    @Override
+    public synchronized String valueOf(int idx) {
+      return myNames.get(idx);
+    }
+
+    synchronized int size() {
+      return myNames.size() - 1;
+    }
+
+    synchronized long totalLength() {
+      return myTotalLength;
+    }
+
+    @Override
+    public void markCorrupted() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isDirty() {
+      return false;
+    }
+
+    @Override
+    public void force() {
+    }
+  }
+}
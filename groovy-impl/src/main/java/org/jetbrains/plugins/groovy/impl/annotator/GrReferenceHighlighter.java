@@ -23,6 +23,7 @@ import consulo.language.editor.rawHighlight.HighlightInfo;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.jetbrains.plugins.groovy.lang.psi.GroovyFileBase;
+import org.jetbrains.plugins.groovy.lang.resolve.GrBatchResolver;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +44,9 @@ public class GrReferenceHighlighter extends TextEditorHighlightingPass {
   public void doCollectInformation(@Nonnull ProgressIndicator progress) {
     myInfos = new ArrayList<HighlightInfo>();
 
+    // resolve method bodies in parallel first, the visitors below (and the annotator running alongside) then mostly hit the caches
+    GrBatchResolver.resolveAllConcurrently(myFile, progress);
+
     myFile.accept(new GrDeclarationHighlightingVisitor(myInfos));
     myFile.accept(new ResolveHighlightingVisitor(myFile, myProject, myInfos));
     myFile.accept(new InaccessibleElementVisitor(myFile, myProject, myInfos));
@@ -31,11 +31,13 @@ import jakarta.annotation.Nullable;
  */
 public abstract class CallInfoBase<T extends GrCall> implements CallInfo<T> {
   private final T myCall;
+  private final CallSiteCache myCache;
   private final PsiType[] myArgTypes;
 
   protected CallInfoBase(T call) {
     myCall = call;
-    myArgTypes = inferArgTypes();
+    myCache = CallSiteCache.getInstance(call);
+    myArgTypes = myCache.getArgumentTypes(this::inferArgTypes);
   }
 
   @Nullable
@@ -56,13 +58,13 @@ public abstract class CallInfoBase<T extends GrCall> implements CallInfo<T> {
   @Nonnull
   @Override
   public GroovyResolveResult advancedResolve() {
-    return myCall.advancedResolve();
+    return myCache.advancedResolve(myCall::advancedResolve);
   }
 
   @Nonnull
   @Override
   public GroovyResolveResult[] multiResolve() {
-    return myCall.multiResolveGroovy(false);
+    return myCache.multiResolve(() -> myCall.multiResolveGroovy(false));
   }
 
   @Nonnull
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.codeInspection.assignment;
+
+import com.intellij.java.language.psi.PsiSubstitutor;
+import com.intellij.java.language.psi.PsiType;
+import consulo.application.util.CachedValueProvider;
+import consulo.language.psi.util.LanguageCachedValueUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElement;
+import org.jetbrains.plugins.groovy.lang.psi.api.GroovyResolveResult;
+import org.jetbrains.plugins.groovy.lang.psi.impl.GrCodeBlockModificationTracker;
+import org.jetbrains.plugins.groovy.lang.psi.impl.signatures.GrClosureSignatureUtil.ApplicabilityResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * What the type checks compute for one call site: the inferred argument types, the resolve results and the
+ * applicability of every candidate to the arguments. The assignability inspection and the static type checking
+ * annotator both visit the same calls, and with these cached the second visit computes nothing.
+ * <p>
+ * The cache lives on the call and depends on the {@link GrCodeBlockModificationTracker local tracker} of the
+ * enclosing method body, so edits in other method bodies don't drop it.
+ *
+ * @since 2026-10-19
+ */
+public class CallSiteCache {
+  private volatile boolean myArgumentTypesInferred;
+  private volatile PsiType[] myArgumentTypes;
+  private volatile GroovyResolveResult myAdvancedResolve;
+  private volatile GroovyResolveResult[] myMultiResolve;
+  private final ConcurrentMap<ApplicabilityKey, ApplicabilityResult> myApplicability =
+    new ConcurrentHashMap<ApplicabilityKey, ApplicabilityResult>();
+  private final AtomicInteger myApplicabilityComputations = new AtomicInteger();
+
+  @Nonnull
+  public static CallSiteCache getInstance(@Nonnull final GroovyPsiElement call) {
+    return LanguageCachedValueUtil.getCachedValue(call, new CachedValueProvider<CallSiteCache>() {
+      @Override
+      public Result<CallSiteCache> compute() {
+        GrCodeBlockModificationTracker tracker = GrCodeBlockModificationTracker.getInstance(call.getProject());
+        return Result.create(new CallSiteCache(), tracker.getDependencies(call));
+      }
+    });
+  }
+
+  @Nullable
+  public PsiType[] getArgumentTypes(@Nonnull Supplier<PsiType[]> inference) {
+    if (!myArgumentTypesInferred) {
+      myArgumentTypes = inference.get();
+      myArgumentTypesInferred = true;
+    }
+    return myArgumentTypes;
+  }
+
+  @Nonnull
+  public GroovyResolveResult advancedResolve(@Nonnull Supplier<GroovyResolveResult> resolve) {
+    GroovyResolveResult result = myAdvancedResolve;
+    if (result == null) {
+      myAdvancedResolve = result = resolve.get();
+    }
+    return result;
+  }
+
+  @Nonnull
+  public GroovyResolveResult[] multiResolve(@Nonnull Supplier<GroovyResolveResult[]> resolve) {
+    GroovyResolveResult[] results = myMultiResolve;
+    if (results == null) {
+      myMultiResolve = results = resolve.get();
+    }
+    return results;
+  }
+
+  /**
+   * @param candidate the method or the closure type applied to the arguments
+   */
+  @Nonnull
+  public ApplicabilityResult getApplicability(@Nonnull Object candidate,
+                                              @Nonnull PsiSubstitutor substitutor,
+                                              @Nullable PsiType[] argumentTypes,
+                                              @Nonnull Supplier<ApplicabilityResult> computation) {
+    ApplicabilityKey key = new ApplicabilityKey(candidate, substitutor, argumentTypes);
+    ApplicabilityResult result = myApplicability.get(key);
+    if (result == null) {
+      myApplicabilityComputations.incrementAndGet();
+      result = computation.get();
+      ApplicabilityResult existing = myApplicability.putIfAbsent(key, result);
+      if (existing != null) result = existing;
+    }
+    return result;
+  }
+
+  /**
+   * @return how many applicability checks of this call site have been computed rather than taken from the cache
+   */
+  @TestOnly
+  public int getApplicabilityComputations() {
+    return myApplicabilityComputations.get();
+  }
+
+  private static class ApplicabilityKey {
+    private final Object myCandidate;
+    private final PsiSubstitutor mySubstitutor;
+    private final List<PsiType> myArgumentTypes;
+
+    ApplicabilityKey(@Nonnull Object candidate, @Nonnull PsiSubstitutor substitutor, @Nullable PsiType[] argumentTypes) {
+      myCandidate = candidate;
+      mySubstitutor = substitutor;
+      myArgumentTypes = argumentTypes == null ? null : Arrays.asList(argumentTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ApplicabilityKey)) return false;
+
+      ApplicabilityKey key = (ApplicabilityKey)o;
+      return myCandidate.equals(key.myCandidate) &&
+             mySubstitutor.equals(key.mySubstitutor) &&
+             Objects.equals(myArgumentTypes, key.myArgumentTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * myCandidate.hashCode() + mySubstitutor.hashCode()) + Objects.hashCode(myArgumentTypes);
+    }
+  }
+}
@@ -41,6 +41,7 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.members.GrMe
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.impl.ControlFlowBuilder;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis;
 import org.jetbrains.plugins.groovy.lang.psi.util.PsiUtil;
 
 import java.util.*;
@@ -182,8 +183,23 @@ public class GrFinalVariableAccessInspection extends BaseInspection {
                         }
                     }
 
-                    Instruction[] flow = getFlow(scopeToProcess);
-                    highlightInvalidWriteAccess(flow, variables, forInParameters);
+                    if (scopeToProcess instanceof GrControlFlowOwner owner) {
+                        // the shared analysis is null when it timed out, and a pass of our own would time out too
+                        DataFlowAnalysis analysis = DataFlowAnalysis.getAnalysis(owner);
+                        if (analysis != null) {
+                            highlightInvalidWriteAccess(
+                                InvalidWriteAccessSearcher.findInvalidWriteAccess(analysis, variables, forInParameters),
+                                variables
+                            );
+                        }
+                    }
+                    else {
+                        highlightInvalidWriteAccess(
+                            new ControlFlowBuilder(scopeToProcess.getProject()).buildControlFlow((GroovyPsiElement) scopeToProcess),
+                            variables,
+                            forInParameters
+                        );
+                    }
                 }
             }
 
@@ -192,9 +208,16 @@ public class GrFinalVariableAccessInspection extends BaseInspection {
                 @Nonnull Map<String, GrVariable> variables,
                 @Nonnull Set<GrVariable> initializedVariables
             ) {
-                List<ReadWriteVariableInstruction> result =
-                    InvalidWriteAccessSearcher.findInvalidWriteAccess(flow, variables, initializedVariables);
+                highlightInvalidWriteAccess(
+                    InvalidWriteAccessSearcher.findInvalidWriteAccess(flow, variables, initializedVariables),
+                    variables
+                );
+            }
 
+            private void highlightInvalidWriteAccess(
+                @Nullable List<ReadWriteVariableInstruction> result,
+                @Nonnull Map<String, GrVariable> variables
+            ) {
                 if (result == null) {
                     return;
                 }
@@ -404,14 +427,6 @@ public class GrFinalVariableAccessInspection extends BaseInspection {
         return scopes;
     }
 
-    @Nonnull
-    private static Instruction[] getFlow(@Nonnull PsiElement element) {
-        return element instanceof GrControlFlowOwner
-            ? ((GrControlFlowOwner) element).getControlFlow()
-            : new ControlFlowBuilder(element.getProject()).buildControlFlow((GroovyPsiElement) element);
-    }
-
-
     @Nullable
     private static PsiElement findScope(@Nonnull GrVariable variable) {
         GroovyPsiElement result = PsiTreeUtil.getParentOfType(variable, GrControlStatement.class, GrControlFlowOwner.class);
@@ -21,6 +21,7 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrVariable;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DFAEngine;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DfaInstance;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.Semilattice;
 
@@ -37,33 +38,78 @@ public class InvalidWriteAccessSearcher {
                                                                           @Nonnull Map<String, GrVariable> variables,
                                                                           @Nonnull Set<GrVariable> alreadyInitialized) {
     DFAEngine<MyData> engine = new DFAEngine<MyData>(flow, new MyDFAInstance(), new MySemilattice());
-    ArrayList<MyData> dfaResult = engine.performDFAWithTimeout();
+    final ArrayList<MyData> dfaResult = engine.performDFAWithTimeout();
     if (dfaResult == null) return null;
 
+    return findInvalidWriteAccess(flow, variables, alreadyInitialized, new WriteAccessInfo() {
+      @Override
+      public boolean isInitialized(@Nonnull ReadWriteVariableInstruction write) {
+        return dfaResult.get(write.num()).isInitialized(write.getVariableName());
+      }
+
+      @Override
+      public boolean isOverInitialized(@Nonnull ReadWriteVariableInstruction write) {
+        return dfaResult.get(write.num()).isOverInitialized(write.getVariableName());
+      }
+    });
+  }
+
+  /**
+   * Same as {@link #findInvalidWriteAccess(Instruction[], Map, Set)} over the flow of a control flow owner, whose
+   * writes are already in its shared {@link DataFlowAnalysis}.
+   */
+  @Nullable
+  public static List<ReadWriteVariableInstruction> findInvalidWriteAccess(@Nonnull final DataFlowAnalysis analysis,
+                                                                          @Nonnull Map<String, GrVariable> variables,
+                                                                          @Nonnull Set<GrVariable> alreadyInitialized) {
+    return findInvalidWriteAccess(analysis.getFlow(), variables, alreadyInitialized, new WriteAccessInfo() {
+      @Override
+      public boolean isInitialized(@Nonnull ReadWriteVariableInstruction write) {
+        return analysis.isMaybeWritten(write, write.getVariableName());
+      }
+
+      @Override
+      public boolean isOverInitialized(@Nonnull ReadWriteVariableInstruction write) {
+        return analysis.isMaybeWrittenTwice(write, write.getVariableName());
+      }
+    });
+  }
 
+  @Nonnull
+  private static List<ReadWriteVariableInstruction> findInvalidWriteAccess(@Nonnull Instruction[] flow,
+                                                                           @Nonnull Map<String, GrVariable> variables,
+                                                                           @Nonnull Set<GrVariable> alreadyInitialized,
+                                                                           @Nonnull WriteAccessInfo info) {
     List<ReadWriteVariableInstruction> result = ContainerUtil.newArrayList();
-    for (int i = 0; i < flow.length; i++) {
-      Instruction instruction = flow[i];
+    for (Instruction instruction : flow) {
       if (instruction instanceof ReadWriteVariableInstruction && ((ReadWriteVariableInstruction)instruction).isWrite()) {
-        MyData initialized = dfaResult.get(i);
-        GrVariable var = variables.get(((ReadWriteVariableInstruction)instruction).getVariableName());
+        ReadWriteVariableInstruction write = (ReadWriteVariableInstruction)instruction;
+        GrVariable var = variables.get(write.getVariableName());
         if (alreadyInitialized.contains(var)) {
-          if (initialized.isInitialized(((ReadWriteVariableInstruction)instruction).getVariableName())) {
-            result.add((ReadWriteVariableInstruction)instruction);
+          if (info.isInitialized(write)) {
+            result.add(write);
           }
         }
         else {
-          if (initialized.isOverInitialized(((ReadWriteVariableInstruction)instruction).getVariableName())) {
-            result.add((ReadWriteVariableInstruction)instruction);
+          if (info.isOverInitialized(write)) {
+            result.add(write);
           }
         }
       }
     }
 
-
     return result;
   }
 
+  /**
+   * What the writes of the flow see after them
+   */
+  private interface WriteAccessInfo {
+    boolean isInitialized(@Nonnull ReadWriteVariableInstruction write);
+
+    boolean isOverInitialized(@Nonnull ReadWriteVariableInstruction write);
+  }
+
   private static class MyDFAInstance implements DfaInstance<MyData> {
     @Override
     public void fun(MyData e, Instruction instruction) {
@@ -78,6 +78,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import static com.intellij.java.language.psi.util.PsiUtil.extractIterableTypeParameter;
 import static org.jetbrains.plugins.groovy.impl.codeInspection.type.GroovyTypeCheckVisitorHelper.*;
@@ -98,8 +99,13 @@ public class GroovyTypeCheckVisitor extends BaseInspectionVisitor {
                 return true;
             }
 
-            GrClosureSignatureUtil.ApplicabilityResult result =
-                PsiUtil.isApplicableConcrete(argumentTypes, closureType, info.getCall());
+            GrClosureSignatureUtil.ApplicabilityResult result = getApplicability(
+                info,
+                closureType,
+                PsiSubstitutor.EMPTY,
+                argumentTypes,
+                () -> PsiUtil.isApplicableConcrete(argumentTypes, closureType, info.getCall())
+            );
             return switch (result) {
                 case inapplicable -> {
                     registerCannotApplyError(invoked.getText(), info);
@@ -362,6 +368,21 @@ public class GroovyTypeCheckVisitor extends BaseInspectionVisitor {
         }
     }
 
+    /**
+     * Takes the applicability of {@code candidate} from the {@link CallSiteCache} of the call, which the annotator and
+     * the inspection share.
+     */
+    @Nonnull
+    private static GrClosureSignatureUtil.ApplicabilityResult getApplicability(
+        @Nonnull CallInfo<?> info,
+        @Nonnull Object candidate,
+        @Nonnull PsiSubstitutor substitutor,
+        @Nullable PsiType[] argumentTypes,
+        @Nonnull Supplier<GrClosureSignatureUtil.ApplicabilityResult> computation
+    ) {
+        return CallSiteCache.getInstance(info.getCall()).getApplicability(candidate, substitutor, argumentTypes, computation);
+    }
+
     private <T extends GroovyPsiElement> boolean checkMethodApplicability(
         @Nonnull final GroovyResolveResult methodResolveResult,
         boolean checkUnknownArgs,
@@ -374,8 +395,13 @@ public class GroovyTypeCheckVisitor extends BaseInspectionVisitor {
         if ("call".equals(method.getName()) && info.getInvokedExpression() instanceof GrReferenceExpression invokedExpr) {
             GrExpression qualifierExpression = invokedExpr.getQualifierExpression();
             if (qualifierExpression != null && qualifierExpression.getType() instanceof GrClosureType closureType) {
-                GrClosureSignatureUtil.ApplicabilityResult result =
-                    PsiUtil.isApplicableConcrete(info.getArgumentTypes(), closureType, info.getInvokedExpression());
+                GrClosureSignatureUtil.ApplicabilityResult result = getApplicability(
+                    info,
+                    closureType,
+                    PsiSubstitutor.EMPTY,
+                    info.getArgumentTypes(),
+                    () -> PsiUtil.isApplicableConcrete(info.getArgumentTypes(), closureType, info.getInvokedExpression())
+                );
                 return switch (result) {
                     case inapplicable -> {
                         highlightInapplicableMethodUsage(methodResolveResult, info, method);
@@ -448,8 +474,13 @@ public class GroovyTypeCheckVisitor extends BaseInspectionVisitor {
             return true;
         }
 
-        GrClosureSignatureUtil.ApplicabilityResult applicable =
-            PsiUtil.isApplicableConcrete(info.getArgumentTypes(), method, methodResolveResult.getSubstitutor(), info.getCall(), false);
+        GrClosureSignatureUtil.ApplicabilityResult applicable = getApplicability(
+            info,
+            method,
+            methodResolveResult.getSubstitutor(),
+            info.getArgumentTypes(),
+            () -> PsiUtil.isApplicableConcrete(info.getArgumentTypes(), method, methodResolveResult.getSubstitutor(), info.getCall(), false)
+        );
         return switch (applicable) {
             case inapplicable -> {
                 highlightInapplicableMethodUsage(methodResolveResult, info, method);
@@ -38,8 +38,8 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrBinary
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrExpression;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrUnaryExpression;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ControlFlowBuilderUtil;
-import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis;
 import org.jetbrains.plugins.groovy.lang.resolve.ResolveUtil;
 
 /**
@@ -76,8 +76,10 @@ public class UnassignedVariableAccessInspection extends GroovyLocalInspectionBas
     }
 
     protected void check(GrControlFlowOwner owner, ProblemsHolder problemsHolder, UnassignedVariableAccessInspectionState state) {
-        Instruction[] flow = owner.getControlFlow();
-        ReadWriteVariableInstruction[] reads = ControlFlowBuilderUtil.getReadsWithoutPriorWrites(flow, true);
+        DataFlowAnalysis analysis = DataFlowAnalysis.getAnalysis(owner);
+        ReadWriteVariableInstruction[] reads = analysis != null
+            ? analysis.getReadsWithoutPriorWrites()
+            : ControlFlowBuilderUtil.getReadsWithoutPriorWrites(owner.getControlFlow(), true);
         for (ReadWriteVariableInstruction read : reads) {
             PsiElement element = read.getElement();
             if (element instanceof GroovyPsiElement) {
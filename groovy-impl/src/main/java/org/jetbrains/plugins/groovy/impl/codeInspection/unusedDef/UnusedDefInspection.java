@@ -48,15 +48,10 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrUnaryE
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.params.GrParameter;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
-import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DFAEngine;
-import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.DefinitionMap;
-import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsDfaInstance;
-import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsSemilattice;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
-import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 
 /**
@@ -85,45 +80,20 @@ public class UnusedDefInspection extends GroovyLocalInspectionBase {
     }
 
     protected void check(GrControlFlowOwner owner, final ProblemsHolder problemsHolder, Object inspectionState) {
-        final Instruction[] flow = owner.getControlFlow();
-        ReachingDefinitionsDfaInstance dfaInstance = new ReachingDefinitionsDfaInstance(flow);
-        ReachingDefinitionsSemilattice lattice = new ReachingDefinitionsSemilattice();
-        DFAEngine<DefinitionMap> engine = new DFAEngine<DefinitionMap>(flow, dfaInstance, lattice);
-        List<DefinitionMap> dfaResult = engine.performDFAWithTimeout();
-        if (dfaResult == null) {
+        DataFlowAnalysis analysis = DataFlowAnalysis.getAnalysis(owner);
+        if (analysis == null) {
             return;
         }
 
+        final Instruction[] flow = analysis.getFlow();
         final IntSet unusedDefs = IntSets.newHashSet();
         for (Instruction instruction : flow) {
-            if (instruction instanceof ReadWriteVariableInstruction && ((ReadWriteVariableInstruction) instruction).isWrite()) {
+            if (instruction instanceof ReadWriteVariableInstruction && ((ReadWriteVariableInstruction) instruction).isWrite()
+                && !analysis.isDefinitionUsed(instruction.num())) {
                 unusedDefs.add(instruction.num());
             }
         }
 
-        for (int i = 0; i < dfaResult.size(); i++) {
-            Instruction instruction = flow[i];
-            if (instruction instanceof ReadWriteVariableInstruction) {
-                ReadWriteVariableInstruction varInst = (ReadWriteVariableInstruction) instruction;
-                if (!varInst.isWrite()) {
-                    final String varName = varInst.getVariableName();
-                    DefinitionMap e = dfaResult.get(i);
-                    e.forEachValue(new Consumer<IntSet>() {
-                        public void accept(IntSet reaching) {
-                            reaching.forEach(new IntConsumer() {
-                                public void accept(int defNum) {
-                                    String defName = ((ReadWriteVariableInstruction) flow[defNum]).getVariableName();
-                                    if (varName.equals(defName)) {
-                                        unusedDefs.remove(defNum);
-                                    }
-                                }
-                            });
-                        }
-                    });
-                }
-            }
-        }
-
         final Set<PsiElement> checked = new HashSet<>();
 
         unusedDefs.forEach(new IntConsumer() {
@@ -31,7 +31,9 @@ import consulo.ui.ex.action.AnActionEvent;
 
 import consulo.ui.ex.action.AnActionWithSyncUpdate;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author Max Medvedev
@@ -44,18 +46,33 @@ public class BuildAndRestartConsoleAction extends AnAction implements AnActionWi
   private Executor myExecutor;
   private RunContentDescriptor myContentDescriptor;
   private Consumer<Module> myRestarter;
+  private Predicate<Module> myReloader;
 
   public BuildAndRestartConsoleAction(@Nonnull Module module,
                                       @Nonnull Project project,
                                       @Nonnull Executor executor,
                                       @Nonnull RunContentDescriptor contentDescriptor,
                                       @Nonnull Consumer<Module> restarter) {
+    this(module, project, executor, contentDescriptor, restarter, null);
+  }
+
+  /**
+   * @param reloader makes the running console pick up the built module, returns false if it can't and has to be
+   *                 restarted
+   */
+  public BuildAndRestartConsoleAction(@Nonnull Module module,
+                                      @Nonnull Project project,
+                                      @Nonnull Executor executor,
+                                      @Nonnull RunContentDescriptor contentDescriptor,
+                                      @Nonnull Consumer<Module> restarter,
+                                      @Nullable Predicate<Module> reloader) {
     super("Build and restart", "Build module '" + module.getName() + "' and restart", AllIcons.Actions.Restart);
     myModule = module;
     myProject = project;
     myExecutor = executor;
     myContentDescriptor = contentDescriptor;
     myRestarter = restarter;
+    myReloader = reloader;
   }
 
   @Override
@@ -79,7 +96,16 @@ public class BuildAndRestartConsoleAction extends AnAction implements AnActionWi
   @Override
   @RequiredUIAccess
   public void actionPerformed(AnActionEvent e) {
-    if (ExecutionManager.getInstance(myProject).getContentManager().removeRunContent(myExecutor, myContentDescriptor)) {
+    if (myReloader != null) {
+      CompilerManager.getInstance(myProject).compile(myModule, (aborted, errors, warnings, compileContext) -> {
+        if (!myModule.isDisposed() && !myReloader.test(myModule) && removeContent()) {
+          myRestarter.accept(myModule);
+        }
+      });
+      return;
+    }
+
+    if (removeContent()) {
       CompilerManager.getInstance(myProject).compile(myModule, (aborted, errors, warnings, compileContext) -> {
         if (!myModule.isDisposed()) {
           myRestarter.accept(myModule);
@@ -87,4 +113,8 @@ public class BuildAndRestartConsoleAction extends AnAction implements AnActionWi
       });
     }
   }
+
+  private boolean removeContent() {
+    return ExecutionManager.getInstance(myProject).getContentManager().removeRunContent(myExecutor, myContentDescriptor);
+  }
 }
@@ -65,6 +65,14 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
   private static final String EVAL_NAME = "_JETGROOVY_EVAL_";
   private static final String IMPORTS = "___$$IMPORTS$$___";
   private static final String TEXT = "___$$TEXT$$___";
+  /**
+   * Class of the metaclass registry listener holding the evaluation caches in the debuggee, and the keys of the
+   * caches in it, see {@link #createCodeFragment}
+   */
+  private static final String CACHES_CLASS = "GroovyDebuggerCaches";
+  private static final String EVALUATORS = "evaluators";
+  private static final String RELOADED_CLASSES = "reloadedClasses";
+  private static final String SPRINGLOADED_AGENT = "org/springsource/loaded/agent/SpringLoadedAgent.class";
 
   private static String unwrapVals(List<String> vals) {
     return "java.lang.Object[] |vals = new java.lang.Object[]{" + StringUtil.join(vals,
@@ -92,6 +100,25 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
 
     javaText.append("java.lang.Class |clazz;\n");
 
+    // The caches of the debuggee live in a metaclass registry listener defined by the first fragment, where the program
+    // doesn't see them, unlike in the system properties, which it may copy, store or expect to hold strings only. Two
+    // fragments racing to define it only lose what one of them caches.
+    javaText.append("groovy.lang.MetaClassRegistry |registry = groovy.lang.GroovySystem.getMetaClassRegistry();\n");
+    javaText.append("java.util.Map |caches = null;\n");
+    javaText.append("groovy.lang.MetaClassRegistryChangeEventListener[] |listeners = |registry.getMetaClassRegistryChangeEventListeners();\n");
+    javaText.append("for (int |l = 0; |l < |listeners.length; |l++) if (|listeners[|l].getClass().getName().equals(\"" + CACHES_CLASS + "\")) {\n");
+    javaText.append("  |caches = (java.util.Map)|listeners[|l];\n");
+    javaText.append("  break;\n");
+    javaText.append("}\n");
+    javaText.append("if (|caches == null) {\n");
+    javaText.append("  groovy.lang.GroovyClassLoader |cachesLoader = new groovy.lang.GroovyClassLoader(|registry.getClass().getClassLoader());\n");
+    javaText.append("  |caches = (java.util.Map)|cachesLoader.parseClass(\"class " + CACHES_CLASS +
+                    " extends java.util.concurrent.ConcurrentHashMap implements groovy.lang.MetaClassRegistryChangeEventListener {" +
+                    " void updateConstantMetaClass(groovy.lang.MetaClassRegistryChangeEvent event) {} }\", \"" + CACHES_CLASS +
+                    ".groovy\").newInstance();\n");
+    javaText.append("  |registry.addMetaClassRegistryChangeEventListener((groovy.lang.MetaClassRegistryChangeEventListener)|caches);\n");
+    javaText.append("}\n");
+
     if (!isStatic) {
       javaText.append("java.lang.Object |thiz0;\n");
 
@@ -102,6 +129,24 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
       }
 
       String fileName = containingFile.getOriginalFile().getName();
+      String reloadedKey = StringUtil.escapeStringCharacters(
+        fileName + ":" + (contextClass != null ? ClassUtil.getJVMClassName(contextClass) : ""));
+
+      // Springloaded is detected once per debuggee; without it no class is reloaded and the stack trace check below is skipped.
+      // A class once found reloaded stays reloaded.
+      javaText.append("java.util.Map |reloadedClasses = (java.util.Map)|caches.get(\"" + RELOADED_CLASSES + "\");\n");
+      javaText.append("if (|reloadedClasses == null) {\n");
+      javaText.append("  |reloadedClasses = java.util.Collections.synchronizedMap(new java.util.HashMap());\n");
+      javaText.append("  if (java.lang.ClassLoader.getSystemClassLoader().getResource(\"" + SPRINGLOADED_AGENT + "\") == null) {\n");
+      javaText.append("    |reloadedClasses.put(\"*\", java.lang.Boolean.FALSE);\n");
+      javaText.append("  }\n");
+      javaText.append("  |caches.put(\"" + RELOADED_CLASSES + "\", |reloadedClasses);\n");
+      javaText.append("}\n");
+      javaText.append("java.lang.Object |reloaded = |reloadedClasses.get(\"*\");\n");
+      javaText.append("if (|reloaded == null) {\n");
+      javaText.append("  |reloaded = |reloadedClasses.get(\"").append(reloadedKey).append("\");\n");
+      javaText.append("}\n");
+      javaText.append("if (|reloaded == null) {\n");
 
       String s = StringUtil.escapeStringCharacters(Pattern.quote(fileName));
       // We believe what class is reloaded if stacktrace matches one of two patterns:
@@ -113,12 +158,17 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
       //javaText.append("System.out.println(\"\\\\[([^,()]+\\\\$\\\\$)[A-Za-z0-9]{8}(\\\\.[^,()]+)\\\\(" + s + ":\\\\d+\\\\), (\\\\1[A-Za-z0-9]{8}\\\\2\\\\(Unknown Source\\\\), |.+(?:com|org)
       // \\\\.springsource\\\\.loaded\\\\.).+\")\n");
 
-      javaText.append("Class.forName(\"java.lang.StackTraceElement\");\n");
-      javaText.append("StackTraceElement[] |trace = new Exception().getStackTrace();\n");
-      javaText.append("if (java.util.Arrays.toString(|trace).matches(\"\\\\[([^,()]+\\\\$\\\\$)[A-Za-z0-9]{8}(\\\\.[^,()]+)\\\\(")
+      javaText.append("  Class.forName(\"java.lang.StackTraceElement\");\n");
+      javaText.append("  StackTraceElement[] |trace = new Exception().getStackTrace();\n");
+      javaText.append("  |reloaded = java.lang.Boolean.valueOf(java.util.Arrays.toString(|trace).matches(\"\\\\[([^,()]+\\\\$\\\\$)[A-Za-z0-9]{8}(\\\\.[^,()]+)\\\\(")
               .append(s)
               .append(":\\\\d+\\\\), (\\\\1[A-Za-z0-9]{8}\\\\2\\\\" +
-                        "(Unknown Source\\\\), $OR$.+(?:com$OR$org)\\\\.springsource\\\\.loaded\\\\.).+\")) {\n");
+                        "(Unknown Source\\\\), $OR$.+(?:com$OR$org)\\\\.springsource\\\\.loaded\\\\.).+\"));\n");
+      javaText.append("  if (((java.lang.Boolean)|reloaded).booleanValue()) {\n");
+      javaText.append("    |reloadedClasses.put(\"").append(reloadedKey).append("\", |reloaded);\n");
+      javaText.append("  }\n");
+      javaText.append("}\n");
+      javaText.append("if (((java.lang.Boolean)|reloaded).booleanValue()) {\n");
       javaText.append("  |thiz0 = thiz;\n");
       javaText.append(" } else {\n");
       if (contextClass instanceof GrTraitTypeDefinition) {
@@ -138,20 +188,47 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
       javaText.append("|clazz = java.lang.Class.forName(\"").append(ClassUtil.getJVMClassName(contextClass)).append("\");\n");
     }
 
-    javaText.append("final java.lang.ClassLoader |parentLoader = |clazz.getClassLoader();\n" + "   final groovy.lang.GroovyClassLoader |loader = new groovy.lang.GroovyClassLoader(|parentLoader);" +
-                      "\n" + "   final java.lang.Class |c = |loader.parseClass(");
-    javaText.append("\"" + IMPORTS + "class DUMMY")
+    // Compiled fragments are kept in the debuggee per context class, static or instance context and fragment source (the
+    // text and the imports), so that watches and breakpoint conditions compile once. The closure is registered as a
+    // static or an instance method, so a metaclass compiled for one context can't be used in the other. The metaclasses
+    // are softly referenced: they reference the context class through the fragment class loader and would keep it from
+    // unloading otherwise.
+    javaText.append("java.util.Map |evaluators = (java.util.Map)|caches.get(\"" + EVALUATORS + "\");\n");
+    javaText.append("if (|evaluators == null) {\n");
+    javaText.append("  |evaluators = java.util.Collections.synchronizedMap(new java.util.WeakHashMap());\n");
+    javaText.append("  java.lang.Object |otherEvaluators = |caches.putIfAbsent(\"" + EVALUATORS + "\", |evaluators);\n");
+    javaText.append("  if (|otherEvaluators != null) {\n");
+    javaText.append("    |evaluators = (java.util.Map)|otherEvaluators;\n");
+    javaText.append("  }\n");
+    javaText.append("}\n");
+    javaText.append("java.util.Map |classEvaluators = (java.util.Map)|evaluators.get(|clazz);\n");
+    javaText.append("if (|classEvaluators == null) {\n");
+    javaText.append("  |classEvaluators = java.util.Collections.synchronizedMap(new java.util.HashMap());\n");
+    javaText.append("  |evaluators.put(|clazz, |classEvaluators);\n");
+    javaText.append("}\n");
+    javaText.append("java.lang.String |source = \"" + IMPORTS + "class DUMMY")
             .append(" { ")
             .append("public groovy.lang.Closure ")
             .append(EVAL_NAME)
             .append(" = {")
             .append(TEXT)
-            .append("}}\"");
+            .append("}}\";\n");
+    javaText.append("java.lang.String |key = \"").append(isStatic ? "static " : "instance ").append("\" + |source;\n");
+    javaText.append("java.lang.ref.Reference |emcRef = (java.lang.ref.Reference)|classEvaluators.get(|key);\n");
+    javaText.append("groovy.lang.ExpandoMetaClass |emc = null;\n");
+    javaText.append("if (|emcRef != null) {\n");
+    javaText.append("  |emc = (groovy.lang.ExpandoMetaClass)|emcRef.get();\n");
+    javaText.append("}\n");
+    javaText.append("if (|emc == null) {\n");
+
+    javaText.append("final java.lang.ClassLoader |parentLoader = |clazz.getClassLoader();\n" + "   final groovy.lang.GroovyClassLoader |loader = new groovy.lang.GroovyClassLoader(|parentLoader);" +
+                      "\n" + "   final java.lang.Class |c = |loader.parseClass(|source");
     javaText.append(", \"DUMMY.groovy\");\n" + "   int |i;\n" + "   java.lang.reflect.Field[] |fields = |c.getFields();\n" + "   for (int |j = 0; |j < |fields.length; |j++) if (|fields[|j]" +
                       ".getName().equals(\"_JETGROOVY_EVAL_\")) {|i = |j; break;}\n" + "   final java.lang.reflect.Field |field = |fields[|i];\n" + "   final java.lang.Object |closure = |field.get(|c" +
                       ".newInstance());\n");
 
-    javaText.append("groovy.lang.ExpandoMetaClass |emc = new groovy.lang.ExpandoMetaClass(|clazz);\n");
+    // the closure is cloned and delegated to the receiver on each invocation of the metaclass method, so it's reusable
+    javaText.append("|emc = new groovy.lang.ExpandoMetaClass(|clazz);\n");
     if (!isStatic) {
       javaText.append("|closure.setDelegate(|thiz0);\n");
       javaText.append("|emc.setProperty(\"").append(EVAL_NAME).append("\", |closure);\n");
@@ -160,6 +237,8 @@ public class GroovyCodeFragmentFactory extends CodeFragmentFactory {
       javaText.append("|emc.getProperty(\"static\").setProperty(\"").append(EVAL_NAME).append("\", |closure);\n");
     }
     javaText.append("|emc.initialize();\n");
+    javaText.append("|classEvaluators.put(|key, new java.lang.ref.SoftReference(|emc));\n");
+    javaText.append("}\n");
     javaText.append(unwrapVals(values));
     if (!isStatic) {
       javaText.append("java.lang.Object |res = ((groovy.lang.MetaClassImpl)|emc).invokeMethod(|thiz0, \"")
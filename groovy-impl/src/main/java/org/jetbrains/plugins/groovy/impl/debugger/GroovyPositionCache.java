@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.debugger;
+
+import consulo.internal.com.sun.jdi.AbsentInformationException;
+import consulo.internal.com.sun.jdi.Location;
+import consulo.internal.com.sun.jdi.ReferenceType;
+import consulo.language.psi.PsiFile;
+import consulo.util.collection.ContainerUtil;
+import consulo.util.lang.ref.SimpleReference;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Per debug session caches of {@link GroovyPositionManager}, so that stepping through code already visited doesn't
+ * query the debuggee or the indices again:
+ * <ul>
+ * <li>the source file of every reference type;</li>
+ * <li>for every outer class, the line tables of the class and its prepared nested classes (closures, inner and
+ * anonymous classes), in the order {@link GroovyPositionManager} searches them.</li>
+ * </ul>
+ * The nested classes of a class are dropped when one more of them is prepared: once a class is indexed, its owner is
+ * asked to watch the preparation of {@code Outer$...} classes and to report them to {@link #classPrepared}, and the
+ * watch is stopped when the entry is dropped, so it lives no longer than the entry. Line tables are dropped before
+ * hot swap. Files not found are looked up again after PSI changes.
+ *
+ * @since 2026-10-19
+ */
+class GroovyPositionCache {
+  private static final Object NO_FILE = new Object();
+
+  private final Map<ReferenceType, Object> myFiles = ContainerUtil.newConcurrentMap();
+  private final Map<ReferenceType, NestedTypes> myNestedTypes = ContainerUtil.newConcurrentMap();
+  private final Map<String, Runnable> myWatchedOuters = ContainerUtil.newConcurrentMap();
+  private final Function<String, Runnable> myNestedTypesWatcher;
+  private volatile long myPsiModificationCount = -1;
+
+  private final AtomicInteger myFileLookups = new AtomicInteger();
+  private final AtomicInteger myLineTableQueries = new AtomicInteger();
+
+  /**
+   * @param nestedTypesWatcher called when the nested classes of an outer class name are cached, makes every later
+   *                           preparation of a class nested in it call {@link #classPrepared}; returns the action
+   *                           stopping that, run when the cached nested classes are dropped
+   */
+  GroovyPositionCache(@Nonnull Function<String, Runnable> nestedTypesWatcher) {
+    myNestedTypesWatcher = nestedTypesWatcher;
+  }
+
+  /**
+   * @param lookup finds the file of a type; returns null if the file can't be determined now (e.g. in dumb mode), and
+   *               a reference to null if there is no file
+   */
+  @Nullable
+  PsiFile getFile(@Nonnull ReferenceType type,
+                  long psiModificationCount,
+                  @Nonnull Function<ReferenceType, SimpleReference<PsiFile>> lookup) {
+    if (myPsiModificationCount != psiModificationCount) {
+      myFiles.values().removeIf(file -> file == NO_FILE || !((PsiFile)file).isValid());
+      myPsiModificationCount = psiModificationCount;
+    }
+
+    Object cached = myFiles.get(type);
+    if (cached == NO_FILE) return null;
+    if (cached != null && ((PsiFile)cached).isValid()) return (PsiFile)cached;
+
+    myFileLookups.incrementAndGet();
+    SimpleReference<PsiFile> found = lookup.apply(type);
+    if (found == null) return null;
+
+    PsiFile file = found.get();
+    myFiles.put(type, file != null ? file : NO_FILE);
+    return file;
+  }
+
+  /**
+   * @return line tables of {@code outer} and its nested classes, null if {@code outer} is not prepared yet
+   */
+  @Nullable
+  NestedTypes getNestedTypes(@Nonnull ReferenceType outer, @Nonnull Function<ReferenceType, List<ReferenceType>> nestedTypes) {
+    NestedTypes cached = myNestedTypes.get(outer);
+    if (cached != null) return cached;
+    if (!outer.isPrepared()) return null;
+
+    myWatchedOuters.computeIfAbsent(outer.name(), myNestedTypesWatcher);
+
+    NestedTypes result = new NestedTypes();
+    collect(outer, nestedTypes, result);
+    myNestedTypes.put(outer, result);
+    return result;
+  }
+
+  private void collect(@Nonnull ReferenceType type,
+                       @Nonnull Function<ReferenceType, List<ReferenceType>> nestedTypes,
+                       @Nonnull NestedTypes result) {
+    if (!type.isPrepared()) return;
+
+    for (ReferenceType nested : nestedTypes.apply(type)) {
+      collect(nested, nestedTypes, result);
+    }
+
+    BitSet lines = new BitSet();
+    int firstLine = -1;
+    myLineTableQueries.incrementAndGet();
+    try {
+      for (Location location : type.allLineLocations()) {
+        int line = location.lineNumber();
+        if (line < 0) continue;
+        if (firstLine < 0) {
+          firstLine = line;
+        }
+        lines.set(line);
+      }
+    }
+    catch (AbsentInformationException ignored) {
+    }
+    result.add(type, lines, firstLine);
+  }
+
+  void classPrepared(@Nonnull ReferenceType type) {
+    String name = type.name();
+    dropNestedTypes(outerName -> name.startsWith(outerName + "$"));
+  }
+
+  void dropLineTables() {
+    dropNestedTypes(outerName -> true);
+  }
+
+  void clear() {
+    myFiles.clear();
+    dropNestedTypes(outerName -> true);
+  }
+
+  private void dropNestedTypes(@Nonnull Predicate<String> outerNames) {
+    myNestedTypes.keySet().removeIf(outer -> outerNames.test(outer.name()));
+    for (String outerName : myWatchedOuters.keySet()) {
+      if (!outerNames.test(outerName)) continue;
+
+      Runnable unwatch = myWatchedOuters.remove(outerName);
+      if (unwatch != null) {
+        unwatch.run();
+      }
+    }
+  }
+
+  int getFileLookupCount() {
+    return myFileLookups.get();
+  }
+
+  int getLineTableQueryCount() {
+    return myLineTableQueries.get();
+  }
+
+  /**
+   * A class and its prepared nested classes, nested ones first (depth first, post-order), each with the lines it has
+   * code on and its first line.
+   */
+  static class NestedTypes {
+    private final List<ReferenceType> myTypes = new ArrayList<ReferenceType>();
+    private final List<BitSet> myLines = new ArrayList<BitSet>();
+    private final List<Integer> myFirstLines = new ArrayList<Integer>();
+
+    void add(@Nonnull ReferenceType type, @Nonnull BitSet lines, int firstLine) {
+      myTypes.add(type);
+      myLines.add(lines);
+      myFirstLines.add(firstLine);
+    }
+
+    int size() {
+      return myTypes.size();
+    }
+
+    @Nonnull
+    ReferenceType getType(int index) {
+      return myTypes.get(index);
+    }
+
+    /**
+     * @param line one-based
+     */
+    boolean hasLine(int index, int line) {
+      return line >= 0 && myLines.get(index).get(line);
+    }
+
+    /**
+     * @return one-based first line of the type's code, -1 if unknown
+     */
+    int getFirstLine(int index) {
+      return myFirstLines.get(index);
+    }
+  }
+}
@@ -20,10 +20,15 @@ import com.intellij.java.debugger.NoDataException;
 import com.intellij.java.debugger.PositionManager;
 import com.intellij.java.debugger.SourcePosition;
 import com.intellij.java.debugger.engine.DebugProcess;
+import com.intellij.java.debugger.engine.DebugProcessListener;
 import com.intellij.java.debugger.engine.jdi.VirtualMachineProxy;
 import com.intellij.java.debugger.impl.engine.CompoundPositionManager;
 import com.intellij.java.debugger.impl.engine.DebugProcessImpl;
+import com.intellij.java.debugger.impl.engine.events.DebuggerCommandImpl;
+import com.intellij.java.debugger.impl.ui.HotSwapUI;
+import com.intellij.java.debugger.impl.ui.HotSwapVetoableListener;
 import com.intellij.java.debugger.requests.ClassPrepareRequestor;
+import com.intellij.java.debugger.requests.RequestManager;
 import com.intellij.java.language.psi.PsiClass;
 import consulo.application.AccessRule;
 import consulo.application.ApplicationManager;
@@ -34,13 +39,16 @@ import consulo.internal.com.sun.jdi.AbsentInformationException;
 import consulo.internal.com.sun.jdi.Location;
 import consulo.internal.com.sun.jdi.ReferenceType;
 import consulo.internal.com.sun.jdi.request.ClassPrepareRequest;
+import consulo.internal.com.sun.jdi.request.EventRequest;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiModificationTracker;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.util.PsiTreeUtil;
 import consulo.logging.Logger;
 import consulo.module.content.scope.ModuleWithDependenciesScope;
 import consulo.project.Project;
+import consulo.util.lang.ref.SimpleReference;
 import consulo.virtualFileSystem.VirtualFile;
 import org.jetbrains.plugins.groovy.impl.extensions.debugger.ScriptPositionManagerHelper;
 import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
@@ -52,6 +60,8 @@ import org.jetbrains.plugins.groovy.impl.lang.stubs.GroovyShortNamesCache;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -60,9 +70,24 @@ public class GroovyPositionManager implements PositionManager {
   private static final Logger LOG = Logger.getInstance("#com.intellij.debugger.engine.PositionManagerImpl");
 
   private final DebugProcess myDebugProcess;
+  private final GroovyPositionCache myCache = new GroovyPositionCache(this::watchNestedTypes);
 
   public GroovyPositionManager(DebugProcess debugProcess) {
     myDebugProcess = debugProcess;
+
+    final HotSwapUI hotSwapUI = HotSwapUI.getInstance(debugProcess.getProject());
+    final HotSwapVetoableListener hotSwapListener = context -> {
+      myCache.dropLineTables();
+      return true;
+    };
+    hotSwapUI.addListener(hotSwapListener);
+    debugProcess.addDebugProcessListener(new DebugProcessListener() {
+      @Override
+      public void processDetached(DebugProcess process, boolean closedByUser) {
+        hotSwapUI.removeListener(hotSwapListener);
+        myCache.clear();
+      }
+    });
   }
 
   public DebugProcess getDebugProcess() {
@@ -137,6 +162,36 @@ public class GroovyPositionManager implements PositionManager {
     return myDebugProcess.getRequestsManager().createClassPrepareRequest(waitRequestor, qName + "$*");
   }
 
+  /**
+   * Drops the cached nested classes of {@code outerName} whenever one more class nested in it is prepared, whether or
+   * not a breakpoint waits for it. The debuggee is not suspended for that.
+   *
+   * @return the action deleting the request
+   */
+  @Nonnull
+  private Runnable watchNestedTypes(@Nonnull String outerName) {
+    RequestManager requestManager = myDebugProcess.getRequestsManager();
+    ClassPrepareRequestor requestor = new ClassPrepareRequestor() {
+      public void processClassPrepare(DebugProcess debuggerProcess, ReferenceType referenceType) {
+        myCache.classPrepared(referenceType);
+      }
+    };
+    ClassPrepareRequest request = requestManager.createClassPrepareRequest(requestor, outerName + "$*");
+    if (request == null) {
+      return () -> {
+      };
+    }
+    request.setSuspendPolicy(EventRequest.SUSPEND_NONE);
+    requestManager.enableRequest(request);
+    // the cache may drop the entry outside of the debugger thread, e.g. before hot swap
+    return () -> ((DebugProcessImpl)myDebugProcess).getManagerThread().invoke(new DebuggerCommandImpl() {
+      @Override
+      protected void action() {
+        requestManager.deleteRequest(requestor);
+      }
+    });
+  }
+
   @Nullable
   private static String findEnclosingName(SourcePosition position) {
     return AccessRule.read(() ->
@@ -232,6 +287,15 @@ public class GroovyPositionManager implements PositionManager {
       return null;
     }
 
+    long psiModificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+    return myCache.getFile(refType, psiModificationCount, type -> findPsiFile(project, type));
+  }
+
+  /**
+   * @return null if the file can't be determined now
+   */
+  @Nullable
+  private SimpleReference<PsiFile> findPsiFile(Project project, ReferenceType refType) {
     String originalQName = refType.name().replace('/', '.');
     int dollar = originalQName.indexOf('$');
     String runtimeName = dollar >= 0 ? originalQName.substring(0, dollar) : originalQName;
@@ -242,7 +306,7 @@ public class GroovyPositionManager implements PositionManager {
       List<PsiClass> classes = GroovyShortNamesCache.getGroovyShortNamesCache(project).getClassesByFQName(qName, searchScope);
       PsiClass clazz = classes.size() == 1 ? classes.get(0) : null;
       if (clazz != null) {
-        return clazz.getContainingFile();
+        return SimpleReference.create(clazz.getContainingFile());
       }
     }
     catch (ProcessCanceledException e) {
@@ -252,7 +316,7 @@ public class GroovyPositionManager implements PositionManager {
       return null;
     }
 
-    return getExtraScriptIfNotFound(project, refType, runtimeName, searchScope);
+    return SimpleReference.create(getExtraScriptIfNotFound(project, refType, runtimeName, searchScope));
   }
 
   @Nullable
@@ -355,39 +419,41 @@ public class GroovyPositionManager implements PositionManager {
     return plainName;
   }
 
+  /**
+   * Looks for the class of {@code toFind} among {@code outer} and its nested classes, the innermost first: the first
+   * one having code on the line, or starting inside {@code toFind}. Line tables come from {@link GroovyPositionCache}.
+   */
   @Nullable
-  private ReferenceType findNested(ReferenceType fromClass, GroovyPsiElement toFind, SourcePosition classPosition) {
-    VirtualMachineProxy vmProxy = myDebugProcess.getVirtualMachineProxy();
-    if (fromClass.isPrepared()) {
-
-      List<ReferenceType> nestedTypes = vmProxy.nestedTypes(fromClass);
+  private ReferenceType findNested(ReferenceType outer, GroovyPsiElement toFind, SourcePosition classPosition) {
+    final VirtualMachineProxy vmProxy = myDebugProcess.getVirtualMachineProxy();
+    GroovyPositionCache.NestedTypes nestedTypes = myCache.getNestedTypes(outer, type -> vmProxy.nestedTypes(type));
+    if (nestedTypes == null) {
+      return null;
+    }
 
-      for (ReferenceType nested : nestedTypes) {
-        ReferenceType found = findNested(nested, toFind, classPosition);
-        if (found != null) {
-          return found;
-        }
+    int lineNumber = classPosition.getLine() + 1;
+    for (int i = 0; i < nestedTypes.size(); i++) {
+      if (nestedTypes.hasLine(i, lineNumber)) {
+        return nestedTypes.getType(i);
       }
-
-      try {
-        int lineNumber = classPosition.getLine() + 1;
-        if (fromClass.locationsOfLine(lineNumber).size() > 0) {
-          return fromClass;
-        }
-        //noinspection LoopStatementThatDoesntLoop
-        for (Location location : fromClass.allLineLocations()) {
-          SourcePosition candidateFirstPosition =
-            SourcePosition.createFromLine(toFind.getContainingFile(), location.lineNumber() - 1);
-          if (toFind.equals(findReferenceTypeSourceImage(candidateFirstPosition))) {
-            return fromClass;
-          }
-          break; // isApplicable only the first location
+      int firstLine = nestedTypes.getFirstLine(i);
+      if (firstLine > 0) {
+        SourcePosition candidateFirstPosition = SourcePosition.createFromLine(toFind.getContainingFile(), firstLine - 1);
+        if (toFind.equals(findReferenceTypeSourceImage(candidateFirstPosition))) {
+          return nestedTypes.getType(i);
         }
       }
-      catch (AbsentInformationException ignored) {
-      }
     }
     return null;
   }
 
-}
\ No newline at end of file
+  @TestOnly
+  int getFileLookupCount() {
+    return myCache.getFileLookupCount();
+  }
+
+  @TestOnly
+  int getLineTableQueryCount() {
+    return myCache.getLineTableQueryCount();
+  }
+}
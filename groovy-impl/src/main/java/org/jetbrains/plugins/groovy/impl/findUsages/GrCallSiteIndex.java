@@ -0,0 +1,223 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.findUsages;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
+import consulo.index.io.data.DataInputOutputUtil;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.DefaultFileTypeSpecificInputFilter;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.fileType.FileType;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.plugins.groovy.GroovyFileType;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrMethodCall;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrReferenceExpression;
+import org.jetbrains.plugins.groovy.lang.psi.impl.PsiImplUtil;
+import org.jetbrains.plugins.groovy.lang.psi.util.PsiUtil;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference expressions of {@code .groovy} files by name, with the shapes they are used in: for every file a mask of the
+ * argument counts the name is called with, plus a bit for the name being used without a call. The argument count is
+ * counted the way {@link MethodLateBoundReferencesSearcher} matches it against parameters: expression arguments, plus
+ * one for named arguments.
+ * <p>
+ * Whether a reference is late bound is only known after resolving it, so all references are recorded, and the
+ * searcher resolves the occurrences in the files which have a call of the right arity. Other Groovy-enabled file
+ * types aren't indexed, so {@link #narrowScope} keeps them in the scope as they are.
+ *
+ * @since 2026-10-19
+ */
+@ExtensionImpl
+public class GrCallSiteIndex extends FileBasedIndexExtension<String, Integer> {
+    public static final ID<String, Integer> NAME = ID.create("GrCallSiteIndex");
+
+    /**
+     * Calls with this many arguments or more share one bit
+     */
+    private static final int MAX_ARGUMENT_COUNT = 30;
+    private static final int NOT_CALLED = 1 << 31;
+
+    private final EnumeratorStringDescriptor myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @Nonnull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return inputData -> {
+            PsiFile file = inputData.getPsiFile();
+            if (!(file instanceof GroovyFile)) {
+                return Map.of();
+            }
+
+            Map<String, Integer> result = new HashMap<>();
+            file.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof GrReferenceExpression ref) {
+                        String name = ref.getReferenceName();
+                        if (name != null && !PsiUtil.isLValue(ref)) {
+                            result.merge(name, getShapeMask(ref), (a, b) -> a | b);
+                        }
+                    }
+                    super.visitElement(element);
+                }
+            });
+            return result;
+        };
+    }
+
+    @Nonnull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @Nonnull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@Nonnull DataOutput out, Integer value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value);
+            }
+
+            @Override
+            public Integer read(@Nonnull DataInput in) throws IOException {
+                return DataInputOutputUtil.readINT(in);
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(GroovyFileType.GROOVY_FILE_TYPE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 0;
+    }
+
+    /**
+     * @param argumentCount argument count as computed by {@link #getArgumentCount(GrMethodCall)}, or -1 if only
+     *                      references not being called are of interest
+     * @return files in {@code scope} which reference {@code name} without calling it or call it with
+     * {@code argumentCount} arguments
+     */
+    @Nonnull
+    public static Set<VirtualFile> getCandidateFiles(@Nonnull String name, int argumentCount, @Nonnull GlobalSearchScope scope) {
+        int mask = NOT_CALLED;
+        if (argumentCount >= 0) {
+            mask |= argumentCountBit(argumentCount);
+        }
+
+        int requiredMask = mask;
+        Set<VirtualFile> result = new HashSet<>();
+        FileBasedIndex.getInstance().processValues(NAME, name, null, (file, value) -> {
+            if ((value & requiredMask) != 0) {
+                result.add(file);
+            }
+            return true;
+        }, scope);
+        return result;
+    }
+
+    /**
+     * @return {@code scope} with its {@code .groovy} files narrowed to the {@link #getCandidateFiles candidate files}
+     * and the files of the other Groovy-enabled types kept, or null if nothing is left
+     */
+    @Nullable
+    public static GlobalSearchScope narrowScope(
+        @Nonnull String name,
+        int argumentCount,
+        @Nonnull GlobalSearchScope scope,
+        @Nonnull Project project
+    ) {
+        GlobalSearchScope groovyFiles = GlobalSearchScope.getScopeRestrictedByFileTypes(scope, GroovyFileType.GROOVY_FILE_TYPE);
+        Set<VirtualFile> candidates = getCandidateFiles(name, argumentCount, groovyFiles);
+
+        List<FileType> otherTypes = new ArrayList<>();
+        for (FileType fileType : GroovyFileType.getGroovyEnabledFileTypes()) {
+            if (fileType != GroovyFileType.GROOVY_FILE_TYPE) {
+                otherTypes.add(fileType);
+            }
+        }
+
+        if (otherTypes.isEmpty()) {
+            return candidates.isEmpty() ? null : scope.intersectWith(GlobalSearchScope.filesScope(project, candidates));
+        }
+        GlobalSearchScope otherFiles = GlobalSearchScope.getScopeRestrictedByFileTypes(scope, otherTypes.toArray(FileType.EMPTY_ARRAY));
+        if (candidates.isEmpty()) {
+            return otherFiles;
+        }
+        return otherFiles.uniteWith(scope.intersectWith(GlobalSearchScope.filesScope(project, candidates)));
+    }
+
+    public static int getArgumentCount(@Nonnull GrMethodCall call) {
+        int argCount = call.getExpressionArguments().length;
+        if (PsiImplUtil.hasNamedArguments(call.getArgumentList())) {
+            argCount++;
+        }
+        return argCount;
+    }
+
+    private static int getShapeMask(@Nonnull GrReferenceExpression ref) {
+        PsiElement parent = ref.getParent();
+        if (parent instanceof GrMethodCall methodCall && methodCall.getInvokedExpression() == ref) {
+            return argumentCountBit(getArgumentCount(methodCall));
+        }
+        return NOT_CALLED;
+    }
+
+    private static int argumentCountBit(int argumentCount) {
+        return 1 << Math.min(argumentCount, MAX_ARGUMENT_COUNT);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.findUsages;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.language.lexer.Lexer;
+import consulo.language.psi.stub.LexerBasedIdIndexer;
+import consulo.language.psi.stub.OccurrenceConsumer;
+import consulo.virtualFileSystem.fileType.FileType;
+import jakarta.annotation.Nonnull;
+import org.jetbrains.plugins.groovy.GroovyFileType;
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyFilterLexer;
+
+/**
+ * Builds the word index of Groovy files with the same {@link GroovyFilterLexer} pass as
+ * {@link org.jetbrains.plugins.groovy.impl.highlighter.GroovyTodoIndexer}. When both indexers are lexer based the
+ * platform scans the file content once and hands the todo counts collected during the id pass to the todo index,
+ * instead of lexing the file once by {@link GroovyWordsScanner} and once more by the todo filter lexer.
+ *
+ * @since 2026-10-19
+ */
+@ExtensionImpl
+public class GroovyIdIndexer extends LexerBasedIdIndexer {
+  @Override
+  public Lexer createLexer(OccurrenceConsumer consumer) {
+    return GroovyFilterLexer.createIndexingLexer(consumer);
+  }
+
+  @Nonnull
+  @Override
+  public FileType getFileType() {
+    return GroovyFileType.GROOVY_FILE_TYPE;
+  }
+}
@@ -30,6 +30,7 @@ import consulo.language.psi.search.RequestResultProcessor;
 import consulo.language.psi.search.SearchRequestCollector;
 import consulo.language.psi.search.UsageSearchContext;
 import consulo.module.content.ProjectRootManager;
+import consulo.project.DumbService;
 import consulo.project.Project;
 import consulo.project.util.query.QueryExecutorBase;
 import consulo.util.lang.StringUtil;
@@ -37,7 +38,6 @@ import consulo.virtualFileSystem.VirtualFile;
 import jakarta.annotation.Nonnull;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrMethodCall;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrReferenceExpression;
-import org.jetbrains.plugins.groovy.lang.psi.impl.PsiImplUtil;
 import org.jetbrains.plugins.groovy.lang.psi.impl.search.GrSourceFilterScope;
 import org.jetbrains.plugins.groovy.lang.psi.util.PsiUtil;
 import org.jetbrains.plugins.groovy.lang.resolve.ResolveUtil;
@@ -62,11 +62,12 @@ public class MethodLateBoundReferencesSearcher extends QueryExecutorBase<PsiRefe
         PsiMethod method = queryParameters.getMethod();
         SearchScope searchScope = GroovyScopeUtil.restrictScopeToGroovyFiles(queryParameters.getScope()).intersectWith(getUseScope(method));
 
-        orderSearching(searchScope, method.getName(), queryParameters.getOptimizer(), method.getParameterList().getParametersCount());
+        Project project = method.getProject();
+        orderSearching(searchScope, method.getName(), queryParameters.getOptimizer(), method.getParameterList().getParametersCount(), project);
 
         String propName = PropertyUtil.getPropertyName(method);
         if (propName != null) {
-            orderSearching(searchScope, propName, queryParameters.getOptimizer(), -1);
+            orderSearching(searchScope, propName, queryParameters.getOptimizer(), -1, project);
         }
     }
 
@@ -83,10 +84,25 @@ public class MethodLateBoundReferencesSearcher extends QueryExecutorBase<PsiRefe
         return scope;
     }
 
-    private static void orderSearching(SearchScope searchScope, String name, @Nonnull SearchRequestCollector collector, int paramCount) {
+    private static void orderSearching(
+        SearchScope searchScope,
+        String name,
+        @Nonnull SearchRequestCollector collector,
+        int paramCount,
+        @Nonnull Project project
+    ) {
         if (StringUtil.isEmpty(name)) {
             return;
         }
+
+        // resolve only the occurrences in .groovy files which use the name with the right number of arguments
+        if (searchScope instanceof GlobalSearchScope globalScope && !DumbService.isDumb(project)) {
+            searchScope = GrCallSiteIndex.narrowScope(name, paramCount, globalScope, project);
+            if (searchScope == null) {
+                return;
+            }
+        }
+
         collector.searchWord(name, searchScope, UsageSearchContext.IN_CODE, true, new RequestResultProcessor("groovy.lateBound") {
             @Override
             public boolean processTextOccurrence(
@@ -98,13 +114,13 @@ public class MethodLateBoundReferencesSearcher extends QueryExecutorBase<PsiRefe
                     return true;
                 }
 
-                if (!name.equals(ref.getReferenceName()) || PsiUtil.isLValue(ref) || ref.resolve() != null) {
+                if (!name.equals(ref.getReferenceName()) || PsiUtil.isLValue(ref)) {
                     return true;
                 }
 
                 PsiElement parent = ref.getParent();
                 if (parent instanceof GrMethodCall methodCall) {
-                    if (!argumentsMatch(methodCall, paramCount)) {
+                    if (GrCallSiteIndex.getArgumentCount(methodCall) != paramCount) {
                         return true;
                     }
                 }
@@ -112,16 +128,12 @@ public class MethodLateBoundReferencesSearcher extends QueryExecutorBase<PsiRefe
                     return true;
                 }
 
+                if (ref.resolve() != null) {
+                    return true;
+                }
+
                 return consumer.test((PsiReference)element);
             }
         });
     }
-
-    private static boolean argumentsMatch(GrMethodCall call, int paramCount) {
-        int argCount = call.getExpressionArguments().length;
-        if (PsiImplUtil.hasNamedArguments(call.getArgumentList())) {
-            argCount++;
-        }
-        return argCount == paramCount;
-    }
-}
\ No newline at end of file
+}
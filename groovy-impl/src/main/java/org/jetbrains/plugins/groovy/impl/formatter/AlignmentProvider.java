@@ -15,22 +15,41 @@
  */
 package org.jetbrains.plugins.groovy.impl.formatter;
 
+import consulo.document.util.TextRange;
 import consulo.language.ast.ASTNode;
 import consulo.language.codeStyle.Alignment;
 import consulo.language.psi.PsiElement;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.util.*;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
+ * Groups of elements sharing one alignment, kept as a union-find forest over the elements numbered in the order they
+ * are added. Group attributes are stored at the root of the group, so merging two groups is a pointer update, also
+ * for long aligned chains such as map literals, named arguments and chained calls.
+ *
  * @author Max Medvedev
  */
 public class AlignmentProvider {
-  private final Map<PsiElement, Set<PsiElement>> myTree = new HashMap<PsiElement, Set<PsiElement>>();
-  private final Map<Set<PsiElement>, Alignment> myAlignments = new HashMap<Set<PsiElement>, Alignment>();
-  private final Map<Set<PsiElement>, Boolean> myAllowBackwardShift = new HashMap<Set<PsiElement>, Boolean>();
-  private final Map<Set<PsiElement>, Alignment.Anchor> myAnchor = new HashMap<Set<PsiElement>, Alignment.Anchor>();
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<PsiElement, Integer> myIndex = new IdentityHashMap<PsiElement, Integer>();
+  private int mySize;
+  private int[] myParent = new int[INITIAL_CAPACITY];
+  private int[] myRank = new int[INITIAL_CAPACITY];
+  private PsiElement[] myElements = new PsiElement[INITIAL_CAPACITY];
+
+  // start offsets of the first myOffsetCount elements, sorted; filled on demand by hasAlignedElementsInside()
+  private int[] myStartOffsets = new int[0];
+  private int myOffsetCount;
+
+  // valid at group roots only
+  private Alignment[] myAlignments = new Alignment[INITIAL_CAPACITY];
+  private Boolean[] myAllowBackwardShift = new Boolean[INITIAL_CAPACITY];
+  private Alignment.Anchor[] myAnchor = new Alignment.Anchor[INITIAL_CAPACITY];
 
   public void addPair(@Nonnull PsiElement e1, @Nonnull PsiElement e2, @Nullable Boolean allowBackwardShift) {
     addPair(e1, e2, allowBackwardShift, null);
@@ -39,120 +58,182 @@ public class AlignmentProvider {
   public void addPair(@Nonnull PsiElement e1, @Nonnull PsiElement e2, @Nullable Boolean allowBackwardShift, @Nullable Alignment.Anchor anchor) {
     assert e1 != e2;
 
-    Set<PsiElement> set1 = myTree.get(e1);
-    Set<PsiElement> set2 = myTree.get(e2);
+    Integer index1 = myIndex.get(e1);
+    Integer index2 = myIndex.get(e2);
+
+    if (index1 != null && index2 != null) {
+      int root1 = find(index1);
+      int root2 = find(index2);
+      if (root1 == root2) return;
 
-    if (set1 != null && set2 != null) {
-      assert (!myAlignments.containsKey(set1) || !myAlignments.containsKey(set2));
-      assert(myAllowBackwardShift.get(set1).booleanValue() == myAllowBackwardShift.get(set2).booleanValue());
-      assert(myAnchor.get(set1) == myAnchor.get(set2));
+      assert myAlignments[root1] == null || myAlignments[root2] == null;
+      assert myAllowBackwardShift[root1].booleanValue() == myAllowBackwardShift[root2].booleanValue();
+      assert myAnchor[root1] == myAnchor[root2];
       if (allowBackwardShift != null) {
-        assert(myAllowBackwardShift.get(set1).booleanValue() == allowBackwardShift.booleanValue());
+        assert myAllowBackwardShift[root1].booleanValue() == allowBackwardShift.booleanValue();
       }
       if (anchor != null) {
-        assert(myAnchor.get(set1) == anchor);
+        assert myAnchor[root1] == anchor;
       }
 
-      if (myAlignments.containsKey(set2)) {
-        for (Iterator<PsiElement> iterator = set1.iterator(); iterator.hasNext(); ) {
-          PsiElement element = iterator.next();
-          iterator.remove();
-
-          addInternal(set2, element);
-        }
-      }
-      else {
-        set1.addAll(set2);
-        for (Iterator<PsiElement> iterator = set2.iterator(); iterator.hasNext(); ) {
-          PsiElement element = iterator.next();
-          iterator.remove();
-
-          addInternal(set1, element);
-        }
-      }
+      // the group which already has its alignment keeps it together with its attributes
+      union(root1, root2, myAlignments[root2] != null ? root2 : root1);
     }
-    else if (set1 != null) {
+    else if (index1 != null) {
+      int root1 = find(index1);
       if (allowBackwardShift != null) {
-        assert myAllowBackwardShift.get(set1).booleanValue() == allowBackwardShift.booleanValue();
+        assert myAllowBackwardShift[root1].booleanValue() == allowBackwardShift.booleanValue();
       }
       if (anchor != null) {
-        assert myAnchor.get(set1) == anchor;
+        assert myAnchor[root1] == anchor;
       }
-      addInternal(set1, e2);
+      myParent[newElement(e2)] = root1;
     }
-    else if (set2 != null) {
+    else if (index2 != null) {
+      int root2 = find(index2);
       if (allowBackwardShift != null) {
-        assert(myAllowBackwardShift.get(set2).booleanValue() == allowBackwardShift.booleanValue());
+        assert myAllowBackwardShift[root2].booleanValue() == allowBackwardShift.booleanValue();
       }
       if (anchor != null) {
-        assert(myAnchor.get(set2) == anchor);
+        assert myAnchor[root2] == anchor;
       }
-      addInternal(set2, e1);
+      myParent[newElement(e1)] = root2;
     }
     else {
-      HashSet<PsiElement> set = createHashSet();
-      addInternal(set, e1);
-      addInternal(set, e2);
-      myAllowBackwardShift.put(set, allowBackwardShift);
-      myAnchor.put(set, anchor);
+      int root = newElement(e1);
+      myParent[newElement(e2)] = root;
+      myRank[root] = 1;
+      myAllowBackwardShift[root] = allowBackwardShift;
+      myAnchor[root] = anchor;
     }
   }
 
-  private void addInternal(@Nonnull Set<PsiElement> set, @Nonnull PsiElement element) {
-    myTree.put(element, set);
-    set.add(element);
+  public void addPair(@Nonnull ASTNode node1, @Nonnull ASTNode node2, boolean allowBackwardShift) {
+    addPair(node1.getPsi(), node2.getPsi(), allowBackwardShift);
   }
 
-  @Nonnull
-  private static HashSet<PsiElement> createHashSet() {
-    return new HashSet<PsiElement>() {
-      private final int myhash = new Object().hashCode();
+  private void add(@Nonnull PsiElement element, boolean allowBackwardShift, @Nonnull Alignment.Anchor anchor) {
+    if (myIndex.containsKey(element)) return;
 
-      @Override
-      public int hashCode() {
-        return myhash;
-      }
-    };
+    int root = newElement(element);
+    myAllowBackwardShift[root] = allowBackwardShift;
+    myAnchor[root] = anchor;
   }
 
-  public void addPair(@Nonnull ASTNode node1, @Nonnull ASTNode node2, boolean allowBackwardShift) {
-    addPair(node1.getPsi(), node2.getPsi(), allowBackwardShift);
+  /**
+   * @return the index of a new single element group without attributes
+   */
+  private int newElement(@Nonnull PsiElement element) {
+    if (mySize == myParent.length) {
+      int capacity = mySize * 2;
+      myParent = Arrays.copyOf(myParent, capacity);
+      myRank = Arrays.copyOf(myRank, capacity);
+      myElements = Arrays.copyOf(myElements, capacity);
+      myAlignments = Arrays.copyOf(myAlignments, capacity);
+      myAllowBackwardShift = Arrays.copyOf(myAllowBackwardShift, capacity);
+      myAnchor = Arrays.copyOf(myAnchor, capacity);
+    }
+    int index = mySize++;
+    myParent[index] = index;
+    myElements[index] = element;
+    myIndex.put(element, index);
+    return index;
   }
 
-  private void add(@Nonnull PsiElement element, boolean allowBackwardShift) {
-    add(element, allowBackwardShift, Alignment.Anchor.LEFT);
+  private int find(int index) {
+    while (myParent[index] != index) {
+      // path halving
+      myParent[index] = myParent[myParent[index]];
+      index = myParent[index];
+    }
+    return index;
   }
 
-  private void add(@Nonnull PsiElement element, boolean allowBackwardShift, @Nonnull Alignment.Anchor anchor) {
-    if (myTree.get(element) != null) return;
+  private void union(int root1, int root2, int attributesFrom) {
+    int root;
+    int child;
+    if (myRank[root1] < myRank[root2]) {
+      root = root2;
+      child = root1;
+    }
+    else {
+      root = root1;
+      child = root2;
+      if (myRank[root1] == myRank[root2]) {
+        myRank[root1]++;
+      }
+    }
 
-    HashSet<PsiElement> set = createHashSet();
-    set.add(element);
-    myTree.put(element, set);
-    myAllowBackwardShift.put(set, allowBackwardShift);
-    myAnchor.put(set, anchor);
+    myParent[child] = root;
+    myAlignments[root] = myAlignments[attributesFrom];
+    myAllowBackwardShift[root] = myAllowBackwardShift[attributesFrom];
+    myAnchor[root] = myAnchor[attributesFrom];
+    myAlignments[child] = null;
+    myAllowBackwardShift[child] = null;
+    myAnchor[child] = null;
   }
 
   @Nullable
   public Alignment getAlignment(@Nonnull PsiElement e) {
-    Set<PsiElement> set = myTree.get(e);
-    if (set == null) {
+    Integer index = myIndex.get(e);
+    if (index == null) {
       return null;
     }
 
-    Alignment alignment = myAlignments.get(set);
+    int root = find(index);
+    Alignment alignment = myAlignments[root];
     if (alignment != null) return alignment;
 
-    Alignment.Anchor anchor = myAnchor.get(set);
+    Alignment.Anchor anchor = myAnchor[root];
     if (anchor == null) {
-      myAnchor.put(set, Alignment.Anchor.LEFT);
+      myAnchor[root] = Alignment.Anchor.LEFT;
       anchor = Alignment.Anchor.LEFT;
     }
-    alignment = Alignment.createAlignment(myAllowBackwardShift.get(set), anchor);
-    myAlignments.put(set, alignment);
+    alignment = Alignment.createAlignment(myAllowBackwardShift[root], anchor);
+    myAlignments[root] = alignment;
     return alignment;
   }
 
+  /**
+   * A block whose range has no aligned elements inside doesn't need its sub-blocks to be aligned with anything
+   * outside of it.
+   *
+   * @return true if some element other than {@code element} itself which starts inside {@code range} has been added
+   */
+  public boolean hasAlignedElementsInside(@Nonnull PsiElement element, @Nonnull TextRange range) {
+    if (myOffsetCount != mySize) {
+      if (myStartOffsets.length < mySize) {
+        myStartOffsets = Arrays.copyOf(myStartOffsets, myParent.length);
+      }
+      for (int i = myOffsetCount; i < mySize; i++) {
+        myStartOffsets[i] = myElements[i].getTextRange().getStartOffset();
+      }
+      myOffsetCount = mySize;
+      Arrays.sort(myStartOffsets, 0, myOffsetCount);
+    }
+
+    int inside = countStartingBefore(range.getEndOffset()) - countStartingBefore(range.getStartOffset());
+    if (inside > 0 && myIndex.containsKey(element) && range.contains(element.getTextRange().getStartOffset())) {
+      inside--;
+    }
+    return inside > 0;
+  }
+
+  private int countStartingBefore(int offset) {
+    int low = 0;
+    int high = myOffsetCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (myStartOffsets[middle] < offset) {
+        low = middle + 1;
+      }
+      else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
   @Nonnull
   public Aligner createAligner(boolean allowBackwardShift) {
     return new Aligner(allowBackwardShift, Alignment.Anchor.LEFT);
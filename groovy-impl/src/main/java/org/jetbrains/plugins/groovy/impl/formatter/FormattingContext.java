@@ -16,9 +16,12 @@
 package org.jetbrains.plugins.groovy.impl.formatter;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
+import consulo.document.util.TextRange;
 import consulo.language.codeStyle.CommonCodeStyleSettings;
 import org.jetbrains.plugins.groovy.impl.codeStyle.GroovyCodeStyleSettings;
+import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingTable;
 
 /**
  * @author Max Medvedev
@@ -27,16 +30,40 @@ public class FormattingContext {
   private final CommonCodeStyleSettings mySettings;
   private final GroovyCodeStyleSettings myGroovySettings;
   private final AlignmentProvider myAlignmentProvider;
+  private final GroovySpacingTable mySpacingTable;
+  @Nullable private final TextRange myAffectedRange;
 
   private final boolean myInsidePlainGString;
 
   public FormattingContext(@Nonnull CommonCodeStyleSettings settings,
                            @Nonnull AlignmentProvider provider,
                            @Nonnull GroovyCodeStyleSettings groovySettings, boolean insidePlainGString) {
+    this(settings, provider, groovySettings, insidePlainGString, null);
+  }
+
+  /**
+   * @param affectedRange the only part of the file the formatter changes, or null if it formats the whole file
+   */
+  public FormattingContext(@Nonnull CommonCodeStyleSettings settings,
+                           @Nonnull AlignmentProvider provider,
+                           @Nonnull GroovyCodeStyleSettings groovySettings,
+                           boolean insidePlainGString,
+                           @Nullable TextRange affectedRange) {
+    this(settings, provider, groovySettings, insidePlainGString, new GroovySpacingTable(), affectedRange);
+  }
+
+  private FormattingContext(@Nonnull CommonCodeStyleSettings settings,
+                            @Nonnull AlignmentProvider provider,
+                            @Nonnull GroovyCodeStyleSettings groovySettings,
+                            boolean insidePlainGString,
+                            @Nonnull GroovySpacingTable spacingTable,
+                            @Nullable TextRange affectedRange) {
     mySettings = settings;
     myAlignmentProvider = provider;
     myGroovySettings = groovySettings;
     myInsidePlainGString = insidePlainGString;
+    mySpacingTable = spacingTable;
+    myAffectedRange = affectedRange;
   }
 
   public CommonCodeStyleSettings getSettings() {
@@ -52,10 +79,22 @@ public class FormattingContext {
   }
 
   public FormattingContext createContext(boolean insidePlainGString) {
-    return new FormattingContext(mySettings, myAlignmentProvider, myGroovySettings, insidePlainGString);
+    return new FormattingContext(mySettings, myAlignmentProvider, myGroovySettings, insidePlainGString, mySpacingTable, myAffectedRange);
+  }
+
+  public GroovySpacingTable getSpacingTable() {
+    return mySpacingTable;
   }
 
   public boolean isInsidePlainGString() {
     return myInsidePlainGString;
   }
+
+  /**
+   * @return true if the formatter changes nothing in or next to {@code range}
+   */
+  public boolean isOutsideAffectedRange(@Nonnull TextRange range) {
+    return myAffectedRange != null &&
+           (range.getEndOffset() < myAffectedRange.getStartOffset() || range.getStartOffset() > myAffectedRange.getEndOffset());
+  }
 }
@@ -35,6 +35,7 @@ import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes;
 import org.jetbrains.plugins.groovy.lang.lexer.TokenSets;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 
 /**
@@ -42,6 +43,21 @@ import jakarta.annotation.Nonnull;
  */
 @ExtensionImpl
 public class GroovyFormattingModelBuilder implements FormattingModelBuilder {
+  /**
+   * Whether blocks outside of the formatting range are left unexpanded, see {@link GroovyBlock#getSubBlocks()}.
+   * Set {@code -Dgroovy.formatter.restrictToRange=false} to always build the blocks of the whole file
+   */
+  private static volatile boolean ourRestrictToRange =
+    Boolean.parseBoolean(System.getProperty("groovy.formatter.restrictToRange", "true"));
+
+  public static boolean isRestrictToRange() {
+    return ourRestrictToRange;
+  }
+
+  public static void setRestrictToRange(boolean restrictToRange) {
+    ourRestrictToRange = restrictToRange;
+  }
+
   @Nonnull
   @Override
   public FormattingModel createModel(@Nonnull consulo.language.codeStyle.FormattingContext context) {
@@ -73,13 +89,37 @@ public class GroovyFormattingModelBuilder implements FormattingModelBuilder {
     GroovyBlock block = new GroovyBlock(astNode,
                                               Indent.getAbsoluteNoneIndent(),
                                               null,
-                                              new FormattingContext(groovySettings, alignments, customSettings, false));
+                                              new FormattingContext(groovySettings, alignments, customSettings, false,
+                                                                    getAffectedRange(astNode, context.getFormattingRange())));
     return new GroovyFormattingModel(containingFile,
                                      block,
                                      FormattingDocumentModel.create(containingFile));
 
   }
 
+  /**
+   * @return the formatting range widened over the white space around it, or null if the whole file is formatted
+   */
+  @Nullable
+  private static TextRange getAffectedRange(@Nonnull ASTNode fileNode, @Nonnull TextRange formattingRange) {
+    if (!ourRestrictToRange || formattingRange.contains(fileNode.getTextRange())) return null;
+
+    int start = formattingRange.getStartOffset();
+    ASTNode before = start > 0 ? fileNode.findLeafElementAt(start - 1) : null;
+    while (before != null && TokenSets.WHITE_SPACES_SET.contains(before.getElementType())) {
+      start = before.getStartOffset();
+      before = TreeUtil.prevLeaf(before);
+    }
+
+    int end = formattingRange.getEndOffset();
+    ASTNode after = fileNode.findLeafElementAt(end);
+    while (after != null && TokenSets.WHITE_SPACES_SET.contains(after.getElementType())) {
+      end = after.getTextRange().getEndOffset();
+      after = TreeUtil.nextLeaf(after);
+    }
+    return new TextRange(start, end);
+  }
+
   @Nonnull
   @Override
   public Language getLanguage() {
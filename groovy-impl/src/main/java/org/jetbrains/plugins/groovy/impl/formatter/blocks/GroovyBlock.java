@@ -27,8 +27,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.jetbrains.plugins.groovy.impl.formatter.FormattingContext;
 import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovyIndentProcessor;
-import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingProcessor;
-import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingProcessorBasic;
+import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingTable;
 import org.jetbrains.plugins.groovy.lang.groovydoc.psi.api.GrDocComment;
 import org.jetbrains.plugins.groovy.lang.groovydoc.psi.api.GrDocTag;
 import org.jetbrains.plugins.groovy.lang.lexer.TokenSets;
@@ -51,6 +50,7 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrCondit
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.params.GrParameterList;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -69,6 +69,7 @@ public class GroovyBlock implements Block, GroovyElementTypes, ASTBlock {
   final protected FormattingContext myContext;
 
   protected List<Block> mySubBlocks = null;
+  private boolean myOpaque = false;
 
   public GroovyBlock(@Nonnull ASTNode node,
                      @Nonnull Indent indent,
@@ -98,6 +99,11 @@ public class GroovyBlock implements Block, GroovyElementTypes, ASTBlock {
   @RequiredReadAction
   public List<Block> getSubBlocks() {
     if (mySubBlocks == null) {
+      if (isOutsideOfAffectedRange()) {
+        myOpaque = true;
+        mySubBlocks = Collections.emptyList();
+        return mySubBlocks;
+      }
       try {
         mySubBlocks = new GroovyBlockGenerator(this).generateSubBlocks();
       }
@@ -112,6 +118,18 @@ public class GroovyBlock implements Block, GroovyElementTypes, ASTBlock {
     return  mySubBlocks;
   }
 
+  /**
+   * A block the formatter doesn't change anything in or next to is kept as an opaque leaf unless something inside it
+   * may be aligned with the affected range, or the indent on Enter may depend on its last children. Alignment groups
+   * crossing the block can only be made by the blocks containing it, which have all been built by now.
+   */
+  private boolean isOutsideOfAffectedRange() {
+    TextRange range = getTextRange();
+    return myContext.isOutsideAffectedRange(range) &&
+           !isIncomplete() &&
+           !myContext.getAlignmentProvider().hasAlignedElementsInside(myNode.getPsi(), range);
+  }
+
   @Nullable
   @Override
   public Wrap getWrap() {
@@ -149,11 +167,7 @@ public class GroovyBlock implements Block, GroovyElementTypes, ASTBlock {
         return Spacing.getReadOnlySpacing();
       }
 
-      Spacing spacing = new GroovySpacingProcessor(groovyBlock1, groovyBlock2, myContext).getSpacing();
-      if (spacing != null) {
-        return spacing;
-      }
-      return GroovySpacingProcessorBasic.getSpacing(groovyBlock1, groovyBlock2, myContext);
+      return GroovySpacingTable.getSpacing(groovyBlock1, groovyBlock2, myContext);
     }
     return null;
   }
@@ -267,7 +281,7 @@ public class GroovyBlock implements Block, GroovyElementTypes, ASTBlock {
 
   @Override
   public boolean isLeaf() {
-    return myNode.getFirstChildNode() == null;
+    return myOpaque || myNode.getFirstChildNode() == null;
   }
 
   @Override
@@ -89,6 +89,7 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	private final CommonCodeStyleSettings mySettings;
 
 	private Spacing myResult;
+	private boolean myCacheable = true;
 	private ASTNode myChild1;
 	private ASTNode myChild2;
 	private IElementType myType1;
@@ -103,10 +104,12 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 
 		if(init(node))
 		{
+			myCacheable = false;
 			return;
 		}
 		if(manageComments())
 		{
+			myCacheable = false;
 			return;
 		}
 		if(manageMethodParameterList(block2))
@@ -275,6 +278,7 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	{
 		if(isLineFeed)
 		{
+			myCacheable = false;
 			myResult = Spacing.createDependentLFSpacing(isSpace ? 1 : 0, isSpace ? 1 : 0, range,
 					mySettings.KEEP_LINE_BREAKS, keepBlankLines());
 		}
@@ -483,12 +487,23 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 
 	private boolean isSemiAfter(@Nonnull IElementType statement)
 	{
-		return myType1 == GroovyTokenTypes.mSEMI && getStatementTypeBySemi(myChild1) == statement;
+		return isSemi() && getStatementTypeBySemi(myChild1) == statement;
 	}
 
 	private boolean isSemiAfter(@Nonnull TokenSet set)
 	{
-		return myType1 == GroovyTokenTypes.mSEMI && set.contains(getStatementTypeBySemi(myChild1));
+		return isSemi() && set.contains(getStatementTypeBySemi(myChild1));
+	}
+
+	private boolean isSemi()
+	{
+		if(myType1 != GroovyTokenTypes.mSEMI)
+		{
+			return false;
+		}
+		// which statement a semicolon ends is known from the tree only
+		myCacheable = false;
+		return true;
 	}
 
 	@Nullable
@@ -523,6 +538,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	@Override
 	public void visitClosure(GrClosableBlock closure)
 	{
+		// flying geese and the closure statements
+		myCacheable = false;
 		ASTNode rBraceAtTheEnd = GeeseUtil.getClosureRBraceAtTheEnd(myChild1);
 		if(myGroovySettings.USE_FLYING_GEESE_BRACES && myType2 == GroovyTokenTypes.mRCURLY && rBraceAtTheEnd != null)
 		{
@@ -569,6 +586,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	@Override
 	public void visitOpenBlock(GrOpenBlock block)
 	{
+		// depends on the owner of the block
+		myCacheable = false;
 		boolean isMethod = block.getParent() instanceof GrMethod;
 		boolean keepInOneLine = isMethod ? mySettings.KEEP_SIMPLE_METHODS_IN_ONE_LINE : mySettings
 				.KEEP_SIMPLE_BLOCKS_IN_ONE_LINE;
@@ -672,6 +691,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 
 		if(typeDefinitionBody != null)
 		{ //check variable definitions only inside class body
+			// members depend on whether the class is an interface
+			myCacheable = false;
 			if((myType1 == GroovyElementTypes.VARIABLE_DEFINITION || isSemiAfter(GroovyElementTypes
 					.VARIABLE_DEFINITION)) && TokenSets.METHOD_DEFS.contains(myType2))
 			{
@@ -825,6 +846,11 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		}
 		else if(myType1 == left)
 		{
+			if(leftLF != null && leftLF)
+			{
+				// depends on whether the closing parenthesis is there
+				myCacheable = false;
+			}
 			ASTNode rparenth = findFrom(myChild1, right, true);
 			if(rparenth == null || leftLF == null)
 			{
@@ -840,6 +866,10 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		}
 		else if(myType2 == right)
 		{
+			if(rightLF != null && rightLF)
+			{
+				myCacheable = false;
+			}
 			ASTNode lparenth = findFrom(myChild1, left, false);
 			if(lparenth == null || rightLF == null)
 			{
@@ -907,6 +937,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	@Override
 	public void visitDocMethodParameter(GrDocMethodParameter parameter)
 	{
+		// depends on the position of the left child
+		myCacheable = false;
 		if(myChild1.getTreePrev() == null)
 		{
 			createSpaceInCode(true);
@@ -1029,6 +1061,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	@Override
 	public void visitUnaryExpression(GrUnaryExpression expression)
 	{
+		// depends on which child is the operation token
+		myCacheable = false;
 		if(!expression.isPostfix() && expression.getOperationToken() == myChild1 || expression.isPostfix() &&
 				expression.getOperationToken() == myChild2)
 		{
@@ -1084,6 +1118,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 				myType2 == GroovyDocElementTypes.GDOC_TAG &&
 				mySettings.getRootSettings().JD_LEADING_ASTERISKS_ARE_ENABLED)
 		{
+			// depends on the end of the left tag
+			myCacheable = false;
 			IElementType type = myChild1.getLastChildNode().getElementType();
 			if(type == GroovyDocTokenTypes.mGDOC_ASTERISKS)
 			{
@@ -1199,6 +1235,8 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		}
 		else if(myType2 == GroovyElementTypes.BLOCK_STATEMENT || isOpenBlock(myType2))
 		{
+			// depends on which branch the right child is
+			myCacheable = false;
 			boolean space = myChild2.getPsi() == ((GrIfStatement) myParent).getElseBranch() ? mySettings
 					.SPACE_BEFORE_ELSE_LBRACE : mySettings.SPACE_BEFORE_IF_LBRACE;
 			createSpaceBeforeLBrace(space, mySettings.BRACE_STYLE, new TextRange(myParent.getTextRange()
@@ -1213,9 +1251,13 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		{
 			createSpaceInCode(mySettings.SPACE_WITHIN_IF_PARENTHESES);
 		}
-		else if(((GrIfStatement) myParent).getThenBranch() == myChild2.getPsi())
+		else
 		{
-			createSpacingBeforeElementInsideControlStatement();
+			myCacheable = false;
+			if(((GrIfStatement) myParent).getThenBranch() == myChild2.getPsi())
+			{
+				createSpacingBeforeElementInsideControlStatement();
+			}
 		}
 	}
 
@@ -1281,6 +1323,7 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		{
 			if(mySettings.KEEP_SIMPLE_BLOCKS_IN_ONE_LINE)
 			{
+				myCacheable = false;
 				myResult = Spacing.createDependentLFSpacing(0, 1, myParent.getTextRange(),
 						mySettings.KEEP_LINE_BREAKS, keepBlankLines());
 			}
@@ -1313,6 +1356,16 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		return myResult;
 	}
 
+	/**
+	 * @return whether the result depends on nothing but the settings, the element types of the two children and of
+	 * their parent and the classes of their PSI, so that {@link GroovySpacingTable} may reuse it for other pairs of
+	 * the same types
+	 */
+	public boolean isCacheable()
+	{
+		return myCacheable;
+	}
+
 	private void createSpaceInCode(boolean space)
 	{
 		createSpaceProperty(space, mySettings.KEEP_LINE_BREAKS, keepBlankLines());
@@ -1330,6 +1383,7 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 	{
 		if(dependantRange != null && braceStyle == CommonCodeStyleSettings.NEXT_LINE_IF_WRAPPED)
 		{
+			myCacheable = false;
 			int space = spaceBeforeLbrace ? 1 : 0;
 			myResult = createNonLFSpace(space, dependantRange, false);
 		}
@@ -1341,6 +1395,7 @@ public class GroovySpacingProcessor extends GroovyElementVisitor
 		}
 		else if(keepOneLine)
 		{
+			myCacheable = false;
 			int space = spaceBeforeLbrace ? 1 : 0;
 			myResult = Spacing.createDependentLFSpacing(space, space, myParent.getTextRange(),
 					mySettings.KEEP_LINE_BREAKS, keepBlankLines());
@@ -17,12 +17,14 @@
 package org.jetbrains.plugins.groovy.impl.formatter.processors;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
 import consulo.language.ast.ASTNode;
 import consulo.language.ast.IElementType;
 import consulo.language.codeStyle.Spacing;
 import consulo.language.psi.PsiElement;
 import consulo.util.lang.StringUtil;
+import consulo.util.lang.ref.SimpleReference;
 import org.jetbrains.plugins.groovy.impl.codeStyle.GroovyCodeStyleSettings;
 import org.jetbrains.plugins.groovy.impl.formatter.FormattingContext;
 import org.jetbrains.plugins.groovy.impl.formatter.blocks.ClosureBodyBlock;
@@ -62,6 +64,19 @@ public abstract class GroovySpacingProcessorBasic
 	private static final Spacing LAZY_SPACING = Spacing.createSpacing(0, 239, 0, true, 100);
 
 	public static Spacing getSpacing(GroovyBlock child1, GroovyBlock child2, FormattingContext context)
+	{
+		return getSpacing(child1, child2, context, null);
+	}
+
+	/**
+	 * @param cacheable set to false if the result depends on more than the settings, the element types of the two
+	 *                  children and of their parent and the classes of their PSI, see
+	 *                  {@link GroovySpacingProcessor#isCacheable()}
+	 */
+	static Spacing getSpacing(GroovyBlock child1,
+			GroovyBlock child2,
+			FormattingContext context,
+			@Nullable SimpleReference<Boolean> cacheable)
 	{
 
 		ASTNode leftNode = child1.getNode();
@@ -77,16 +92,19 @@ public abstract class GroovySpacingProcessorBasic
 
 		if(!(mirrorsAst(child1) && mirrorsAst(child2)))
 		{
+			notCacheable(cacheable);
 			return NO_SPACING;
 		}
 
 		if(child2 instanceof ClosureBodyBlock)
 		{
+			notCacheable(cacheable);
 			return settings.SPACE_WITHIN_BRACES ? COMMON_SPACING : NO_SPACING_WITH_NEWLINE;
 		}
 
 		if(child1 instanceof ClosureBodyBlock)
 		{
+			notCacheable(cacheable);
 			return createDependentSpacingForClosure(settings, groovySettings, (GrClosableBlock) left.getParent(),
 					false);
 		}
@@ -131,10 +149,15 @@ public abstract class GroovySpacingProcessorBasic
 		}
 
 		//todo:check it for multiple assignments
-		if((GroovyElementTypes.VARIABLE_DEFINITION.equals(leftType) || GroovyElementTypes.VARIABLE_DEFINITION.equals
-				(rightType)) && !(leftNode.getTreeNext() instanceof PsiErrorElement))
+		if(GroovyElementTypes.VARIABLE_DEFINITION.equals(leftType) || GroovyElementTypes.VARIABLE_DEFINITION.equals
+				(rightType))
 		{
-			return Spacing.createSpacing(0, 0, 1, false, 100);
+			// depends on an error element following the definition
+			notCacheable(cacheable);
+			if(!(leftNode.getTreeNext() instanceof PsiErrorElement))
+			{
+				return Spacing.createSpacing(0, 0, 1, false, 100);
+			}
 		}
 
 		// For regexes
@@ -167,6 +190,7 @@ public abstract class GroovySpacingProcessorBasic
 
 		if(GroovyDocTokenTypes.mGDOC_ASTERISKS == leftType && GroovyDocTokenTypes.mGDOC_COMMENT_DATA == rightType)
 		{
+			notCacheable(cacheable);
 			String text = rightNode.getText();
 			if(!text.isEmpty() && !StringUtil.startsWithChar(text, ' '))
 			{
@@ -215,6 +239,8 @@ public abstract class GroovySpacingProcessorBasic
 		{
 			if(right.getParent() instanceof GrCodeReferenceElement)
 			{
+				// depends on the expression the reference belongs to
+				notCacheable(cacheable);
 				PsiElement p = right.getParent().getParent();
 				if(p instanceof GrNewExpression || p instanceof GrAnonymousClassDefinition)
 				{
@@ -226,6 +252,14 @@ public abstract class GroovySpacingProcessorBasic
 		return COMMON_SPACING;
 	}
 
+	private static void notCacheable(@Nullable SimpleReference<Boolean> cacheable)
+	{
+		if(cacheable != null)
+		{
+			cacheable.set(false);
+		}
+	}
+
 	@Nonnull
 	static Spacing createDependentSpacingForClosure(@Nonnull CommonCodeStyleSettings settings,
 			@Nonnull GroovyCodeStyleSettings groovySettings,
@@ -250,7 +284,7 @@ public abstract class GroovySpacingProcessorBasic
 		return spaceWithinBraces || forArrow ? COMMON_SPACING : NO_SPACING_WITH_NEWLINE;
 	}
 
-	private static boolean mirrorsAst(GroovyBlock block)
+	static boolean mirrorsAst(GroovyBlock block)
 	{
 		return block.getNode().getTextRange().equals(block.getTextRange()) ||
 				block instanceof MethodCallWithoutQualifierBlock ||
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.formatter.processors;
+
+import consulo.language.ast.ASTNode;
+import consulo.language.codeStyle.FormatterUtil;
+import consulo.language.codeStyle.Spacing;
+import consulo.logging.Logger;
+import consulo.util.collection.primitive.ints.IntMaps;
+import consulo.util.collection.primitive.ints.IntObjectMap;
+import consulo.util.lang.ref.SimpleReference;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.plugins.groovy.impl.formatter.FormattingContext;
+import org.jetbrains.plugins.groovy.impl.formatter.blocks.ClosureBodyBlock;
+import org.jetbrains.plugins.groovy.impl.formatter.blocks.GroovyBlock;
+import org.jetbrains.plugins.groovy.impl.formatter.blocks.ParameterListBlock;
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes;
+import org.jetbrains.plugins.groovy.lang.lexer.TokenSets;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import static org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingProcessorBasic.mirrorsAst;
+
+/**
+ * Decision table over {@link GroovySpacingProcessor} and {@link GroovySpacingProcessorBasic}. Most of their
+ * decisions depend on the settings and on the element types of the parent and of the two children only, so the
+ * processors run for the first pair of blocks of each (parent, left, right) type triple and their decision is looked
+ * up for the following pairs, instead of running the visitor for every pair of adjacent blocks. Decisions which
+ * depend on anything else (text ranges of the neighbours, the text of a doc comment, whether a class is an
+ * interface, ...) are marked as not cacheable by the processors, and such triples always go to the processors.
+ * <p>
+ * The table lives as long as its {@link FormattingContext}, i.e. for one formatting model with one set of settings.
+ * Set {@code -Dgroovy.formatter.spacing=visitor} to bypass it, or {@code =verify} to compute both and report every
+ * table decision which differs from the processors.
+ *
+ * @since 2026-10-19
+ */
+public class GroovySpacingTable
+{
+	private static final Logger LOG = Logger.getInstance(GroovySpacingTable.class);
+
+	public enum Mode
+	{
+		TABLE, VISITOR, VERIFY
+	}
+
+	private static volatile Mode ourMode = Mode.valueOf(System.getProperty("groovy.formatter.spacing",
+			Mode.TABLE.name()).toUpperCase(Locale.ROOT));
+
+	private static final Entry CONTEXT_DEPENDENT = new Entry(null, false);
+
+	// parent type index -> (left type index << 16 | right type index) -> entry
+	private final IntObjectMap<IntObjectMap<Entry>> myEntries = IntMaps.newIntObjectHashMap();
+
+	@Nonnull
+	public static Mode getMode()
+	{
+		return ourMode;
+	}
+
+	public static void setMode(@Nonnull Mode mode)
+	{
+		ourMode = mode;
+	}
+
+	@Nullable
+	public static Spacing getSpacing(GroovyBlock block1, GroovyBlock block2, FormattingContext context)
+	{
+		Mode mode = ourMode;
+		if(mode == Mode.VISITOR || !isCovered(block1, block2))
+		{
+			return computeSpacing(block1, block2, context);
+		}
+
+		GroovySpacingTable table = context.getSpacingTable();
+		ASTNode node1 = block1.getNode();
+		ASTNode node2 = block2.getNode();
+		IntObjectMap<Entry> entries = table.getEntries(node2.getTreeParent());
+		int key = (node1.getElementType().getIndex() & 0xFFFF) << 16 | node2.getElementType().getIndex() & 0xFFFF;
+		Entry entry = entries.get(key);
+		if(entry == null)
+		{
+			return createEntry(block1, block2, context, entries, key);
+		}
+
+		if(entry.mySpacing == null || entry.myBasic && !isBasicCovered(block1, block2))
+		{
+			return computeSpacing(block1, block2, context);
+		}
+
+		if(mode == Mode.VERIFY)
+		{
+			Spacing expected = computeSpacing(block1, block2, context);
+			if(!Objects.equals(entry.mySpacing, expected))
+			{
+				LOG.error("Spacing table differs from the spacing processor for " + node1.getElementType() + " and " +
+						node2.getElementType() + " in " + node2.getTreeParent().getElementType() + ": " + entry.mySpacing +
+						" instead of " + expected);
+			}
+			return expected;
+		}
+		return entry.mySpacing;
+	}
+
+	@Nullable
+	public static Spacing computeSpacing(GroovyBlock block1, GroovyBlock block2, FormattingContext context)
+	{
+		Spacing spacing = new GroovySpacingProcessor(block1, block2, context).getSpacing();
+		if(spacing != null)
+		{
+			return spacing;
+		}
+		return GroovySpacingProcessorBasic.getSpacing(block1, block2, context);
+	}
+
+	/**
+	 * Runs the processors for the first pair of a type triple and records their decision if they made it from the
+	 * types only
+	 */
+	@Nullable
+	private static Spacing createEntry(GroovyBlock block1,
+			GroovyBlock block2,
+			FormattingContext context,
+			IntObjectMap<Entry> entries,
+			int key)
+	{
+		GroovySpacingProcessor processor = new GroovySpacingProcessor(block1, block2, context);
+		Spacing spacing = processor.getSpacing();
+		if(spacing != null)
+		{
+			entries.put(key, processor.isCacheable() ? new Entry(spacing, false) : CONTEXT_DEPENDENT);
+			return spacing;
+		}
+
+		if(!processor.isCacheable() || !isBasicCovered(block1, block2))
+		{
+			entries.put(key, CONTEXT_DEPENDENT);
+			return GroovySpacingProcessorBasic.getSpacing(block1, block2, context);
+		}
+
+		SimpleReference<Boolean> cacheable = SimpleReference.create(true);
+		spacing = GroovySpacingProcessorBasic.getSpacing(block1, block2, context, cacheable);
+		entries.put(key, cacheable.get() && spacing != null ? new Entry(spacing, true) : CONTEXT_DEPENDENT);
+		return spacing;
+	}
+
+	/**
+	 * Pairs the processors look at more than the pair itself for before the visitor runs: parameter lists, comments,
+	 * anything after a line comment, and children which aren't siblings in the tree
+	 */
+	private static boolean isCovered(GroovyBlock block1, GroovyBlock block2)
+	{
+		if(block2 instanceof ParameterListBlock)
+		{
+			return false;
+		}
+
+		ASTNode node1 = block1.getNode();
+		ASTNode node2 = block2.getNode();
+		return !TokenSets.COMMENT_SET.contains(node2.getElementType()) && getPrevNonWhiteSpaceSibling(node2) == node1 &&
+				!isAfterLineComment(node2);
+	}
+
+	/**
+	 * {@link GroovySpacingProcessorBasic} decides by the types only for blocks which mirror the AST
+	 */
+	private static boolean isBasicCovered(GroovyBlock block1, GroovyBlock block2)
+	{
+		return mirrorsAst(block1) && mirrorsAst(block2) && !(block1 instanceof ClosureBodyBlock) &&
+				!(block2 instanceof ClosureBodyBlock);
+	}
+
+	@Nullable
+	private static ASTNode getPrevNonWhiteSpaceSibling(ASTNode node)
+	{
+		ASTNode prev = node.getTreePrev();
+		while(prev != null && GroovySpacingProcessor.isWhiteSpace(prev))
+		{
+			prev = prev.getTreePrev();
+		}
+		return prev;
+	}
+
+	private static boolean isAfterLineComment(ASTNode node)
+	{
+		ASTNode prev = FormatterUtil.getPreviousNonWhitespaceLeaf(node);
+		if(prev != null && prev.getElementType() == GroovyTokenTypes.mNLS)
+		{
+			prev = FormatterUtil.getPreviousNonWhitespaceLeaf(prev);
+		}
+		return prev != null && prev.getElementType() == GroovyTokenTypes.mSL_COMMENT;
+	}
+
+	@Nonnull
+	private IntObjectMap<Entry> getEntries(ASTNode parent)
+	{
+		int parentIndex = parent.getElementType().getIndex();
+		IntObjectMap<Entry> entries = myEntries.get(parentIndex);
+		if(entries == null)
+		{
+			entries = IntMaps.newIntObjectHashMap();
+			myEntries.put(parentIndex, entries);
+		}
+		return entries;
+	}
+
+	private static final class Entry
+	{
+		@Nullable
+		private final Spacing mySpacing;
+		private final boolean myBasic;
+
+		private Entry(@Nullable Spacing spacing, boolean basic)
+		{
+			mySpacing = spacing;
+			myBasic = basic;
+		}
+	}
+}
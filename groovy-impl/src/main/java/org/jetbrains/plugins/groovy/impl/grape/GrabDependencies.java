@@ -139,13 +139,29 @@ public class GrabDependencies implements IntentionAction {
             return;
         }
 
-        Map<String, String> queries = prepareQueries(file);
+        final Map<String, String> queries = prepareQueries(file);
 
         Sdk sdk = ModuleUtilCore.getSdk(module, JavaModuleExtension.class);
         assert sdk != null;
 
-        final Map<String, GeneralCommandLine> lines = new HashMap<>();
-        for (String grabText : queries.keySet()) {
+        // the grabs the intention was invoked on are resolved again, the other ones of the file may come from the cache
+        Set<String> invokedOn = getGrabsAtCaret(editor, file);
+        final GrapeResolutionCache cache = GrapeResolutionCache.getInstance(project);
+        final Map<String, List<File>> cached = new LinkedHashMap<>();
+        final List<String> toResolve = new ArrayList<>();
+        for (Map.Entry<String, String> entry : queries.entrySet()) {
+            List<File> jars = invokedOn.contains(entry.getKey()) ? null : cache.getJars(entry.getValue());
+            if (jars != null) {
+                cached.put(entry.getKey(), jars);
+            }
+            else {
+                toResolve.add(entry.getKey());
+            }
+        }
+
+        // all the grabs not resolved before go to one GrapeRunner process
+        GeneralCommandLine commandLine = null;
+        if (!toResolve.isEmpty()) {
             OwnJavaParameters javaParameters = GroovyScriptRunConfiguration.createJavaParametersWithSdk(module);
             //debug
             //javaParameters.getVMParametersList().add("-Xdebug"); javaParameters.getVMParametersList().add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=5239");
@@ -183,38 +199,73 @@ public class GrabDependencies implements IntentionAction {
 
             javaParameters.getProgramParametersList().add("--classpath");
             javaParameters.getProgramParametersList().add(list.getPathsString());
-            javaParameters.getProgramParametersList().add(queries.get(grabText));
+            for (String grabText : toResolve) {
+                javaParameters.getProgramParametersList().add(queries.get(grabText));
+            }
 
             javaParameters.setJdk(sdk);
             try {
-                lines.put(grabText, OwnJdkUtil.setupJVMCommandLine(javaParameters));
+                commandLine = OwnJdkUtil.setupJVMCommandLine(javaParameters);
             }
             catch (CantRunException e) {
                 throw new IncorrectOperationException(e);
             }
         }
 
+        final GeneralCommandLine finalCommandLine = commandLine;
         ProgressManager.getInstance().run(new Task.Backgroundable(project, "Processing @Grab annotations") {
             @Override
             public void run(@Nonnull ProgressIndicator indicator) {
-                int jarCount = 0;
-                String messages = "";
+                Map<String, List<File>> grabbed = new LinkedHashMap<>(cached);
+                Map<String, String> grabMessages = new HashMap<>();
 
-                for (Map.Entry<String, GeneralCommandLine> entry : lines.entrySet()) {
-                    String grabText = entry.getKey();
-                    indicator.setText2(grabText);
+                if (finalCommandLine != null) {
+                    indicator.setText2(StringUtil.join(toResolve, ", "));
                     try {
-                        GrapeProcessHandler handler = new GrapeProcessHandler(entry.getValue(), module);
+                        GrapeProcessHandler handler = new GrapeProcessHandler(finalCommandLine);
                         handler.startNotify();
                         handler.waitFor();
-                        jarCount += handler.jarCount;
-                        messages += "<b>" + grabText + "</b>: " + handler.messages + "<p>";
+
+                        List<GrapeOutput> outputs = parseOutput(handler.getStdOut(), toResolve.size());
+                        for (int i = 0; i < toResolve.size(); i++) {
+                            String grabText = toResolve.get(i);
+                            GrapeOutput output = outputs.get(i);
+                            cache.putJars(queries.get(grabText), output.jars);
+                            grabbed.put(grabText, output.jars);
+                            if (output.jars.isEmpty()) {
+                                grabMessages.put(
+                                    grabText,
+                                    "<br>" + output.messages.toString().replaceAll("\n", "<br>") +
+                                        "<p>" + handler.getStdErr().replaceAll("\n", "<br>")
+                                );
+                            }
+                        }
                     }
                     catch (ExecutionException e) {
                         LOG.error(e);
                     }
                 }
 
+                int jarCount = 0;
+                String messages = "";
+                Set<VirtualFile> jars = new LinkedHashSet<>();
+                for (String grabText : queries.keySet()) {
+                    List<File> files = grabbed.get(grabText);
+                    if (files == null) {
+                        continue;
+                    }
+                    for (File file : files) {
+                        ContainerUtil.addIfNotNull(jars, LocalFileSystem.getInstance().refreshAndFindFileByIoFile(file));
+                    }
+                    jarCount += files.size();
+                    messages += "<b>" + grabText + "</b>: " + files.size() + " jar" + (files.size() == 1 ? "" : "s") +
+                        StringUtil.notNullize(grabMessages.get(grabText)) + "<p>";
+                }
+
+                if (!jars.isEmpty()) {
+                    WriteAction.run(() -> addGrapeDependencies(module, jars));
+                }
+
                 NotificationService.getInstance()
                     .newInfo(NOTIFICATION_GROUP)
                     .title(LocalizeValue.localizeTODO(jarCount + " Grape dependency jar" + (jarCount == 1 ? "" : "s") + " added"))
@@ -225,6 +276,64 @@ public class GrabDependencies implements IntentionAction {
         });
     }
 
+    /**
+     * Splits the output of {@link GrapeRunner} by query.
+     *
+     * @return the jars and messages of each of {@code queryCount} queries, in the order they were passed
+     */
+    static List<GrapeOutput> parseOutput(String stdout, int queryCount) {
+        List<GrapeOutput> result = new ArrayList<>(queryCount);
+        for (int i = 0; i < queryCount; i++) {
+            result.add(new GrapeOutput());
+        }
+
+        GrapeOutput current = null;
+        for (String line : StringUtil.convertLineSeparators(stdout).split("\n")) {
+            if (line.startsWith(GrapeRunner.QUERY_PREFIX)) {
+                int index = StringUtil.parseInt(line.substring(GrapeRunner.QUERY_PREFIX.length()), -1);
+                current = index >= 0 && index < queryCount ? result.get(index) : null;
+            }
+            else if (current != null && line.startsWith(GrapeRunner.URL_PREFIX)) {
+                try {
+                    URL url = new URL(line.substring(GrapeRunner.URL_PREFIX.length()));
+                    File libFile = new File(url.toURI());
+                    if (libFile.exists() && libFile.getName().endsWith(".jar")) {
+                        current.jars.add(libFile);
+                    }
+                }
+                catch (MalformedURLException | URISyntaxException e) {
+                    LOG.error(e);
+                }
+            }
+            else if (current != null) {
+                current.messages.append(line).append("\n");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return texts of the @Grab annotation at the caret, or of the ones in the @Grapes annotation at the caret
+     */
+    @RequiredReadAction
+    private static Set<String> getGrabsAtCaret(Editor editor, PsiFile file) {
+        GrAnnotation anno =
+            PsiTreeUtil.findElementOfClassAtOffset(file, editor.getCaretModel().getOffset(), GrAnnotation.class, false);
+        Set<String> result = new HashSet<>();
+        if (anno == null) {
+            return result;
+        }
+        if (GrabAnnos.GRAB_ANNO.equals(anno.getQualifiedName())) {
+            result.add(anno.getText());
+        }
+        for (GrAnnotation nested : PsiTreeUtil.findChildrenOfType(anno, GrAnnotation.class)) {
+            if (GrabAnnos.GRAB_ANNO.equals(nested.getQualifiedName())) {
+                result.add(nested.getText());
+            }
+        }
+        return result;
+    }
+
     static Map<String, String> prepareQueries(PsiFile file) {
         final Set<GrAnnotation> grabs = new LinkedHashSet<>();
         final Set<GrAnnotation> excludes = new HashSet<>();
@@ -263,17 +372,53 @@ public class GrabDependencies implements IntentionAction {
         return false;
     }
 
+    static class GrapeOutput {
+        final List<File> jars = new ArrayList<>();
+        final StringBuilder messages = new StringBuilder();
+    }
+
+    @RequiredWriteAction
+    private static void addGrapeDependencies(Module module, Collection<VirtualFile> jars) {
+        ModifiableRootModel model = ModuleRootManager.getInstance(module).getModifiableModel();
+        LibraryTable.ModifiableModel tableModel = model.getModuleLibraryTable().getModifiableModel();
+        for (VirtualFile jar : jars) {
+            VirtualFile jarRoot = ArchiveVfsUtil.getJarRootForLocalFile(jar);
+            if (jarRoot != null) {
+                String rootType = BinariesOrderRootType.ID;
+                String libName = "Grab:" + jar.getName();
+                for (String classifier : List.of("sources", "source", "src")) {
+                    if (libName.endsWith("-" + classifier + ".jar")) {
+                        rootType = SourcesOrderRootType.ID;
+                        libName = StringUtil.trimEnd(libName, "-" + classifier + ".jar") + ".jar";
+                    }
+                }
+
+                Library library = tableModel.getLibraryByName(libName);
+                if (library == null) {
+                    library = tableModel.createLibrary(libName);
+                }
+
+                Library.ModifiableModel libModel = library.getModifiableModel();
+                for (String url : libModel.getUrls(rootType)) {
+                    libModel.removeRoot(url, rootType);
+                }
+                libModel.addRoot(jarRoot, rootType);
+                libModel.commit();
+            }
+        }
+        tableModel.commit();
+        model.commit();
+    }
+
     private static class GrapeProcessHandler implements ProcessListener {
         private final StringBuilder myStdOut = new StringBuilder();
         private final StringBuilder myStdErr = new StringBuilder();
-        private final Module myModule;
 
         private final ProcessHandler myProcessHandler;
 
-        public GrapeProcessHandler(GeneralCommandLine commandLine, Module module) throws ExecutionException {
+        public GrapeProcessHandler(GeneralCommandLine commandLine) throws ExecutionException {
             myProcessHandler = ProcessHandlerFactory.getInstance().createProcessHandler(commandLine);
             myProcessHandler.addProcessListener(this);
-            myModule = module;
         }
 
         public void startNotify() {
@@ -284,6 +429,14 @@ public class GrabDependencies implements IntentionAction {
             myProcessHandler.waitFor();
         }
 
+        public String getStdOut() {
+            return myStdOut.toString();
+        }
+
+        public String getStdErr() {
+            return myStdErr.toString();
+        }
+
         @Override
         public void onTextAvailable(ProcessEvent event, Key outputType) {
             String text = event.getText();
@@ -298,75 +451,5 @@ public class GrabDependencies implements IntentionAction {
                 myStdErr.append(text);
             }
         }
-
-        @RequiredWriteAction
-        private void addGrapeDependencies(List<VirtualFile> jars) {
-            ModifiableRootModel model = ModuleRootManager.getInstance(myModule).getModifiableModel();
-            LibraryTable.ModifiableModel tableModel = model.getModuleLibraryTable().getModifiableModel();
-            for (VirtualFile jar : jars) {
-                VirtualFile jarRoot = ArchiveVfsUtil.getJarRootForLocalFile(jar);
-                if (jarRoot != null) {
-                    String rootType = BinariesOrderRootType.ID;
-                    String libName = "Grab:" + jar.getName();
-                    for (String classifier : List.of("sources", "source", "src")) {
-                        if (libName.endsWith("-" + classifier + ".jar")) {
-                            rootType = SourcesOrderRootType.ID;
-                            libName = StringUtil.trimEnd(libName, "-" + classifier + ".jar") + ".jar";
-                        }
-                    }
-
-                    Library library = tableModel.getLibraryByName(libName);
-                    if (library == null) {
-                        library = tableModel.createLibrary(libName);
-                    }
-
-                    Library.ModifiableModel libModel = library.getModifiableModel();
-                    for (String url : libModel.getUrls(rootType)) {
-                        libModel.removeRoot(url, rootType);
-                    }
-                    libModel.addRoot(jarRoot, rootType);
-                    libModel.commit();
-                }
-            }
-            tableModel.commit();
-            model.commit();
-        }
-
-        int jarCount;
-        String messages = "";
-
-        @Override
-        @RequiredUIAccess
-        public void processTerminated(ProcessEvent event) {
-            List<VirtualFile> jars = new ArrayList<>();
-            for (String line : myStdOut.toString().split("\n")) {
-                if (line.startsWith(GrapeRunner.URL_PREFIX)) {
-                    try {
-                        URL url = new URL(line.substring(GrapeRunner.URL_PREFIX.length()));
-                        File libFile = new File(url.toURI());
-                        if (libFile.exists() && libFile.getName().endsWith(".jar")) {
-                            ContainerUtil.addIfNotNull(jars, LocalFileSystem.getInstance().refreshAndFindFileByIoFile(libFile));
-                        }
-                    }
-                    catch (MalformedURLException | URISyntaxException e) {
-                        LOG.error(e);
-                    }
-                }
-            }
-            WriteAction.run(() -> {
-                jarCount = jars.size();
-                messages = jarCount + " jar";
-                if (jarCount != 1) {
-                    messages += "s";
-                }
-                if (jarCount == 0) {
-                    messages +=
-                        "<br>" + myStdOut.toString().replaceAll("\n", "<br>") + "<p>" + myStdErr.toString().replaceAll("\n", "<br>");
-                }
-                if (!jars.isEmpty()) {
-                    addGrapeDependencies(jars);
-                }
-            });
-        }
     }
 }
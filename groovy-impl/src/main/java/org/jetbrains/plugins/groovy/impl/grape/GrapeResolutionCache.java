@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.impl.grape;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.project.Project;
+import consulo.util.collection.ContainerUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Jars @Grab queries were resolved to in this project, so that {@link GrabDependencies} doesn't run Grape again for
+ * grabs which haven't changed. Queries are compared normalized, see {@link #normalize(String)}. An entry is dropped once
+ * any of its jars is gone, e.g. after the Grape cache was cleaned. Failed resolutions and queries which may resolve to
+ * other jars later, see {@link #isFixed(String)}, are not cached.
+ *
+ * @since 2026-10-19
+ */
+@Singleton
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+public class GrapeResolutionCache {
+  private static final Pattern SPACES = Pattern.compile("\\s+");
+  private static final Pattern SPACES_AROUND_PUNCTUATION = Pattern.compile(" ?([(),=:\\[\\]]) ?");
+  private static final Pattern VERSION_ATTRIBUTE = Pattern.compile("version='([^']*)'");
+  private static final Pattern SHORTHAND_VERSION = Pattern.compile("'[^':]*:[^':]*:([^';@]*)");
+
+  private final Map<String, List<File>> myJars = ContainerUtil.newConcurrentMap();
+
+  public static GrapeResolutionCache getInstance(Project project) {
+    return project.getInstance(GrapeResolutionCache.class);
+  }
+
+  /**
+   * @return jars of a previous resolution of {@code query}, null if it wasn't resolved or some of the jars are gone
+   */
+  @Nullable
+  public List<File> getJars(@Nonnull String query) {
+    String key = normalize(query);
+    if (!isFixed(key)) {
+      return null;
+    }
+    List<File> jars = myJars.get(key);
+    if (jars == null) {
+      return null;
+    }
+    for (File jar : jars) {
+      if (!jar.isFile()) {
+        myJars.remove(key);
+        return null;
+      }
+    }
+    return jars;
+  }
+
+  public void putJars(@Nonnull String query, @Nonnull List<File> jars) {
+    String key = normalize(query);
+    if (!jars.isEmpty() && isFixed(key)) {
+      myJars.put(key, List.copyOf(jars));
+    }
+  }
+
+  /**
+   * A query isn't fixed if Ivy may resolve it to other jars later: its module is {@code changing=true}, or its version
+   * is dynamic, e.g. {@code latest.release}, {@code 1.+} or a range like {@code [1.0,2.0)}.
+   */
+  static boolean isFixed(@Nonnull String normalizedQuery) {
+    if (normalizedQuery.contains("changing=true")) {
+      return false;
+    }
+    return isFixedVersion(VERSION_ATTRIBUTE.matcher(normalizedQuery)) && isFixedVersion(SHORTHAND_VERSION.matcher(normalizedQuery));
+  }
+
+  private static boolean isFixedVersion(@Nonnull Matcher matcher) {
+    while (matcher.find()) {
+      String version = matcher.group(1);
+      if (version.startsWith("latest.") || version.endsWith("+") || version.startsWith("[") || version.startsWith("]") ||
+          version.startsWith("(")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whitespace and the kind of quotes don't matter: {@code @Grab(group = "g", module = "m")} and
+   * {@code @Grab(group='g',module='m')} are the same query.
+   */
+  @Nonnull
+  static String normalize(@Nonnull String query) {
+    String result = SPACES.matcher(query.trim()).replaceAll(" ");
+    result = SPACES_AROUND_PUNCTUATION.matcher(result).replaceAll("$1");
+    return result.replace('"', '\'');
+  }
+}
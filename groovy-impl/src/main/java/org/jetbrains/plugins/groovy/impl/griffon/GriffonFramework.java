@@ -32,6 +32,7 @@ import consulo.language.psi.PsiManager;
 import consulo.language.util.ModuleUtilCore;
 import consulo.module.Module;
 import consulo.module.content.ModuleRootManager;
+import consulo.module.content.layer.ModifiableRootModel;
 import consulo.process.ExecutionException;
 import consulo.process.cmd.GeneralCommandLine;
 import consulo.process.cmd.ParametersList;
@@ -56,9 +57,11 @@ import org.jetbrains.plugins.groovy.impl.mvc.*;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -137,6 +140,40 @@ public class GriffonFramework extends MvcFramework {
         ChangeListManager.getInstance(project).addFilesToIgnore(IgnoredBeanFactory.ignoreUnderDirectory(getUserHomeGriffon(), project));
     }
 
+    @Nullable
+    @Override
+    @RequiredReadAction
+    public Runnable computeProjectStructureUpdate(@Nonnull Module module) {
+        if (!MvcModuleStructureUtil.isEnabledStructureUpdate()) {
+            return null;
+        }
+
+        VirtualFile root = findAppRoot(module);
+        if (root == null) {
+            return null;
+        }
+
+        List<Consumer<ModifiableRootModel>> actions = MvcModuleStructureUtil.computeUpdateProjectStructureActions(
+            Collections.singletonList(root),
+            createProjectStructure(module, false)
+        );
+        boolean hasSupport = hasSupport(module);
+
+        return () -> {
+            WriteAction.run(() -> {
+                MvcModuleStructureUtil.applyRootModelActions(module, actions);
+
+                if (hasSupport) {
+                    MvcModuleStructureUtil.updateAuxiliaryPluginsModuleRoots(module, this);
+                    MvcModuleStructureUtil.updateGlobalPluginModule(module.getProject(), this);
+                }
+            });
+
+            Project project = module.getProject();
+            ChangeListManager.getInstance(project).addFilesToIgnore(IgnoredBeanFactory.ignoreUnderDirectory(getUserHomeGriffon(), project));
+        };
+    }
+
     @Override
     public void ensureRunConfigurationExists(@Nonnull Module module) {
         VirtualFile root = findAppRoot(module);
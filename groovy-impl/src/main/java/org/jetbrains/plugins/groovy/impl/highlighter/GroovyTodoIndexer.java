@@ -23,7 +23,6 @@ import consulo.virtualFileSystem.fileType.FileType;
 import jakarta.annotation.Nonnull;
 import org.jetbrains.plugins.groovy.GroovyFileType;
 import org.jetbrains.plugins.groovy.lang.lexer.GroovyFilterLexer;
-import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer;
 
 /**
  * @author Maxim.Medvedev
@@ -32,7 +31,7 @@ import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer;
 public class GroovyTodoIndexer extends LexerBasedTodoIndexer {
   @Override
   public Lexer createLexer(OccurrenceConsumer consumer) {
-    return new GroovyFilterLexer(new GroovyLexer(), consumer);
+    return GroovyFilterLexer.createIndexingLexer(consumer);
   }
 
   @Nonnull
@@ -19,6 +19,7 @@ import com.intellij.java.language.impl.psi.impl.light.LightMethodBuilder;
 import com.intellij.java.language.psi.PsiMethod;
 import com.intellij.java.language.psi.PsiModifier;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.util.lang.StringUtil;
 import jakarta.annotation.Nonnull;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
 import org.jetbrains.plugins.groovy.lang.psi.impl.PsiImplUtil;
@@ -26,12 +27,22 @@ import org.jetbrains.plugins.groovy.lang.psi.util.GroovyCommonClassNames;
 import org.jetbrains.plugins.groovy.lang.resolve.ast.AstTransformContributor;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * @author Max Medvedev
  */
 @ExtensionImpl
 public class AutoCloneContributor extends AstTransformContributor {
+  private static final Set<String> ANNOTATIONS =
+    Collections.singleton(StringUtil.getShortName(GroovyCommonClassNames.GROOVY_TRANSFORM_AUTO_CLONE));
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
 
   @Override
   public void collectMethods(@Nonnull GrTypeDefinition clazz, @Nonnull Collection<PsiMethod> collector) {
@@ -18,6 +18,7 @@ package org.jetbrains.plugins.groovy.impl.lang.resolve.ast;
 import com.intellij.java.language.impl.psi.impl.light.LightMethodBuilder;
 import com.intellij.java.language.psi.PsiMethod;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.util.lang.StringUtil;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
 import org.jetbrains.plugins.groovy.lang.psi.impl.PsiImplUtil;
 import org.jetbrains.plugins.groovy.lang.psi.util.GroovyCommonClassNames;
@@ -28,12 +29,23 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * @author Max Medvedev
  */
 @ExtensionImpl
 public class AutoExternalizeContributor extends AstTransformContributor {
+  private static final Set<String> ANNOTATIONS =
+    Collections.singleton(StringUtil.getShortName(GroovyCommonClassNames.GROOVY_TRANSFORM_AUTO_EXTERNALIZE));
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
+
   @Override
   public void collectMethods(@Nonnull GrTypeDefinition clazz, @Nonnull Collection<PsiMethod> collector) {
     if (!hasGeneratedImplementations(clazz)) {
@@ -19,6 +19,7 @@ package org.jetbrains.plugins.groovy.impl.lang.resolve.ast;
 import com.intellij.java.language.psi.*;
 import com.intellij.java.language.psi.util.PropertyUtil;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.util.collection.ContainerUtil;
 import consulo.util.lang.StringUtil;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrField;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
@@ -42,6 +43,16 @@ import static org.jetbrains.plugins.groovy.lang.psi.util.GroovyCommonClassNames.
  */
 @ExtensionImpl
 public class ConstructorAnnotationsProcessor extends AstTransformContributor {
+  private static final Set<String> ANNOTATIONS = ContainerUtil.newHashSet(StringUtil.getShortName(GROOVY_TRANSFORM_TUPLE_CONSTRUCTOR),
+                                                                          StringUtil.getShortName(GROOVY_LANG_IMMUTABLE),
+                                                                          StringUtil.getShortName(GROOVY_TRANSFORM_IMMUTABLE),
+                                                                          StringUtil.getShortName(GROOVY_TRANSFORM_CANONICAL));
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
 
   @Override
   public void collectMethods(@Nonnull GrTypeDefinition typeDefinition, @Nonnull Collection<PsiMethod> collector) {
@@ -52,6 +52,15 @@ import java.util.*;
  */
 @ExtensionImpl
 public class DelegatedMethodsContributor extends AstTransformContributor {
+  private static final Set<String> ANNOTATIONS =
+    Collections.singleton(StringUtil.getShortName(GroovyCommonClassNames.GROOVY_LANG_DELEGATE));
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
+
   @Override
   public void collectMethods(@Nonnull GrTypeDefinition clazz, @Nonnull Collection<PsiMethod> collector) {
     Set<PsiClass> processed = new HashSet<PsiClass>();
@@ -75,7 +84,7 @@ public class DelegatedMethodsContributor extends AstTransformContributor {
   }
 
   private static boolean checkForDelegate(GrTypeDefinition clazz) {
-    for (GrField field : clazz.getFields()) {
+    for (GrField field : clazz.getCodeFields()) {
       if (PsiImplUtil.getAnnotation(field, GroovyCommonClassNames.GROOVY_LANG_DELEGATE) != null) {
         return true;
       }
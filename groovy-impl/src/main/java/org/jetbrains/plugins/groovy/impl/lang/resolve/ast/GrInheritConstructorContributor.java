@@ -27,12 +27,22 @@ import org.jetbrains.plugins.groovy.lang.resolve.ast.AstTransformContributor;
 
 import jakarta.annotation.Nonnull;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * @author Maxim.Medvedev
  */
 @ExtensionImpl
 public class GrInheritConstructorContributor extends AstTransformContributor {
+  private static final Set<String> ANNOTATIONS =
+    Collections.singleton(StringUtil.getShortName(GroovyCommonClassNames.GROOVY_TRANSFORM_INHERIT_CONSTRUCTORS));
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
 
   @Override
   public void collectMethods(@Nonnull GrTypeDefinition psiClass, @Nonnull Collection<PsiMethod> collector) {
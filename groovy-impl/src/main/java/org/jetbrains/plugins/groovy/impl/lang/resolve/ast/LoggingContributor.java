@@ -18,6 +18,7 @@ package org.jetbrains.plugins.groovy.impl.lang.resolve.ast;
 import com.intellij.java.language.psi.PsiModifier;
 import consulo.annotation.component.ExtensionImpl;
 import consulo.util.collection.ImmutableMapBuilder;
+import consulo.util.lang.StringUtil;
 import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.GrModifierList;
 import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.annotation.GrAnnotation;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrField;
@@ -28,7 +29,9 @@ import org.jetbrains.plugins.groovy.lang.resolve.ast.AstTransformContributor;
 
 import jakarta.annotation.Nonnull;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author peter
@@ -41,6 +44,19 @@ public class LoggingContributor extends AstTransformContributor {
     put("groovy.util.logging.Log4j", "org.apache.log4j.Logger").
     put("groovy.util.logging.Slf4j", "org.slf4j.Logger").
     build();
+  private static final Set<String> ANNOTATIONS = new HashSet<String>();
+
+  static {
+    for (String qname : ourLoggers.keySet()) {
+      ANNOTATIONS.add(StringUtil.getShortName(qname));
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Set<String> getAnnotationShortNames() {
+    return ANNOTATIONS;
+  }
 
   @Override
   public void collectFields(@Nonnull GrTypeDefinition psiClass, @Nonnull Collection<GrField> collector) {
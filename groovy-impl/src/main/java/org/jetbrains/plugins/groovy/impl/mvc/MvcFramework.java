@@ -19,6 +19,7 @@ package org.jetbrains.plugins.groovy.impl.mvc;
 import com.intellij.java.execution.configurations.CommandLineBuilder;
 import com.intellij.java.language.psi.JavaPsiFacade;
 import com.intellij.java.language.psi.PsiClass;
+import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.ExtensionAPI;
 import consulo.application.util.CachedValueProvider;
@@ -202,6 +203,20 @@ public abstract class MvcFramework {
 
   public abstract void updateProjectStructure(@Nonnull Module module);
 
+  /**
+   * Split of {@link #updateProjectStructure(Module)} used by {@link MvcModuleStructureSynchronizer}: computes the changes
+   * in a read action off the event dispatch thread, with the content roots of the module refreshed just before. The
+   * returned action applies them on the event dispatch thread, taking the write lock itself; null if nothing is to change.
+   * <p>
+   * By default all the work is left to the returned action, i.e. it's still done on the event dispatch thread; frameworks
+   * whose structure update is expensive should override this, as {@code GriffonFramework} does.
+   */
+  @Nullable
+  @RequiredReadAction
+  public Runnable computeProjectStructureUpdate(@Nonnull Module module) {
+    return () -> updateProjectStructure(module);
+  }
+
   public abstract void ensureRunConfigurationExists(@Nonnull Module module);
 
   @Nullable
@@ -21,7 +21,9 @@ import consulo.annotation.component.ServiceAPI;
 import consulo.annotation.component.ServiceImpl;
 import consulo.application.Application;
 import consulo.application.ApplicationManager;
+import consulo.application.ReadAction;
 import consulo.application.dumb.DumbAwareRunnable;
+import consulo.application.util.concurrent.AppExecutorUtil;
 import consulo.component.messagebus.MessageBusConnection;
 import consulo.component.util.ModificationTracker;
 import consulo.content.ContentIterator;
@@ -55,15 +57,35 @@ import org.jetbrains.annotations.TestOnly;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Keeps the structure of MVC modules in sync with their files and roots. Events queue {@link SyncAction}s, which are
+ * processed in passes coalescing all the events of {@link #SYNC_DELAY_MS}: the affected modules, their frameworks and
+ * the structure changes are computed in read actions on a pooled thread, then the changes are applied on the event
+ * dispatch thread. Each affected module is handled once per pass, however many events concern it.
+ *
  * @author peter
  */
 @Singleton
 @ServiceAPI(value = ComponentScope.PROJECT, lazy = false)
 @ServiceImpl
 public class MvcModuleStructureSynchronizer {
+  private static final int SYNC_DELAY_MS = 300;
+
   private final Set<Pair<Object, SyncAction>> myActions = new CopyOnWriteArraySet<>();
+  private final AtomicBoolean mySyncScheduled = new AtomicBoolean();
+  private volatile boolean mySyncRunning;
+  /**
+   * Actions queued while applying a pass are dropped, they are caused by its own changes. Otherwise you may get
+   * repetitive 'run create-app?' questions
+   */
+  private volatile boolean myApplying;
+
+  private final Map<Module, Integer> mySyncCounts = ContainerUtil.createConcurrentWeakMap();
+  private final AtomicLong myApplyNanos = new AtomicLong();
   private final Project myProject;
 
   private Set<VirtualFile> myPluginRoots = Collections.emptySet();
@@ -265,19 +287,38 @@ public class MvcModuleStructureSynchronizer {
   }
 
   private void queue(SyncAction action, Object on) {
-    if (myActions.isEmpty()) {
-      if (myProject.isDisposed()) {
-        return;
-      }
+    if (myProject.isDisposed() || myApplying) {
+      return;
+    }
+
+    myActions.add(Pair.create(on, action));
+
+    if (mySyncScheduled.compareAndSet(false, true)) {
       StartupManager.getInstance(myProject).runWhenProjectIsInitialized(new DumbAwareRunnable() {
         @Override
         public void run() {
-          ApplicationManager.getApplication().invokeLater(() -> runActions(), Application.get().getNoneModalityState());
+          AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> sync(), SYNC_DELAY_MS, TimeUnit.MILLISECONDS);
         }
       });
     }
+  }
 
-    myActions.add(Pair.create(on, action));
+  private void sync() {
+    mySyncRunning = true;
+    mySyncScheduled.set(false);
+    try {
+      if (myProject.isDisposed()) {
+        return;
+      }
+
+      List<Pair<Module, Runnable>> actions = computeActions();
+      if (!actions.isEmpty()) {
+        Application.get().invokeLater(() -> applyActions(actions), Application.get().getNoneModalityState(), myProject.getDisposed());
+      }
+    }
+    finally {
+      mySyncRunning = false;
+    }
   }
 
   @Nonnull
@@ -304,61 +345,132 @@ public class MvcModuleStructureSynchronizer {
 
   @TestOnly
   public static void forceUpdateProject(Project project) {
-    project.getComponent(MvcModuleStructureSynchronizer.class).runActions();
+    MvcModuleStructureSynchronizer synchronizer = getInstance(project);
+    synchronizer.applyActions(synchronizer.computeActions());
   }
 
-  private void runActions() {
-    try {
-      if (myProject.isDisposed()) {
-        return;
-      }
+  @TestOnly
+  public boolean isSyncPending() {
+    return mySyncRunning || mySyncScheduled.get() || !myActions.isEmpty();
+  }
 
-      if (ApplicationManager.getApplication().isUnitTestMode() && !ourGrailsTestFlag) {
-        return;
+  /**
+   * @return how many passes have handled {@code module}
+   */
+  @TestOnly
+  public int getSyncCount(@Nonnull Module module) {
+    Integer count = mySyncCounts.get(module);
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * @return total time spent applying the passes on the event dispatch thread
+   */
+  @TestOnly
+  public long getApplyNanos() {
+    return myApplyNanos.get();
+  }
+
+  /**
+   * Takes the queued actions and computes what to do on the event dispatch thread for them.
+   */
+  @Nonnull
+  private List<Pair<Module, Runnable>> computeActions() {
+    Set<Trinity<Module, SyncAction, MvcFramework>> rawActions = ReadAction.compute(() -> {
+      // taken under the read lock, so that all the events of a write action end up in the same pass
+      List<Pair<Object, SyncAction>> actions = new ArrayList<>(myActions);
+      myActions.removeAll(actions);
+
+      if (myProject.isDisposed() || ApplicationManager.getApplication().isUnitTestMode() && !ourGrailsTestFlag) {
+        return Collections.emptySet();
       }
 
-      Pair<Object, SyncAction>[] actions = myActions.toArray(new Pair[myActions.size()]);
       //get module by object and kill duplicates
-
-      Set<Trinity<Module, SyncAction, MvcFramework>> rawActions = new LinkedHashSet<Trinity<Module, SyncAction, MvcFramework>>();
+      Set<Trinity<Module, SyncAction, MvcFramework>> result = new LinkedHashSet<>();
+      Set<Module> modules = new HashSet<>();
 
       for (Pair<Object, SyncAction> pair : actions) {
         for (Module module : determineModuleBySyncActionObject(pair.first)) {
           if (!module.isDisposed()) {
+            modules.add(module);
+
             MvcFramework framework = (pair.second == SyncAction.CreateAppStructureIfNeeded)
               ? MvcFramework.getInstanceBySdk(module)
               : MvcFramework.getInstance(module);
 
             if (framework != null && !framework.isAuxModule(module)) {
-              rawActions.add(Trinity.create(module, pair.second, framework));
+              result.add(Trinity.create(module, pair.second, framework));
             }
           }
         }
       }
 
+      for (Module module : modules) {
+        mySyncCounts.merge(module, 1, Integer::sum);
+      }
+      return result;
+    });
+
+    if (rawActions.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    for (Trinity<Module, SyncAction, MvcFramework> rawAction : rawActions) {
+      if (rawAction.second == SyncAction.UpdateProjectStructure) {
+        MvcModuleStructureUtil.refreshContentRoots(rawAction.first);
+      }
+    }
+
+    return ReadAction.compute(() -> {
+      List<Pair<Module, Runnable>> result = new ArrayList<>();
       boolean isProjectStructureUpdated = false;
 
       for (Trinity<Module, SyncAction, MvcFramework> rawAction : rawActions) {
         Module module = rawAction.first;
+        MvcFramework framework = rawAction.third;
         if (module.isDisposed()) {
           continue;
         }
 
-        if (rawAction.second == SyncAction.UpdateProjectStructure && rawAction.third.updatesWholeProject()) {
-          if (isProjectStructureUpdated) {
-            continue;
+        if (rawAction.second == SyncAction.UpdateProjectStructure) {
+          if (framework.updatesWholeProject()) {
+            if (isProjectStructureUpdated) {
+              continue;
+            }
+            isProjectStructureUpdated = true;
+          }
+
+          Runnable update = framework.computeProjectStructureUpdate(module);
+          if (update != null) {
+            result.add(Pair.create(module, update));
           }
-          isProjectStructureUpdated = true;
         }
+        else {
+          result.add(Pair.create(module, () -> rawAction.second.doAction(module, framework)));
+        }
+      }
+      return result;
+    });
+  }
 
-        rawAction.second.doAction(module, rawAction.third);
+  @RequiredUIAccess
+  private void applyActions(@Nonnull List<Pair<Module, Runnable>> actions) {
+    if (myProject.isDisposed()) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    myApplying = true;
+    try {
+      for (Pair<Module, Runnable> action : actions) {
+        if (!action.first.isDisposed()) {
+          action.second.run();
+        }
       }
     }
     finally {
-      // if there were any actions added during performSyncAction, clear them too
-      // all needed actions are already added to buffer and have thus been performed
-      // otherwise you may get repetitive 'run create-app?' questions
-      myActions.clear();
+      myApplying = false;
+      myApplyNanos.addAndGet(System.nanoTime() - start);
     }
   }
 
@@ -17,7 +17,9 @@
 package org.jetbrains.plugins.groovy.impl.mvc;
 
 import com.intellij.lang.properties.psi.PropertiesFile;
+import consulo.annotation.access.RequiredReadAction;
 import consulo.application.ApplicationManager;
+import consulo.application.ReadAction;
 import consulo.application.WriteAction;
 import consulo.application.util.function.CommonProcessors;
 import consulo.content.base.BinariesOrderRootType;
@@ -104,8 +106,6 @@ public class MvcModuleStructureUtil {
       }
     }
 
-    root.refresh(false, true);
-
     List<Consumer<ContentEntry>> actions = ContainerUtil.newArrayList();
 
     for (String src : structure.getSourceFolders()) {
@@ -253,8 +253,10 @@ public class MvcModuleStructureUtil {
   }
 
   public static void updateModuleStructure(Module module, MvcProjectStructure structure, @Nonnull VirtualFile root) {
-    List<Consumer<ModifiableRootModel>> actions = getUpdateProjectStructureActions(Collections.singletonList(root), structure);
+    applyRootModelActions(module, getUpdateProjectStructureActions(Collections.singletonList(root), structure));
+  }
 
+  public static void applyRootModelActions(Module module, List<Consumer<ModifiableRootModel>> actions) {
     if (!actions.isEmpty()) {
       ModifiableRootModel model = ModuleRootManager.getInstance(module).getModifiableModel();
       boolean success = false;
@@ -280,10 +282,32 @@ public class MvcModuleStructureUtil {
 
   public static List<Consumer<ModifiableRootModel>> getUpdateProjectStructureActions(Collection<VirtualFile> appRoots,
                                                                                      MvcProjectStructure structure) {
-    for (VirtualFile appRoot : ModuleRootManager.getInstance(structure.myModule).getContentRoots()) {
-      appRoot.refresh(false, false);
+    refreshContentRoots(structure.myModule);
+    for (VirtualFile appRoot : appRoots) {
+      appRoot.refresh(false, true);
     }
+    return computeUpdateProjectStructureActions(appRoots, structure);
+  }
+
+  /**
+   * Synchronously and recursively refreshes the content roots of the module, which contain the application roots of
+   * the frameworks. Not allowed in a read action.
+   */
+  public static void refreshContentRoots(Module module) {
+    VirtualFile[] contentRoots =
+      ReadAction.compute(() -> module.isDisposed() ? VirtualFile.EMPTY_ARRAY : ModuleRootManager.getInstance(module).getContentRoots());
+    for (VirtualFile contentRoot : contentRoots) {
+      contentRoot.refresh(false, true);
+    }
+  }
 
+  /**
+   * Same as {@link #getUpdateProjectStructureActions} but doesn't refresh anything, so can be run in a read action. The
+   * application roots are to be refreshed recursively before, e.g. with {@link #refreshContentRoots}.
+   */
+  @RequiredReadAction
+  public static List<Consumer<ModifiableRootModel>> computeUpdateProjectStructureActions(Collection<VirtualFile> appRoots,
+                                                                                         MvcProjectStructure structure) {
     List<Consumer<ModifiableRootModel>> actions = ContainerUtil.newArrayList();
     removeInvalidSourceRoots(actions, structure);
     cleanupDefaultLibrary(structure.myModule, actions, appRoots, structure.getUserLibraryName());
@@ -291,7 +315,7 @@ public class MvcModuleStructureUtil {
 
     List<VirtualFile> rootsToFacetSetup = new ArrayList<VirtualFile>(appRoots.size());
     for (VirtualFile appRoot : appRoots) {
-      if (checkValidity(appRoot)) {
+      if (appRoot.isValid()) {
         ContainerUtil.addIfNotNull(actions, addSourceRootsAndLibDirectory(appRoot, structure));
         rootsToFacetSetup.add(appRoot);
       }
@@ -23,14 +23,19 @@ import consulo.module.Module;
 import consulo.module.content.ModuleRootManager;
 import consulo.process.ExecutionException;
 import consulo.project.Project;
+import consulo.util.io.ClassPathUtil;
 import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.util.PathsList;
 import org.jetbrains.plugins.groovy.config.AbstractConfigUtils;
 import org.jetbrains.plugins.groovy.config.GroovyConfigUtils;
 import org.jetbrains.plugins.groovy.impl.runner.DefaultGroovyScriptRunner;
 import org.jetbrains.plugins.groovy.impl.runner.GroovyScriptRunConfiguration;
+import org.jetbrains.plugins.groovy.impl.runner.GroovyScriptRunner;
+import org.jetbrains.plugins.groovy.shell.GroovyConsoleServer;
 import org.jetbrains.plugins.groovy.util.LibrariesUtil;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -40,6 +45,21 @@ import java.util.Set;
  * @author Sergey Evdokimov
  */
 public class DefaultGroovyShellRunner extends GroovyShellConfig {
+  /**
+   * Whether the shell runs a {@link GroovyConsoleServer}, which survives module rebuilds, instead of groovysh. The
+   * server evaluates every submission as a script: it has no {@code :} commands and keeps only the variables and
+   * imports of earlier submissions, not the methods and classes they define. Set {@code -Dgroovy.shell.server=true}
+   * to use it
+   */
+  private static volatile boolean ourUseServer = Boolean.getBoolean("groovy.shell.server");
+
+  public static boolean isUseServer() {
+    return ourUseServer;
+  }
+
+  public static void setUseServer(boolean useServer) {
+    ourUseServer = useServer;
+  }
 
   @Nonnull
   @Override
@@ -57,6 +77,30 @@ public class DefaultGroovyShellRunner extends GroovyShellConfig {
     return res;
   }
 
+  @Nullable
+  @Override
+  public OwnJavaParameters createServerJavaParameters(@Nonnull Module module) throws ExecutionException {
+    if (!ourUseServer) {
+      return null;
+    }
+    OwnJavaParameters res = GroovyScriptRunConfiguration.createJavaParametersWithSdk(module);
+    DefaultGroovyScriptRunner.configureGenericGroovyRunner(res, module, GroovyConsoleServer.class.getName(), false, true);
+    // only Groovy and the server are loaded by the JVM, the module goes to the class loader the server replaces on reload
+    res.getProgramParametersList().add("--classpath");
+    res.getProgramParametersList().add(ClassPathUtil.getJarPathForClass(GroovyConsoleServer.class));
+    res.setWorkingDirectory(getWorkingDirectory(module));
+    return res;
+  }
+
+  @Nonnull
+  @Override
+  public String getServerClassPath(@Nonnull Module module) throws ExecutionException {
+    OwnJavaParameters core = GroovyScriptRunConfiguration.createJavaParametersWithSdk(module);
+    DefaultGroovyScriptRunner.configureGenericGroovyRunner(core, module, GroovyConsoleServer.class.getName(), false, true);
+    PathsList classPath = GroovyScriptRunner.getClassPathFromRootModel(module, true, core, false);
+    return classPath == null ? "" : classPath.getPathsString();
+  }
+
   @Override
   public boolean canRun(@Nonnull Module module) {
     VirtualFile[] contentRoots = ModuleRootManager.getInstance(module).getContentRoots();
@@ -22,6 +22,7 @@ import consulo.language.util.ModuleUtilCore;
 import consulo.module.Module;
 import consulo.process.ExecutionException;
 import consulo.project.Project;
+import org.jetbrains.plugins.groovy.shell.GroovyConsoleServer;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -40,6 +41,20 @@ public abstract class GroovyShellConfig {
   @Nonnull
   public abstract String getVersion(@Nonnull Module module);
 
+  /**
+   * @return parameters of a {@link GroovyConsoleServer} JVM, which the console keeps alive across module rebuilds and
+   * feeds {@link #getServerClassPath} after each of them, or null to start {@link #createJavaParameters} anew instead
+   */
+  @Nullable
+  public OwnJavaParameters createServerJavaParameters(@Nonnull Module module) throws ExecutionException {
+    return null;
+  }
+
+  @Nonnull
+  public String getServerClassPath(@Nonnull Module module) throws ExecutionException {
+    return "";
+  }
+
   @Nullable
   public PsiElement getContext(@Nonnull Module module) {
     return null;
@@ -20,6 +20,7 @@ import consulo.content.bundle.Sdk;
 import consulo.content.bundle.SdkTypeId;
 import consulo.execution.executor.Executor;
 import consulo.execution.ui.RunContentDescriptor;
+import consulo.execution.ui.console.ConsoleViewContentType;
 import consulo.execution.ui.console.language.AbstractConsoleRunnerWithHistory;
 import consulo.execution.ui.console.language.LanguageConsoleView;
 import consulo.execution.ui.console.language.ProcessBackedConsoleExecuteActionHandler;
@@ -41,7 +42,11 @@ import consulo.util.dataholder.Key;
 import jakarta.annotation.Nonnull;
 import org.jetbrains.plugins.groovy.impl.console.BuildAndRestartConsoleAction;
 import org.jetbrains.plugins.groovy.lang.psi.impl.GroovyFileImpl;
+import org.jetbrains.plugins.groovy.shell.GroovyConsoleServer;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -58,6 +63,10 @@ public class GroovyShellRunnerImpl extends AbstractConsoleRunnerWithHistory<Lang
     }
   };
   private GeneralCommandLine myCommandLine;
+  /**
+   * whether the process is a {@link GroovyConsoleServer}, which takes framed requests and survives rebuilds
+   */
+  private boolean myServer;
 
   public GroovyShellRunnerImpl(@Nonnull String consoleTitle, @Nonnull GroovyShellConfig shellRunner, @Nonnull Module module) {
     super(module.getProject(), consoleTitle, shellRunner.getWorkingDirectory(module));
@@ -70,7 +79,8 @@ public class GroovyShellRunnerImpl extends AbstractConsoleRunnerWithHistory<Lang
                                               Executor defaultExecutor,
                                               RunContentDescriptor contentDescriptor) {
     BuildAndRestartConsoleAction rebuildAction =
-      new BuildAndRestartConsoleAction(myModule, getProject(), defaultExecutor, contentDescriptor, myStarter);
+      new BuildAndRestartConsoleAction(myModule, getProject(), defaultExecutor, contentDescriptor, myStarter,
+                                       myServer ? this::reload : null);
     toolbarActions.add(rebuildAction);
     List<AnAction> actions = super.fillToolBarActions(toolbarActions, defaultExecutor, contentDescriptor);
     actions.add(rebuildAction);
@@ -90,7 +100,9 @@ public class GroovyShellRunnerImpl extends AbstractConsoleRunnerWithHistory<Lang
   @Nonnull
   @Override
   protected ProcessHandler createProcessHandler() throws ExecutionException {
-    OwnJavaParameters javaParameters = myShellRunner.createJavaParameters(myModule);
+    OwnJavaParameters serverParameters = myShellRunner.createServerJavaParameters(myModule);
+    myServer = serverParameters != null;
+    OwnJavaParameters javaParameters = myServer ? serverParameters : myShellRunner.createJavaParameters(myModule);
 
     Sdk sdk = ModuleUtilCore.getSdk(myModule, JavaModuleExtension.class);
     assert sdk != null;
@@ -98,7 +110,48 @@ public class GroovyShellRunnerImpl extends AbstractConsoleRunnerWithHistory<Lang
     assert sdkType instanceof JavaSdkType;
     javaParameters.setJdk(sdk);
     myCommandLine = OwnJdkUtil.setupJVMCommandLine(javaParameters);
-    return ProcessHandlerFactory.getInstance().createProcessHandler(myCommandLine);
+    if (!myServer) {
+      return ProcessHandlerFactory.getInstance().createProcessHandler(myCommandLine);
+    }
+
+    myCommandLine.setCharset(StandardCharsets.UTF_8);
+    ProcessHandler handler = ProcessHandlerFactory.getInstance().createProcessHandler(myCommandLine);
+    try {
+      send(handler, GroovyConsoleServer.RELOAD, myShellRunner.getServerClassPath(myModule));
+    }
+    catch (IOException e) {
+      handler.destroyProcess();
+      throw new ExecutionException(e.getMessage(), e);
+    }
+    return handler;
+  }
+
+  /**
+   * Points the running server to the freshly built module instead of starting a new JVM.
+   */
+  private boolean reload(Module module) {
+    ProcessHandler handler = getProcessHandler();
+    if (handler == null || handler.isProcessTerminated()) {
+      return false;
+    }
+    try {
+      send(handler, GroovyConsoleServer.RELOAD, myShellRunner.getServerClassPath(module));
+    }
+    catch (ExecutionException | IOException e) {
+      LOG.info(e);
+      return false;
+    }
+    getConsoleView().print("Reloaded module '" + module.getName() + "'\n", ConsoleViewContentType.SYSTEM_OUTPUT);
+    return true;
+  }
+
+  private static void send(ProcessHandler handler, String command, String payload) throws IOException {
+    OutputStream input = handler.getProcessInput();
+    if (input == null) {
+      throw new IOException("Process input is not available");
+    }
+    input.write(GroovyConsoleServer.frame(command, payload).getBytes(StandardCharsets.UTF_8));
+    input.flush();
   }
 
   @Nonnull
@@ -106,6 +159,21 @@ public class GroovyShellRunnerImpl extends AbstractConsoleRunnerWithHistory<Lang
   protected ProcessBackedConsoleExecuteActionHandler createExecuteActionHandler() {
     ProcessBackedConsoleExecuteActionHandler handler =
       new ProcessBackedConsoleExecuteActionHandler(getProcessHandler(), false) {
+        @Override
+        public void processLine(String line) {
+          if (!myServer) {
+            super.processLine(line);
+            return;
+          }
+          try {
+            // the whole submission goes in one frame, however many lines it has
+            send(getProcessHandler(), GroovyConsoleServer.EVAL, line);
+          }
+          catch (IOException e) {
+            LOG.info(e);
+          }
+        }
+
         @Override
         public String getEmptyExecuteAction() {
           return GROOVY_SHELL_EXECUTE;
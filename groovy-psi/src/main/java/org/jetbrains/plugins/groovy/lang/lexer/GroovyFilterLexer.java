@@ -21,6 +21,7 @@ import static consulo.language.psi.search.UsageSearchContext.IN_FOREIGN_LANGUAGE
 import static consulo.language.psi.search.UsageSearchContext.IN_PLAIN_TEXT;
 import static consulo.language.psi.search.UsageSearchContext.IN_STRINGS;
 import static org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes.mIDENT;
+import static org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes.mSTRING_LITERAL;
 import static org.jetbrains.plugins.groovy.lang.lexer.TokenSets.COMMENT_SET;
 import static org.jetbrains.plugins.groovy.lang.lexer.TokenSets.STRING_LITERALS;
 
@@ -37,6 +38,14 @@ public class GroovyFilterLexer extends BaseFilterLexer {
         super(originalLexer, occurrenceConsumer);
     }
 
+    /**
+     * The lexer shared by the id and the todo indexers. Both must create the same lexer for the single scan of a file
+     * to serve both indices.
+     */
+    public static GroovyFilterLexer createIndexingLexer(OccurrenceConsumer occurrenceConsumer) {
+        return new GroovyFilterLexer(new GroovyLexer(), occurrenceConsumer);
+    }
+
     @Override
     public void advance() {
         IElementType tokenType = getDelegate().getTokenType();
@@ -44,6 +53,10 @@ public class GroovyFilterLexer extends BaseFilterLexer {
         if (tokenType == mIDENT || TokenSets.KEYWORDS.contains(tokenType)) {
             addOccurrenceInToken(IN_CODE);
         }
+        else if (tokenType == mSTRING_LITERAL) {
+            // single quoted strings may name methods and properties: 'foo'() or obj.'foo'
+            scanWordsInToken(IN_STRINGS | IN_FOREIGN_LANGUAGES | IN_CODE, false, true);
+        }
         else if (STRING_LITERALS.contains(tokenType)) {
             scanWordsInToken(IN_STRINGS | IN_FOREIGN_LANGUAGES, false, true);
         }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.lexer;
+
+import consulo.language.ast.IElementType;
+import consulo.language.ast.TokenType;
+import consulo.language.lexer.LexerBase;
+import consulo.logging.Logger;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Drives the generated {@code _GroovyLexer} directly and merges runs of {@link GroovyLexer#TOKENS_TO_MERGE} on the
+ * fly, producing the same tokens and states as the {@code LookAheadLexer(MergingLexerAdapter(GroovyFlexLexer))}
+ * stack without the two adapter layers.
+ * <p>
+ * Merging needs to look exactly one token ahead, so the pending token lives in primitive fields next to the current
+ * one and advancing doesn't allocate.
+ * <p>
+ * If the generated lexer fails on malformed input, the rest of the text becomes one {@link TokenType#BAD_CHARACTER}
+ * token, as {@code FlexAdapter} makes it.
+ *
+ * @since 2026-10-19
+ */
+public class GroovyFusedLexer extends LexerBase {
+  private static final Logger LOG = Logger.getInstance(GroovyFusedLexer.class);
+
+  private final _GroovyLexer myFlex;
+  private boolean myFailed;
+
+  private CharSequence myBuffer;
+  private int myBufferEnd;
+
+  private IElementType myTokenType;
+  private int myTokenStart;
+  private int myTokenEnd;
+  private int myState;
+
+  private IElementType myNextType;
+  private int myNextStart;
+  private int myNextEnd;
+  private int myNextState;
+
+  public GroovyFusedLexer() {
+    this(new _GroovyLexer((Reader)null));
+  }
+
+  GroovyFusedLexer(@Nonnull _GroovyLexer flex) {
+    myFlex = flex;
+  }
+
+  @Override
+  public void start(@Nonnull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+    myBuffer = buffer;
+    myBufferEnd = endOffset;
+    myFailed = false;
+    myFlex.reset(buffer, startOffset, endOffset, initialState);
+    scanNext();
+    advance();
+  }
+
+  @Override
+  public void advance() {
+    myTokenType = myNextType;
+    myTokenStart = myNextStart;
+    myTokenEnd = myNextEnd;
+    myState = myNextState;
+    if (myTokenType == null) return;
+
+    scanNext();
+    if (GroovyLexer.TOKENS_TO_MERGE.contains(myTokenType)) {
+      while (myNextType == myTokenType) {
+        myTokenEnd = myNextEnd;
+        scanNext();
+      }
+    }
+  }
+
+  private void scanNext() {
+    if (myFailed) {
+      myNextType = null;
+      myNextStart = myNextEnd = myBufferEnd;
+      return;
+    }
+
+    myNextStart = myFlex.getTokenEnd();
+    myNextState = myFlex.yystate();
+    try {
+      myNextType = myFlex.advance();
+      myNextEnd = myFlex.getTokenEnd();
+    }
+    catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    catch (Error e) {
+      myFailed = true;
+      myNextType = TokenType.BAD_CHARACTER;
+      myNextEnd = myBufferEnd;
+      LOG.warn(myFlex.getClass().getName(), e);
+    }
+  }
+
+  @Override
+  public int getState() {
+    return myState;
+  }
+
+  @Nullable
+  @Override
+  public IElementType getTokenType() {
+    return myTokenType;
+  }
+
+  @Override
+  public int getTokenStart() {
+    return myTokenStart;
+  }
+
+  @Override
+  public int getTokenEnd() {
+    return myTokenEnd;
+  }
+
+  @Nonnull
+  @Override
+  public CharSequence getBufferSequence() {
+    return myBuffer;
+  }
+
+  @Override
+  public int getBufferEnd() {
+    return myBufferEnd;
+  }
+}
@@ -17,6 +17,8 @@
 package org.jetbrains.plugins.groovy.lang.lexer;
 
 import consulo.language.ast.TokenSet;
+import consulo.language.lexer.DelegateLexer;
+import consulo.language.lexer.Lexer;
 import consulo.language.lexer.LookAheadLexer;
 import consulo.language.lexer.MergingLexerAdapter;
 
@@ -26,19 +28,27 @@ import static org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes.*;
 /**
  * @author ilyas
  */
-public class GroovyLexer extends LookAheadLexer {
-  private static final TokenSet tokensToMerge = TokenSet.create(
+public class GroovyLexer extends DelegateLexer {
+  /**
+   * Set {@code -Dgroovy.lexer.fused=false} to lex with the adapter stack over {@link GroovyFlexLexer} instead of
+   * {@link GroovyFusedLexer}.
+   */
+  private static final boolean FUSED = !"false".equals(System.getProperty("groovy.lexer.fused"));
+
+  public static final TokenSet TOKENS_TO_MERGE = TokenSet.create(
     mSL_COMMENT,
     mML_COMMENT,
     mREGEX_CONTENT,
     mDOLLAR_SLASH_REGEX_CONTENT,
     WHITE_SPACE,
-    mGSTRING_CONTENT,
-    mDOLLAR_SLASH_REGEX_CONTENT,
-    mREGEX_CONTENT
+    mGSTRING_CONTENT
   );
 
   public GroovyLexer() {
-    super(new MergingLexerAdapter(new GroovyFlexLexer(), tokensToMerge));
+    super(FUSED ? new GroovyFusedLexer() : createAdapterLexer());
+  }
+
+  public static Lexer createAdapterLexer() {
+    return new LookAheadLexer(new MergingLexerAdapter(new GroovyFlexLexer(), TOKENS_TO_MERGE));
   }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.parser;
+
+import consulo.language.ast.IElementType;
+import consulo.language.ast.IErrorCounterReparseableElementType;
+import consulo.language.lexer.Lexer;
+import consulo.util.collection.primitive.ints.IntList;
+import consulo.util.collection.primitive.ints.IntLists;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer;
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Brace balance check of {@link GrCodeBlockElementType#getErrorsCount}, incremental over the recently checked block
+ * texts.
+ * <p>
+ * A reparse attempt is usually made for the same block after every keystroke, so the new text differs from a
+ * recently checked one only in a small range. For each checked text the offsets of the tokens at which the lexer is
+ * in its initial state are kept with the brace depth before them. The new text is lexed from the last such token
+ * before the changed range only, until it reaches a token in the unchanged tail which was an initial state token of
+ * the old text too; the depths of the tail are then the old ones shifted by the difference at that token.
+ *
+ * @since 2026-10-19
+ */
+final class GrBraceBalance {
+  private static final int FATAL_ERROR = IErrorCounterReparseableElementType.FATAL_ERROR;
+  private static final int MEMO_SIZE = 4;
+
+  private final AtomicReferenceArray<Snapshot> mySnapshots = new AtomicReferenceArray<Snapshot>(MEMO_SIZE);
+  private final AtomicInteger myNextSlot = new AtomicInteger();
+
+  int getErrorsCount(@Nonnull CharSequence seq) {
+    String text = seq.toString();
+
+    int baseSlot = -1;
+    Snapshot base = null;
+    int basePrefix = 0;
+    int baseSuffix = 0;
+    for (int i = 0; i < MEMO_SIZE; i++) {
+      Snapshot snapshot = mySnapshots.get(i);
+      if (snapshot == null) continue;
+      if (snapshot.myText.equals(text)) return snapshot.myResult;
+
+      int prefix = commonPrefix(snapshot.myText, text);
+      int suffix = commonSuffix(snapshot.myText, text, prefix);
+      if (base == null || prefix + suffix > basePrefix + baseSuffix) {
+        baseSlot = i;
+        base = snapshot;
+        basePrefix = prefix;
+        baseSuffix = suffix;
+      }
+    }
+
+    Builder builder = new Builder(text);
+    Snapshot snapshot = base != null ? relex(base, basePrefix, baseSuffix, builder) : null;
+    if (snapshot == null && !builder.myFatal) {
+      snapshot = lex(builder);
+    }
+    if (snapshot == null) return FATAL_ERROR;
+
+    mySnapshots.set(baseSlot >= 0 ? baseSlot : Math.floorMod(myNextSlot.getAndIncrement(), MEMO_SIZE), snapshot);
+    return snapshot.myResult;
+  }
+
+  /**
+   * @return the snapshot of the whole text, or null if the text isn't a block
+   */
+  @Nullable
+  private static Snapshot lex(@Nonnull Builder builder) {
+    Lexer lexer = new GroovyLexer();
+    lexer.start(builder.myText);
+    if (lexer.getTokenType() != GroovyTokenTypes.mLCURLY) return null;
+    lexer.advance();
+    return builder.scan(lexer, 1, null, 0, 0);
+  }
+
+  /**
+   * @return the snapshot of the new text, or null if {@code base} has no restart point before the change or the
+   * new text isn't a block
+   */
+  @Nullable
+  private static Snapshot relex(@Nonnull Snapshot base, int prefix, int suffix, @Nonnull Builder builder) {
+    int index = Arrays.binarySearch(base.myOffsets, prefix);
+    int restart = index >= 0 ? index - 1 : -index - 2;
+    if (restart < 0) return null;
+
+    builder.copy(base, 0, restart, 0, 0);
+    Lexer lexer = new GroovyLexer();
+    lexer.start(builder.myText, base.myOffsets[restart], builder.myText.length(), 0);
+    return builder.scan(lexer, base.myBalances[restart], base, builder.myText.length() - suffix,
+                        builder.myText.length() - base.myText.length());
+  }
+
+  private static int commonPrefix(@Nonnull String s1, @Nonnull String s2) {
+    int max = Math.min(s1.length(), s2.length());
+    int i = 0;
+    while (i < max && s1.charAt(i) == s2.charAt(i)) i++;
+    return i;
+  }
+
+  private static int commonSuffix(@Nonnull String s1, @Nonnull String s2, int prefix) {
+    int max = Math.min(s1.length(), s2.length()) - prefix;
+    int i = 0;
+    while (i < max && s1.charAt(s1.length() - 1 - i) == s2.charAt(s2.length() - 1 - i)) i++;
+    return i;
+  }
+
+  private static final class Builder {
+    private final String myText;
+    private final IntList myOffsets = IntLists.newArrayList();
+    private final IntList myBalances = IntLists.newArrayList();
+    private final IntList mySegmentMins = IntLists.newArrayList();
+    private boolean myFatal;
+
+    Builder(@Nonnull String text) {
+      myText = text;
+    }
+
+    void copy(@Nonnull Snapshot snapshot, int from, int to, int offsetShift, int balanceShift) {
+      for (int i = from; i < to; i++) {
+        myOffsets.add(snapshot.myOffsets[i] + offsetShift);
+        myBalances.add(snapshot.myBalances[i] + balanceShift);
+        mySegmentMins.add(snapshot.mySegmentMins[i] + balanceShift);
+      }
+    }
+
+    /**
+     * Counts braces from the current token of {@code lexer} on. Once a token in the initial state at or after
+     * {@code tailStart} matches a restart point of {@code base}, the rest is taken from {@code base}.
+     */
+    @Nullable
+    Snapshot scan(@Nonnull Lexer lexer, int balance, @Nullable Snapshot base, int tailStart, int delta) {
+      while (true) {
+        IElementType type = lexer.getTokenType();
+        if (type == null) break;
+        if (balance == 0) {
+          myFatal = true;
+          return null;
+        }
+
+        if (lexer.getState() == 0) {
+          int start = lexer.getTokenStart();
+          int old = base != null && start >= tailStart ? Arrays.binarySearch(base.myOffsets, start - delta) : -1;
+          if (old >= 0) {
+            int shift = balance - base.myBalances[old];
+            if (base.myMins[old] + shift <= 0) {
+              myFatal = true;
+              return null;
+            }
+            copy(base, old, base.myOffsets.length, delta, shift);
+            return build(base.myResult + shift);
+          }
+          myOffsets.add(start);
+          myBalances.add(balance);
+          mySegmentMins.add(balance);
+        }
+        else if (!mySegmentMins.isEmpty()) {
+          int last = mySegmentMins.size() - 1;
+          if (balance < mySegmentMins.get(last)) {
+            mySegmentMins.set(last, balance);
+          }
+        }
+
+        if (type == GroovyTokenTypes.mLCURLY) {
+          balance++;
+        }
+        else if (type == GroovyTokenTypes.mRCURLY) {
+          balance--;
+        }
+        lexer.advance();
+      }
+      return build(balance);
+    }
+
+    @Nonnull
+    private Snapshot build(int result) {
+      int[] segmentMins = mySegmentMins.toArray();
+      int[] mins = new int[segmentMins.length];
+      for (int i = mins.length - 1; i >= 0; i--) {
+        mins[i] = i == mins.length - 1 ? segmentMins[i] : Math.min(segmentMins[i], mins[i + 1]);
+      }
+      return new Snapshot(myText, result, myOffsets.toArray(), myBalances.toArray(), segmentMins, mins);
+    }
+  }
+
+  private static final class Snapshot {
+    private final String myText;
+    private final int myResult;
+    /**
+     * Start offsets of the tokens after the opening brace at which the lexer is in the initial state
+     */
+    private final int[] myOffsets;
+    /**
+     * Brace depth before each of those tokens
+     */
+    private final int[] myBalances;
+    /**
+     * Minimal depth before a token from each of those tokens up to the next one
+     */
+    private final int[] mySegmentMins;
+    /**
+     * Minimal depth before a token from each of those tokens up to the end
+     */
+    private final int[] myMins;
+
+    Snapshot(@Nonnull String text, int result, @Nonnull int[] offsets, @Nonnull int[] balances, @Nonnull int[] segmentMins, @Nonnull int[] mins) {
+      myText = text;
+      myResult = result;
+      myOffsets = offsets;
+      myBalances = balances;
+      mySegmentMins = segmentMins;
+      myMins = mins;
+    }
+  }
+}
@@ -17,15 +17,12 @@ package org.jetbrains.plugins.groovy.lang.parser;
 
 import consulo.language.Language;
 import consulo.language.ast.*;
-import consulo.language.lexer.Lexer;
 import consulo.project.Project;
 import consulo.language.ast.ICompositeElementType;
 import consulo.language.ast.IErrorCounterReparseableElementType;
 
 import jakarta.annotation.Nonnull;
 import org.jetbrains.plugins.groovy.GroovyFileType;
-import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer;
-import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes;
 import org.jetbrains.plugins.groovy.lang.psi.impl.statements.blocks.GrBlockImpl;
 
 /**
@@ -34,6 +31,8 @@ import org.jetbrains.plugins.groovy.lang.psi.impl.statements.blocks.GrBlockImpl;
 public abstract class GrCodeBlockElementType extends IErrorCounterReparseableElementType implements ICompositeElementType
 {
 
+  private final GrBraceBalance myBraceBalance = new GrBraceBalance();
+
   protected GrCodeBlockElementType(String debugName) {
     super(debugName, GroovyFileType.GROOVY_LANGUAGE);
   }
@@ -50,24 +49,6 @@ public abstract class GrCodeBlockElementType extends IErrorCounterReparseableEle
 
   @Override
   public int getErrorsCount(CharSequence seq, Language fileLanguage, Project project) {
-    Lexer lexer = new GroovyLexer();
-
-    lexer.start(seq);
-    if (lexer.getTokenType() != GroovyTokenTypes.mLCURLY) return FATAL_ERROR;
-    lexer.advance();
-    int balance = 1;
-    while (true) {
-      IElementType type = lexer.getTokenType();
-      if (type == null) break;
-      if (balance == 0) return FATAL_ERROR;
-      if (type == GroovyTokenTypes.mLCURLY) {
-        balance++;
-      }
-      else if (type == GroovyTokenTypes.mRCURLY) {
-        balance--;
-      }
-      lexer.advance();
-    }
-    return balance;
+    return myBraceBalance.getErrorsCount(seq);
   }
 }
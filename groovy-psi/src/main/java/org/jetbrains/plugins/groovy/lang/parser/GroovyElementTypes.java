@@ -410,7 +410,7 @@ public interface GroovyElementTypes
 		{
 			dataStream.writeName(stub.getName());
 			GrStubUtils.writeStringArray(dataStream, stub.getAnnotations());
-			GrStubUtils.writeNullableString(dataStream, stub.getTypeText());
+			GrStubUtils.writeTypeText(dataStream, stub.getTypeText());
 		}
 
 		@Nonnull
@@ -420,7 +420,7 @@ public interface GroovyElementTypes
 		{
 			StringRef name = dataStream.readName();
 			String[] annotations = GrStubUtils.readStringArray(dataStream);
-			String typeText = GrStubUtils.readNullableString(dataStream);
+			String typeText = GrStubUtils.readTypeText(dataStream);
 			return new GrParameterStub(parentStub, name, annotations, typeText);
 		}
 	};
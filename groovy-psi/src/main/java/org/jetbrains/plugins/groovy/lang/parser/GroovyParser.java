@@ -39,6 +39,7 @@ import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.expressions.E
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.imports.ImportStatement;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.typeDefinitions.TypeDefinition;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.toplevel.CompilationUnit;
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserUtils;
 import consulo.language.version.LanguageVersion;
 import consulo.language.parser.PsiParser;
@@ -462,9 +463,13 @@ public class GroovyParser implements PsiParser
 			return true;
 		}
 
-		if(parseDeclaration(builder, false, false, null))
+		if(!ParserMemo.hasFailed(builder, ParserMemo.Rule.STATEMENT_DECLARATION))
 		{
-			return true;
+			if(parseDeclaration(builder, false, false, null))
+			{
+				return true;
+			}
+			ParserMemo.rememberFailure(builder, ParserMemo.Rule.STATEMENT_DECLARATION);
 		}
 
 		return AssignmentExpression.parse(builder, this, true);
@@ -82,6 +82,10 @@ import org.jetbrains.plugins.groovy.lang.psi.impl.toplevel.packaging.GrPackageDe
 import org.jetbrains.plugins.groovy.lang.psi.impl.types.*;
 import consulo.language.impl.psi.ASTWrapperPsiElement;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * Creates Groovy PSI element by given AST node
  *
@@ -90,6 +94,9 @@ import consulo.language.impl.psi.ASTWrapperPsiElement;
 public class GroovyPsiCreator
 {
 
+	private static final Map<IElementType, Function<ASTNode, PsiElement>> ourUnindexedCreators = new HashMap<IElementType, Function<ASTNode, PsiElement>>();
+	private static final Function<ASTNode, PsiElement>[] ourCreators = createCreators();
+
 	/**
 	 * Creates Groovy PSI element by given AST node
 	 *
@@ -110,462 +117,181 @@ public class GroovyPsiCreator
 			return GroovyDocPsiCreator.createElement(node);
 		}
 
-		//Identifiers & literal
-        if(elem == GroovyElementTypes.LITERAL)
-        {
-            return new GrLiteralImpl(node);
-        }
-		//    if (elem.equals(IDENTIFIER)) return new GrIdentifierImpl(node);
-		//Lists, maps etc...
-        if(elem == GroovyElementTypes.LIST_OR_MAP)
-        {
-            return new GrListOrMapImpl(node);
-        }
+		Function<ASTNode, PsiElement> creator;
+		int index = elem.getIndex();
+		if(index >= 0)
+		{
+			creator = index < ourCreators.length ? ourCreators[index] : null;
+		}
+		else
+		{
+			creator = ourUnindexedCreators.get(elem);
+		}
+		if(creator != null)
+		{
+			return creator.apply(node);
+		}
+
+		return new ASTWrapperPsiElement(node);
+	}
 
-        if(elem == GroovyElementTypes.MODIFIERS)
-        {
-            return new GrModifierListImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION)
-        {
-            return new GrAnnotationImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION_ARGUMENTS)
-        {
-            return new GrAnnotationArgumentListImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION_ARRAY_INITIALIZER)
-        {
-            return new GrAnnotationArrayInitializerImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION_MEMBER_VALUE_PAIR)
-        {
-            return new GrAnnotationNameValuePairImpl(node);
-        }
+	/**
+	 * @return PSI constructors indexed by {@link IElementType#getIndex()}, so that creating an element costs an array
+	 * lookup instead of comparing its type with every Groovy element type
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<ASTNode, PsiElement>[] createCreators()
+	{
+		Map<IElementType, Function<ASTNode, PsiElement>> creators = new HashMap<IElementType, Function<ASTNode, PsiElement>>();
 
+		//Identifiers & literal
+		creators.put(GroovyElementTypes.LITERAL, GrLiteralImpl::new);
+		//Lists, maps etc...
+		creators.put(GroovyElementTypes.LIST_OR_MAP, GrListOrMapImpl::new);
+		creators.put(GroovyElementTypes.MODIFIERS, GrModifierListImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION, GrAnnotationImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION_ARGUMENTS, GrAnnotationArgumentListImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION_ARRAY_INITIALIZER, GrAnnotationArrayInitializerImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION_MEMBER_VALUE_PAIR, GrAnnotationNameValuePairImpl::new);
 		//throws
-        if(elem == GroovyElementTypes.THROW_CLAUSE)
-        {
-            return new GrThrowsClauseImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.THROW_CLAUSE, GrThrowsClauseImpl::new);
 		// Imports
-        if(elem == GroovyElementTypes.IMPORT_STATEMENT)
-        {
-            return new GrImportStatementImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.IMPORT_STATEMENT, GrImportStatementImpl::new);
 		// Packaging
-        if(elem == GroovyElementTypes.PACKAGE_DEFINITION)
-        {
-            return new GrPackageDefinitionImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.PACKAGE_DEFINITION, GrPackageDefinitionImpl::new);
 		//statements
-        if(elem == GroovyElementTypes.LABELED_STATEMENT)
-        {
-            return new GrLabeledStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.IF_STATEMENT)
-        {
-            return new GrIfStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.FOR_STATEMENT)
-        {
-            return new GrForStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.FOR_IN_CLAUSE)
-        {
-            return new GrForInClauseImpl(node);
-        }
-        if(elem == GroovyElementTypes.FOR_TRADITIONAL_CLAUSE)
-        {
-            return new GrTraditionalForClauseImpl(node);
-        }
-        if(elem == GroovyElementTypes.WHILE_STATEMENT)
-        {
-            return new GrWhileStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.TRY_BLOCK_STATEMENT)
-        {
-            return new GrTryCatchStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.CATCH_CLAUSE)
-        {
-            return new GrCatchClauseImpl(node);
-        }
-        if(elem == GroovyElementTypes.FINALLY_CLAUSE)
-        {
-            return new GrFinallyClauseImpl(node);
-        }
-        if(elem == GroovyElementTypes.SYNCHRONIZED_STATEMENT)
-        {
-            return new GrSynchronizedStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.SWITCH_STATEMENT)
-        {
-            return new GrSwitchStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.CASE_LABEL)
-        {
-            return new GrCaseLabelImpl(node);
-        }
-        if(elem == GroovyElementTypes.CASE_SECTION)
-        {
-            return new GrCaseSectionImpl(node);
-        }
-        if(elem == GroovyElementTypes.VARIABLE_DEFINITION || elem == GroovyElementTypes.VARIABLE_DEFINITION_ERROR)
-        {
-            return new GrVariableDeclarationImpl(node);
-        }
-        if(elem == GroovyElementTypes.TUPLE_EXPRESSION)
-        {
-            return new GrTupleExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.VARIABLE)
-        {
-            return new GrVariableImpl(node);
-        }
-
-        if(elem == GroovyElementTypes.FIELD)
-        {
-            return new GrFieldImpl(node);
-        }
-        if(elem == GroovyElementTypes.CLASS_INITIALIZER)
-        {
-            return new GrClassInitializerImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.LABELED_STATEMENT, GrLabeledStatementImpl::new);
+		creators.put(GroovyElementTypes.IF_STATEMENT, GrIfStatementImpl::new);
+		creators.put(GroovyElementTypes.FOR_STATEMENT, GrForStatementImpl::new);
+		creators.put(GroovyElementTypes.FOR_IN_CLAUSE, GrForInClauseImpl::new);
+		creators.put(GroovyElementTypes.FOR_TRADITIONAL_CLAUSE, GrTraditionalForClauseImpl::new);
+		creators.put(GroovyElementTypes.WHILE_STATEMENT, GrWhileStatementImpl::new);
+		creators.put(GroovyElementTypes.TRY_BLOCK_STATEMENT, GrTryCatchStatementImpl::new);
+		creators.put(GroovyElementTypes.CATCH_CLAUSE, GrCatchClauseImpl::new);
+		creators.put(GroovyElementTypes.FINALLY_CLAUSE, GrFinallyClauseImpl::new);
+		creators.put(GroovyElementTypes.SYNCHRONIZED_STATEMENT, GrSynchronizedStatementImpl::new);
+		creators.put(GroovyElementTypes.SWITCH_STATEMENT, GrSwitchStatementImpl::new);
+		creators.put(GroovyElementTypes.CASE_LABEL, GrCaseLabelImpl::new);
+		creators.put(GroovyElementTypes.CASE_SECTION, GrCaseSectionImpl::new);
+		creators.put(GroovyElementTypes.VARIABLE_DEFINITION, GrVariableDeclarationImpl::new);
+		creators.put(GroovyElementTypes.VARIABLE_DEFINITION_ERROR, GrVariableDeclarationImpl::new);
+		creators.put(GroovyElementTypes.TUPLE_EXPRESSION, GrTupleExpressionImpl::new);
+		creators.put(GroovyElementTypes.VARIABLE, GrVariableImpl::new);
+		creators.put(GroovyElementTypes.FIELD, GrFieldImpl::new);
+		creators.put(GroovyElementTypes.CLASS_INITIALIZER, GrClassInitializerImpl::new);
 		//type definitions
-        if(elem == GroovyElementTypes.CLASS_DEFINITION)
-        {
-            return new GrClassDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.INTERFACE_DEFINITION)
-        {
-            return new GrInterfaceDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ENUM_DEFINITION)
-        {
-            return new GrEnumTypeDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION_DEFINITION)
-        {
-            return new GrAnnotationTypeDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.TRAIT_DEFINITION)
-        {
-            return new GrTraitTypeDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANNOTATION_METHOD)
-        {
-            return new GrAnnotationMethodImpl(node);
-        }
-
-        if(elem == GroovyElementTypes.REFERENCE_ELEMENT)
-        {
-            return new GrCodeReferenceElementImpl(node);
-        }
-        if(elem == GroovyElementTypes.CLASS_TYPE_ELEMENT)
-        {
-            return new GrClassTypeElementImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.CLASS_DEFINITION, GrClassDefinitionImpl::new);
+		creators.put(GroovyElementTypes.INTERFACE_DEFINITION, GrInterfaceDefinitionImpl::new);
+		creators.put(GroovyElementTypes.ENUM_DEFINITION, GrEnumTypeDefinitionImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION_DEFINITION, GrAnnotationTypeDefinitionImpl::new);
+		creators.put(GroovyElementTypes.TRAIT_DEFINITION, GrTraitTypeDefinitionImpl::new);
+		creators.put(GroovyElementTypes.ANNOTATION_METHOD, GrAnnotationMethodImpl::new);
+		creators.put(GroovyElementTypes.REFERENCE_ELEMENT, GrCodeReferenceElementImpl::new);
+		creators.put(GroovyElementTypes.CLASS_TYPE_ELEMENT, GrClassTypeElementImpl::new);
 		//clauses
-        if(elem == GroovyElementTypes.IMPLEMENTS_CLAUSE)
-        {
-            return new GrImplementsClauseImpl(node);
-        }
-        if(elem == GroovyElementTypes.EXTENDS_CLAUSE)
-        {
-            return new GrExtendsClauseImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.IMPLEMENTS_CLAUSE, GrImplementsClauseImpl::new);
+		creators.put(GroovyElementTypes.EXTENDS_CLAUSE, GrExtendsClauseImpl::new);
 		//bodies
-        if(elem == GroovyElementTypes.CLASS_BODY)
-        {
-            return new GrTypeDefinitionBodyBase.GrClassBody(node);
-        }
-        if(elem == GroovyElementTypes.ENUM_BODY)
-        {
-            return new GrTypeDefinitionBodyBase.GrEnumBody(node);
-        }
-        if(elem == GroovyElementTypes.BLOCK_STATEMENT)
-        {
-            return new GrBlockStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.EXPLICIT_CONSTRUCTOR)
-        {
-            return new GrConstructorInvocationImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.CLASS_BODY, GrTypeDefinitionBodyBase.GrClassBody::new);
+		creators.put(GroovyElementTypes.ENUM_BODY, GrTypeDefinitionBodyBase.GrEnumBody::new);
+		creators.put(GroovyElementTypes.BLOCK_STATEMENT, GrBlockStatementImpl::new);
+		creators.put(GroovyElementTypes.EXPLICIT_CONSTRUCTOR, GrConstructorInvocationImpl::new);
 		//enum
-        if(elem == GroovyElementTypes.ENUM_CONSTANTS)
-        {
-            return new GrEnumConstantListImpl(node);
-        }
-        if(elem == GroovyElementTypes.ENUM_CONSTANT)
-        {
-            return new GrEnumConstantImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.ENUM_CONSTANTS, GrEnumConstantListImpl::new);
+		creators.put(GroovyElementTypes.ENUM_CONSTANT, GrEnumConstantImpl::new);
 		//members
-        if(elem == GroovyElementTypes.CONSTRUCTOR_DEFINITION)
-        {
-            return new GrConstructorImpl(node);
-        }
-        if(elem == GroovyElementTypes.METHOD_DEFINITION)
-        {
-            return new GrMethodImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.CONSTRUCTOR_DEFINITION, GrConstructorImpl::new);
+		creators.put(GroovyElementTypes.METHOD_DEFINITION, GrMethodImpl::new);
 		//parameters
-        if(elem == GroovyElementTypes.PARAMETERS_LIST)
-        {
-            return new GrParameterListImpl(node);
-        }
-        if(elem == GroovyElementTypes.PARAMETER)
-        {
-            return new GrParameterImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.PARAMETERS_LIST, GrParameterListImpl::new);
+		creators.put(GroovyElementTypes.PARAMETER, GrParameterImpl::new);
 		//type parameters
-        if(elem == GroovyElementTypes.TYPE_ARGUMENT)
-        {
-            return new GrWildcardTypeArgumentImpl(node);
-        }
-        if(elem == GroovyElementTypes.TYPE_ARGUMENTS)
-        {
-            return new GrTypeArgumentListImpl(node);
-        }
-
-
-        if(elem == GroovyElementTypes.TYPE_PARAMETER_LIST)
-        {
-            return new GrTypeParameterListImpl(node);
-        }
-        if(elem == GroovyElementTypes.TYPE_PARAMETER)
-        {
-            return new GrTypeParameterImpl(node);
-        }
-        if(elem == GroovyElementTypes.TYPE_PARAMETER_EXTENDS_BOUND_LIST)
-        {
-            return new GrTypeParameterParameterExtendsListImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.TYPE_ARGUMENT, GrWildcardTypeArgumentImpl::new);
+		creators.put(GroovyElementTypes.TYPE_ARGUMENTS, GrTypeArgumentListImpl::new);
+		creators.put(GroovyElementTypes.TYPE_PARAMETER_LIST, GrTypeParameterListImpl::new);
+		creators.put(GroovyElementTypes.TYPE_PARAMETER, GrTypeParameterImpl::new);
+		creators.put(GroovyElementTypes.TYPE_PARAMETER_EXTENDS_BOUND_LIST, GrTypeParameterParameterExtendsListImpl::new);
 		//Branch statements
-        if(elem == GroovyElementTypes.RETURN_STATEMENT)
-        {
-            return new GrReturnStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.THROW_STATEMENT)
-        {
-            return new GrThrowStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.ASSERT_STATEMENT)
-        {
-            return new GrAssertStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.BREAK_STATEMENT)
-        {
-            return new GrBreakStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.CONTINUE_STATEMENT)
-        {
-            return new GrContinueStatementImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.RETURN_STATEMENT, GrReturnStatementImpl::new);
+		creators.put(GroovyElementTypes.THROW_STATEMENT, GrThrowStatementImpl::new);
+		creators.put(GroovyElementTypes.ASSERT_STATEMENT, GrAssertStatementImpl::new);
+		creators.put(GroovyElementTypes.BREAK_STATEMENT, GrBreakStatementImpl::new);
+		creators.put(GroovyElementTypes.CONTINUE_STATEMENT, GrContinueStatementImpl::new);
 		//expressions
-        if(elem == GroovyElementTypes.CALL_EXPRESSION)
-        {
-            return new GrApplicationStatementImpl(node);
-        }
-        if(elem == GroovyElementTypes.COMMAND_ARGUMENTS)
-        {
-            return new GrCommandArgumentListImpl(node);
-        }
-        if(elem == GroovyElementTypes.CONDITIONAL_EXPRESSION)
-        {
-            return new GrConditionalExprImpl(node);
-        }
-        if(elem == GroovyElementTypes.ELVIS_EXPRESSION)
-        {
-            return new GrElvisExprImpl(node);
-        }
-        if(elem == GroovyElementTypes.ASSIGNMENT_EXPRESSION)
-        {
-            return new GrAssignmentExpressionImpl(node);
-        }
-
-        if(elem == GroovyElementTypes.LOGICAL_OR_EXPRESSION)
-        {
-            return new GrLogicalExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.LOGICAL_AND_EXPRESSION)
-        {
-            return new GrLogicalExpressionImpl(node);
-        }
-
-        if(elem == GroovyElementTypes.EXCLUSIVE_OR_EXPRESSION)
-        {
-            return new GrBitwiseExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.INCLUSIVE_OR_EXPRESSION)
-        {
-            return new GrBitwiseExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.AND_EXPRESSION)
-        {
-            return new GrBitwiseExpressionImpl(node);
-        }
-
-        if(elem == GroovyElementTypes.REGEX_MATCH_EXPRESSION)
-        {
-            return new GrLogicalExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.REGEX_FIND_EXPRESSION)
-        {
-            return new GrRegexFindExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.EQUALITY_EXPRESSION)
-        {
-            return new GrRelationalExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.RELATIONAL_EXPRESSION)
-        {
-            return new GrRelationalExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.SHIFT_EXPRESSION)
-        {
-            return new GrShiftExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.RANGE_EXPRESSION)
-        {
-            return new GrRangeExpressionImpl(node);
-        }
-        if(TokenSets.SHIFT_SIGNS.contains(elem))
-        {
-            return new GrOperationSignImpl(node);
-        }
-        if(elem == GroovyElementTypes.ADDITIVE_EXPRESSION)
-        {
-            return new GrAdditiveExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.MULTIPLICATIVE_EXPRESSION)
-        {
-            return new GrMultiplicativeExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.POWER_EXPRESSION)
-        {
-            return new GrPowerExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.POWER_EXPRESSION_SIMPLE)
-        {
-            return new GrPowerExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.UNARY_EXPRESSION)
-        {
-            return new GrUnaryExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.CAST_EXPRESSION)
-        {
-            return new GrTypeCastExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.SAFE_CAST_EXPRESSION)
-        {
-            return new GrSafeCastExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.INSTANCEOF_EXPRESSION)
-        {
-            return new GrInstanceofExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.BUILT_IN_TYPE_EXPRESSION)
-        {
-            return new GrBuiltinTypeClassExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ARRAY_TYPE)
-        {
-            return new GrArrayTypeElementImpl(node);
-        }
-        if(elem == GroovyElementTypes.BUILT_IN_TYPE)
-        {
-            return new GrBuiltInTypeElementImpl(node);
-        }
-        if(elem == GroovyElementTypes.DISJUNCTION_TYPE_ELEMENT)
-        {
-            return new GrDisjunctionTypeElementImpl(node);
-        }
-        if(elem == GroovyElementTypes.GSTRING)
-        {
-            return new GrStringImpl(node);
-        }
-        if(elem == GroovyElementTypes.REGEX)
-        {
-            return new GrRegexImpl(node);
-        }
-        if(elem == GroovyElementTypes.GSTRING_INJECTION)
-        {
-            return new GrStringInjectionImpl(node);
-        }
-        if(elem == GroovyElementTypes.GSTRING_CONTENT)
-        {
-            return new GrStringContentImpl(node);
-        }
-        if(elem == GroovyElementTypes.REFERENCE_EXPRESSION)
-        {
-            return new GrReferenceExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.PARENTHESIZED_EXPRESSION)
-        {
-            return new GrParenthesizedExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.NEW_EXPRESSION)
-        {
-            return new GrNewExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ANONYMOUS_CLASS_DEFINITION)
-        {
-            return new GrAnonymousClassDefinitionImpl(node);
-        }
-        if(elem == GroovyElementTypes.ENUM_CONSTANT_INITIALIZER)
-        {
-            return new GrEnumConstantInitializerImpl(node);
-        }
-        if(elem == GroovyElementTypes.ARRAY_DECLARATOR)
-        {
-            return new GrArrayDeclarationImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.CALL_EXPRESSION, GrApplicationStatementImpl::new);
+		creators.put(GroovyElementTypes.COMMAND_ARGUMENTS, GrCommandArgumentListImpl::new);
+		creators.put(GroovyElementTypes.CONDITIONAL_EXPRESSION, GrConditionalExprImpl::new);
+		creators.put(GroovyElementTypes.ELVIS_EXPRESSION, GrElvisExprImpl::new);
+		creators.put(GroovyElementTypes.ASSIGNMENT_EXPRESSION, GrAssignmentExpressionImpl::new);
+		creators.put(GroovyElementTypes.LOGICAL_OR_EXPRESSION, GrLogicalExpressionImpl::new);
+		creators.put(GroovyElementTypes.LOGICAL_AND_EXPRESSION, GrLogicalExpressionImpl::new);
+		creators.put(GroovyElementTypes.EXCLUSIVE_OR_EXPRESSION, GrBitwiseExpressionImpl::new);
+		creators.put(GroovyElementTypes.INCLUSIVE_OR_EXPRESSION, GrBitwiseExpressionImpl::new);
+		creators.put(GroovyElementTypes.AND_EXPRESSION, GrBitwiseExpressionImpl::new);
+		creators.put(GroovyElementTypes.REGEX_MATCH_EXPRESSION, GrLogicalExpressionImpl::new);
+		creators.put(GroovyElementTypes.REGEX_FIND_EXPRESSION, GrRegexFindExpressionImpl::new);
+		creators.put(GroovyElementTypes.EQUALITY_EXPRESSION, GrRelationalExpressionImpl::new);
+		creators.put(GroovyElementTypes.RELATIONAL_EXPRESSION, GrRelationalExpressionImpl::new);
+		creators.put(GroovyElementTypes.SHIFT_EXPRESSION, GrShiftExpressionImpl::new);
+		creators.put(GroovyElementTypes.RANGE_EXPRESSION, GrRangeExpressionImpl::new);
+		for(IElementType sign : TokenSets.SHIFT_SIGNS.getTypes())
+		{
+			creators.put(sign, GrOperationSignImpl::new);
+		}
+		creators.put(GroovyElementTypes.ADDITIVE_EXPRESSION, GrAdditiveExpressionImpl::new);
+		creators.put(GroovyElementTypes.MULTIPLICATIVE_EXPRESSION, GrMultiplicativeExpressionImpl::new);
+		creators.put(GroovyElementTypes.POWER_EXPRESSION, GrPowerExpressionImpl::new);
+		creators.put(GroovyElementTypes.POWER_EXPRESSION_SIMPLE, GrPowerExpressionImpl::new);
+		creators.put(GroovyElementTypes.UNARY_EXPRESSION, GrUnaryExpressionImpl::new);
+		creators.put(GroovyElementTypes.CAST_EXPRESSION, GrTypeCastExpressionImpl::new);
+		creators.put(GroovyElementTypes.SAFE_CAST_EXPRESSION, GrSafeCastExpressionImpl::new);
+		creators.put(GroovyElementTypes.INSTANCEOF_EXPRESSION, GrInstanceofExpressionImpl::new);
+		creators.put(GroovyElementTypes.BUILT_IN_TYPE_EXPRESSION, GrBuiltinTypeClassExpressionImpl::new);
+		creators.put(GroovyElementTypes.ARRAY_TYPE, GrArrayTypeElementImpl::new);
+		creators.put(GroovyElementTypes.BUILT_IN_TYPE, GrBuiltInTypeElementImpl::new);
+		creators.put(GroovyElementTypes.DISJUNCTION_TYPE_ELEMENT, GrDisjunctionTypeElementImpl::new);
+		creators.put(GroovyElementTypes.GSTRING, GrStringImpl::new);
+		creators.put(GroovyElementTypes.REGEX, GrRegexImpl::new);
+		creators.put(GroovyElementTypes.GSTRING_INJECTION, GrStringInjectionImpl::new);
+		creators.put(GroovyElementTypes.GSTRING_CONTENT, GrStringContentImpl::new);
+		creators.put(GroovyElementTypes.REFERENCE_EXPRESSION, GrReferenceExpressionImpl::new);
+		creators.put(GroovyElementTypes.PARENTHESIZED_EXPRESSION, GrParenthesizedExpressionImpl::new);
+		creators.put(GroovyElementTypes.NEW_EXPRESSION, GrNewExpressionImpl::new);
+		creators.put(GroovyElementTypes.ANONYMOUS_CLASS_DEFINITION, GrAnonymousClassDefinitionImpl::new);
+		creators.put(GroovyElementTypes.ENUM_CONSTANT_INITIALIZER, GrEnumConstantInitializerImpl::new);
+		creators.put(GroovyElementTypes.ARRAY_DECLARATOR, GrArrayDeclarationImpl::new);
 		//Paths
-        if(elem == GroovyElementTypes.PATH_PROPERTY_REFERENCE)
-        {
-            return new GrPropertySelectionImpl(node);
-        }
-        if(elem == GroovyElementTypes.PATH_METHOD_CALL)
-        {
-            return new GrMethodCallExpressionImpl(node);
-        }
-        if(elem == GroovyElementTypes.PATH_INDEX_PROPERTY)
-        {
-            return new GrIndexPropertyImpl(node);
-        }
-
+		creators.put(GroovyElementTypes.PATH_PROPERTY_REFERENCE, GrPropertySelectionImpl::new);
+		creators.put(GroovyElementTypes.PATH_METHOD_CALL, GrMethodCallExpressionImpl::new);
+		creators.put(GroovyElementTypes.PATH_INDEX_PROPERTY, GrIndexPropertyImpl::new);
 		// Arguments
-		if(elem == GroovyElementTypes.ARGUMENTS)
-			return new GrArgumentListImpl(node);
-		if(elem == GroovyElementTypes.NAMED_ARGUMENT)
-			return new GrNamedArgumentImpl(node);
-		if(elem == GroovyElementTypes.SPREAD_ARGUMENT)
-			return new GrSpreadArgumentImpl(node);
-		if(elem == GroovyElementTypes.ARGUMENT_LABEL)
-			return new GrArgumentLabelImpl(node);
-
-		if(elem == GroovyElementTypes.BALANCED_BRACKETS)
-			return new GroovyASTPsiElementImpl(node);
-		if(elem == GroovyTokenTypes.mREGEX_LITERAL || elem == GroovyTokenTypes.mDOLLAR_SLASH_REGEX_LITERAL)
-			return new GroovyASTPsiElementImpl(node);
-
-		return new ASTWrapperPsiElement(node);
+		creators.put(GroovyElementTypes.ARGUMENTS, GrArgumentListImpl::new);
+		creators.put(GroovyElementTypes.NAMED_ARGUMENT, GrNamedArgumentImpl::new);
+		creators.put(GroovyElementTypes.SPREAD_ARGUMENT, GrSpreadArgumentImpl::new);
+		creators.put(GroovyElementTypes.ARGUMENT_LABEL, GrArgumentLabelImpl::new);
+		creators.put(GroovyElementTypes.BALANCED_BRACKETS, GroovyASTPsiElementImpl::new);
+		creators.put(GroovyTokenTypes.mREGEX_LITERAL, GroovyASTPsiElementImpl::new);
+		creators.put(GroovyTokenTypes.mDOLLAR_SLASH_REGEX_LITERAL, GroovyASTPsiElementImpl::new);
+
+		int size = 0;
+		for(IElementType type : creators.keySet())
+		{
+			size = Math.max(size, type.getIndex() + 1);
+		}
+		Function<ASTNode, PsiElement>[] result = new Function[size];
+		for(Map.Entry<IElementType, Function<ASTNode, PsiElement>> entry : creators.entrySet())
+		{
+			int index = entry.getKey().getIndex();
+			if(index >= 0)
+			{
+				result[index] = entry.getValue();
+			}
+			else
+			{
+				ourUnindexedCreators.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
 	}
 
 }
@@ -23,6 +23,7 @@ import org.jetbrains.plugins.groovy.lang.lexer.TokenSets;
 import org.jetbrains.plugins.groovy.lang.parser.GroovyElementTypes;
 import org.jetbrains.plugins.groovy.lang.parser.GroovyParser;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.TupleParse;
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserUtils;
 import consulo.language.parser.PsiBuilder.Marker;
 
@@ -66,7 +67,7 @@ public class AssignmentExpression {
       return TupleParse.parseTupleForAssignment(builder);
     }
 
-    if (comExprAllowed) {
+    if (comExprAllowed && !ParserMemo.hasFailed(builder, ParserMemo.Rule.COMMAND_EXPRESSION)) {
       Marker marker = builder.mark();
       ExpressionStatement.Result result = ExpressionStatement.parse(builder, parser);
       switch (result) {
@@ -78,6 +79,7 @@ public class AssignmentExpression {
           return true;
         case WRONG_WAY:
           marker.rollbackTo();
+          ParserMemo.rememberFailure(builder, ParserMemo.Rule.COMMAND_EXPRESSION);
       }
     }
     return ConditionalExpression.parse(builder, parser);
@@ -25,6 +25,7 @@ import org.jetbrains.plugins.groovy.lang.parser.GroovyParser;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.expressions.ConditionalExpression;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.typeDefinitions.ReferenceElement;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.types.TypeSpec;
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserUtils;
 
 /**
@@ -38,7 +39,7 @@ public class UnaryExpressionNotPlusMinus {
 
   public static boolean parse(PsiBuilder builder, GroovyParser parser, boolean runPostfixIfFail) {
     PsiBuilder.Marker marker = builder.mark();
-    if (builder.getTokenType() == GroovyTokenTypes.mLPAREN) {
+    if (builder.getTokenType() == GroovyTokenTypes.mLPAREN && !ParserMemo.hasFailed(builder, ParserMemo.Rule.TYPE_CAST)) {
       ReferenceElement.ReferenceElementResult result = parseTypeCast(builder);
       if (result != ReferenceElement.ReferenceElementResult.FAIL) {
         if (ConditionalExpression.parse(builder, parser) || result == ReferenceElement.ReferenceElementResult.REF_WITH_TYPE_PARAMS) {
@@ -46,6 +47,7 @@ public class UnaryExpressionNotPlusMinus {
           return true;
         } else {
           marker.rollbackTo();
+          ParserMemo.rememberFailure(builder, ParserMemo.Rule.TYPE_CAST);
           return runPostfix(builder, parser, runPostfixIfFail);
         }
       } else {
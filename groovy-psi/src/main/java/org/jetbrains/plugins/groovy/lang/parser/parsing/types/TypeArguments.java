@@ -21,6 +21,7 @@ import org.jetbrains.plugins.groovy.GroovyBundle;
 import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes;
 import org.jetbrains.plugins.groovy.lang.parser.GroovyElementTypes;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.statements.typeDefinitions.ReferenceElement;
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo;
 import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserUtils;
 
 /**
@@ -33,6 +34,20 @@ public class TypeArguments {
   }
   
   public static boolean parseTypeArguments(PsiBuilder builder, boolean expressionPossible, boolean allowDiamond) {
+    if (builder.getTokenType() != GroovyTokenTypes.mLT) return false;
+
+    // where an expression is possible '<' may be a relational operator, so failures here are common
+    ParserMemo.Rule rule = !expressionPossible ? null : allowDiamond ? ParserMemo.Rule.TYPE_ARGUMENTS_DIAMOND : ParserMemo.Rule.TYPE_ARGUMENTS;
+    if (rule != null && ParserMemo.hasFailed(builder, rule)) return false;
+
+    if (doParseTypeArguments(builder, expressionPossible, allowDiamond)) return true;
+    if (rule != null) {
+      ParserMemo.rememberFailure(builder, rule);
+    }
+    return false;
+  }
+
+  private static boolean doParseTypeArguments(PsiBuilder builder, boolean expressionPossible, boolean allowDiamond) {
     PsiBuilder.Marker marker = builder.mark();
 
     if (!ParserUtils.getToken(builder, GroovyTokenTypes.mLT)) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.parser.parsing.util;
+
+import consulo.language.parser.PsiBuilder;
+import consulo.util.dataholder.Key;
+import org.jetbrains.annotations.TestOnly;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers at which token offsets the speculative rules of the parser have already failed, per builder.
+ * <p>
+ * A speculative rule is tried at a position and rolled back entirely if it doesn't match, after which an alternative
+ * is parsed from the same position. The parser backtracks at a few sites: a statement start is tried as a declaration
+ * before an expression, an expression statement as a command expression ({@code foo a, b}) before a plain expression,
+ * an opening parenthesis as a type cast before a parenthesized expression, and {@code <} as type arguments where an
+ * expression is possible. A rolled back attempt has often gone through nested sites already, e.g. the casts and type
+ * arguments in the arguments of a failed command expression, and the alternative goes through them again. Closure
+ * and method bodies don't take part in this, they are parsed shallowly (see
+ * {@code OpenOrClosableBlock.parseBlockShallow}) unless the parser parses deep. The failure of a rule depends only on
+ * the tokens from its position on, so a failure once recorded here lets the rule be skipped on every later attempt at
+ * that offset.
+ * <p>
+ * Set {@code -Dgroovy.parser.memo=false} to parse without the memo, e.g. to compare against.
+ *
+ * @since 2026-10-19
+ */
+public final class ParserMemo {
+  public enum Rule {
+    /**
+     * {@code GroovyParser.parseDeclaration} at a statement start
+     */
+    STATEMENT_DECLARATION,
+    /**
+     * Command expression statement tried before a plain expression in {@code AssignmentExpression}
+     */
+    COMMAND_EXPRESSION,
+    /**
+     * Type cast tried at an opening parenthesis in {@code UnaryExpressionNotPlusMinus}
+     */
+    TYPE_CAST,
+    /**
+     * Type arguments tried where an expression is possible
+     */
+    TYPE_ARGUMENTS,
+    /**
+     * Type arguments tried where an expression is possible, the diamond allowed
+     */
+    TYPE_ARGUMENTS_DIAMOND
+  }
+
+  private static final Key<ParserMemo> MEMO_KEY = Key.create("groovy.parser.memo");
+
+  private static volatile boolean ourEnabled = !"false".equals(System.getProperty("groovy.parser.memo"));
+  private static final AtomicLong ourHits = new AtomicLong();
+
+  private final BitSet[] myFailures = new BitSet[Rule.values().length];
+
+  private ParserMemo() {
+  }
+
+  public static boolean isEnabled() {
+    return ourEnabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    ourEnabled = enabled;
+  }
+
+  /**
+   * @return how many attempts have been skipped thanks to a recorded failure
+   */
+  @TestOnly
+  public static long getHitCount() {
+    return ourHits.get();
+  }
+
+  public static boolean hasFailed(PsiBuilder builder, Rule rule) {
+    ParserMemo memo = builder.getUserData(MEMO_KEY);
+    if (memo == null) return false;
+    BitSet failures = memo.myFailures[rule.ordinal()];
+    if (failures == null || !failures.get(builder.getCurrentOffset())) return false;
+    ourHits.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Must be called at the position where {@code rule} was tried, i.e. after rolling it back.
+   */
+  public static void rememberFailure(PsiBuilder builder, Rule rule) {
+    if (!ourEnabled) return;
+    ParserMemo memo = builder.getUserData(MEMO_KEY);
+    if (memo == null) {
+      builder.putUserData(MEMO_KEY, memo = new ParserMemo());
+    }
+    BitSet failures = memo.myFailures[rule.ordinal()];
+    if (failures == null) {
+      memo.myFailures[rule.ordinal()] = failures = new BitSet();
+    }
+    failures.set(builder.getCurrentOffset());
+  }
+}
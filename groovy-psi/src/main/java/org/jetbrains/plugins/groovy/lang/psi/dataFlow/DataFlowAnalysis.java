@@ -0,0 +1,378 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.psi.dataFlow;
+
+import consulo.application.util.CachedValueProvider;
+import consulo.language.psi.PsiModificationTracker;
+import consulo.language.psi.util.LanguageCachedValueUtil;
+import consulo.util.lang.Pair;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import org.jetbrains.plugins.groovy.lang.psi.GrControlFlowOwner;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ControlFlowBuilderUtil;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.InstanceOfInstruction;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
+import org.jetbrains.plugins.groovy.lang.psi.controlFlow.impl.ArgumentInstruction;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.DefinitionMap;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsDfaInstance;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsSemilattice;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data flow facts of one control flow owner which the type inference and the data flow inspections share. The
+ * forward analyses run as components of one product lattice, so the owner's flow goes through the fixpoint
+ * iteration once:
+ * <ul>
+ * <li>reaching definitions as the type inference sees them, with instanceof checks and closure arguments
+ * defining the variable;</li>
+ * <li>reaching definitions of the writes only, from which the used definitions (the liveness of every write)
+ * are derived;</li>
+ * <li>the variables which may have been written once and more than once.</li>
+ * </ul>
+ * The reads without a prior write come from the single sweep of
+ * {@link ControlFlowBuilderUtil#getReadsWithoutPriorWrites}, which needs no fixpoint, and are cached here too.
+ * <p>
+ * If the product pass times out, the type inference gets its definitions from a pass of its own component, see
+ * {@link #getTypeDefinitions(GrControlFlowOwner)}, and the inspections skip the owner.
+ *
+ * @since 2026-10-19
+ */
+public class DataFlowAnalysis {
+  private static final AtomicInteger ourPassCount = new AtomicInteger();
+
+  private final Instruction[] myFlow;
+  private final ReachingDefinitionsDfaInstance myTypeDfa;
+  private final ReachingDefinitionsDfaInstance myWriteDfa;
+  private final List<DefinitionMap> myTypeDefinitions;
+  private final List<DefinitionMap> myWriteDefinitions;
+  private final List<State> myStates;
+
+  private volatile BitSet myUsedDefinitions;
+  private volatile ReadWriteVariableInstruction[] myReadsWithoutPriorWrites;
+
+  private DataFlowAnalysis(@Nonnull Instruction[] flow,
+                           @Nonnull ReachingDefinitionsDfaInstance typeDfa,
+                           @Nonnull ReachingDefinitionsDfaInstance writeDfa,
+                           @Nonnull List<State> states) {
+    myFlow = flow;
+    myTypeDfa = typeDfa;
+    myWriteDfa = writeDfa;
+    myStates = states;
+    myTypeDefinitions = new ArrayList<DefinitionMap>(states.size());
+    myWriteDefinitions = new ArrayList<DefinitionMap>(states.size());
+    for (State state : states) {
+      myTypeDefinitions.add(state.myTypeDefinitions);
+      myWriteDefinitions.add(state.getWriteDefinitions());
+    }
+  }
+
+  /**
+   * @return the analysis of {@code owner}, or null if its flow is too complex to analyze
+   */
+  @Nullable
+  public static DataFlowAnalysis getAnalysis(@Nonnull final GrControlFlowOwner owner) {
+    return LanguageCachedValueUtil.getCachedValue(owner, new CachedValueProvider<DataFlowAnalysis>() {
+      @Override
+      public Result<DataFlowAnalysis> compute() {
+        return Result.create(analyze(owner.getControlFlow()), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    });
+  }
+
+  /**
+   * @return the dfa instance numbering the variables and, per instruction, the definitions reaching it as the type
+   * inference sees them, or null if even the flow of the type component alone is too complex to analyze
+   */
+  @Nullable
+  public static Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>> getTypeDefinitions(@Nonnull final GrControlFlowOwner owner) {
+    DataFlowAnalysis analysis = getAnalysis(owner);
+    if (analysis != null) {
+      return Pair.create(analysis.myTypeDfa, analysis.myTypeDefinitions);
+    }
+
+    return LanguageCachedValueUtil.getCachedValue(owner, new CachedValueProvider<Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>>>() {
+      @Override
+      public Result<Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>>> compute() {
+        ourPassCount.incrementAndGet();
+        Instruction[] flow = owner.getControlFlow();
+        ReachingDefinitionsDfaInstance dfa = new TypeDefinitionsDfaInstance(flow);
+        List<DefinitionMap> definitions =
+          new DFAEngine<DefinitionMap>(flow, dfa, new ReachingDefinitionsSemilattice()).performDFAWithTimeout();
+        return Result.create(definitions == null ? null : Pair.create(dfa, definitions), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    });
+  }
+
+  @Nullable
+  private static DataFlowAnalysis analyze(@Nonnull Instruction[] flow) {
+    ourPassCount.incrementAndGet();
+    ReachingDefinitionsDfaInstance typeDfa = new TypeDefinitionsDfaInstance(flow);
+    ReachingDefinitionsDfaInstance writeDfa = new ReachingDefinitionsDfaInstance(flow);
+    boolean separateWriteDefinitions = hasNonWriteDefinitions(flow);
+    ProductDfaInstance dfa = new ProductDfaInstance(typeDfa, writeDfa, separateWriteDefinitions);
+    ProductSemilattice lattice = new ProductSemilattice(separateWriteDefinitions);
+    List<State> states = new DFAEngine<State>(flow, dfa, lattice).performDFAWithTimeout();
+    return states == null ? null : new DataFlowAnalysis(flow, typeDfa, writeDfa, states);
+  }
+
+  /**
+   * Without instructions the type inference treats as definitions both reaching definitions components are equal,
+   * and the second one is not computed.
+   */
+  private static boolean hasNonWriteDefinitions(@Nonnull Instruction[] flow) {
+    for (Instruction instruction : flow) {
+      if (instruction instanceof InstanceOfInstruction || instruction instanceof ArgumentInstruction) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Nonnull
+  public Instruction[] getFlow() {
+    return myFlow;
+  }
+
+  /**
+   * @return the dfa instance numbering the variables of {@link #getTypeDefinitions()}
+   */
+  @Nonnull
+  public ReachingDefinitionsDfaInstance getTypeDfaInstance() {
+    return myTypeDfa;
+  }
+
+  /**
+   * @return per instruction, the definitions reaching it as the type inference sees them
+   */
+  @Nonnull
+  public List<DefinitionMap> getTypeDefinitions() {
+    return myTypeDefinitions;
+  }
+
+  /**
+   * @return the dfa instance numbering the variables of {@link #getWriteDefinitions()}
+   */
+  @Nonnull
+  public ReachingDefinitionsDfaInstance getWriteDfaInstance() {
+    return myWriteDfa;
+  }
+
+  /**
+   * @return per instruction, the writes reaching it
+   */
+  @Nonnull
+  public List<DefinitionMap> getWriteDefinitions() {
+    return myWriteDefinitions;
+  }
+
+  /**
+   * @return whether the write {@code definition} reaches a read of its variable, i.e. whether its variable is live
+   * after it
+   */
+  public boolean isDefinitionUsed(int definition) {
+    BitSet used = myUsedDefinitions;
+    if (used == null) {
+      used = new BitSet(myFlow.length);
+      for (int i = 0; i < myFlow.length; i++) {
+        Instruction instruction = myFlow[i];
+        if (instruction instanceof ReadWriteVariableInstruction && !((ReadWriteVariableInstruction)instruction).isWrite()) {
+          int varIndex = myWriteDfa.getVarIndex(((ReadWriteVariableInstruction)instruction).getVariableName());
+          int[] definitions = myWriteDefinitions.get(i).getDefinitions(varIndex);
+          if (definitions != null) {
+            for (int def : definitions) {
+              used.set(def);
+            }
+          }
+        }
+      }
+      myUsedDefinitions = used;
+    }
+    return used.get(definition);
+  }
+
+  /**
+   * @return whether {@code varName} may have been written on some path to {@code instruction} and after it
+   */
+  public boolean isMaybeWritten(@Nonnull Instruction instruction, @Nonnull String varName) {
+    return myStates.get(instruction.num()).myWritten.get(myWriteDfa.getVarIndex(varName));
+  }
+
+  /**
+   * @return whether {@code varName} may have been written twice on some path to {@code instruction} and after it
+   */
+  public boolean isMaybeWrittenTwice(@Nonnull Instruction instruction, @Nonnull String varName) {
+    return myStates.get(instruction.num()).myWrittenTwice.get(myWriteDfa.getVarIndex(varName));
+  }
+
+  /**
+   * @return the first reads of the variables which may happen before any write to them
+   */
+  @Nonnull
+  public ReadWriteVariableInstruction[] getReadsWithoutPriorWrites() {
+    ReadWriteVariableInstruction[] reads = myReadsWithoutPriorWrites;
+    if (reads == null) {
+      reads = ControlFlowBuilderUtil.getReadsWithoutPriorWrites(myFlow, true);
+      myReadsWithoutPriorWrites = reads;
+    }
+    return reads;
+  }
+
+  /**
+   * @return how many flows have been analyzed since the start
+   */
+  @TestOnly
+  public static int getPassCount() {
+    return ourPassCount.get();
+  }
+
+  private static class TypeDefinitionsDfaInstance extends ReachingDefinitionsDfaInstance {
+    private final Instruction[] myFlow;
+
+    TypeDefinitionsDfaInstance(Instruction[] flow) {
+      super(flow);
+      myFlow = flow;
+    }
+
+    @Override
+    public void fun(DefinitionMap m, Instruction instruction) {
+      if (instruction instanceof InstanceOfInstruction) {
+        InstanceOfInstruction instanceOfInstruction = (InstanceOfInstruction)instruction;
+        ReadWriteVariableInstruction i = instanceOfInstruction.getInstructionToMixin(myFlow);
+        if (i != null) {
+          int varIndex = getVarIndex(i.getVariableName());
+          if (varIndex >= 0) {
+            m.registerDef(instruction, varIndex);
+          }
+        }
+      }
+      else if (instruction instanceof ArgumentInstruction) {
+        String variableName = ((ArgumentInstruction)instruction).getVariableName();
+        if (variableName != null) {
+          m.registerDef(instruction, getVarIndex(variableName));
+        }
+      }
+      else {
+        super.fun(m, instruction);
+      }
+    }
+  }
+
+  private static class State {
+    final DefinitionMap myTypeDefinitions;
+    // null if equal to myTypeDefinitions
+    @Nullable final DefinitionMap myWriteDefinitions;
+    final BitSet myWritten;
+    final BitSet myWrittenTwice;
+
+    State(@Nonnull DefinitionMap typeDefinitions, @Nullable DefinitionMap writeDefinitions) {
+      myTypeDefinitions = typeDefinitions;
+      myWriteDefinitions = writeDefinitions;
+      myWritten = new BitSet();
+      myWrittenTwice = new BitSet();
+    }
+
+    @Nonnull
+    DefinitionMap getWriteDefinitions() {
+      return myWriteDefinitions == null ? myTypeDefinitions : myWriteDefinitions;
+    }
+  }
+
+  private static class ProductDfaInstance implements DfaInstance<State> {
+    private final ReachingDefinitionsDfaInstance myTypeDfa;
+    private final ReachingDefinitionsDfaInstance myWriteDfa;
+    private final boolean mySeparateWriteDefinitions;
+
+    ProductDfaInstance(@Nonnull ReachingDefinitionsDfaInstance typeDfa,
+                       @Nonnull ReachingDefinitionsDfaInstance writeDfa,
+                       boolean separateWriteDefinitions) {
+      myTypeDfa = typeDfa;
+      myWriteDfa = writeDfa;
+      mySeparateWriteDefinitions = separateWriteDefinitions;
+    }
+
+    @Override
+    public void fun(State state, Instruction instruction) {
+      myTypeDfa.fun(state.myTypeDefinitions, instruction);
+      if (state.myWriteDefinitions != null) {
+        myWriteDfa.fun(state.myWriteDefinitions, instruction);
+      }
+
+      if (instruction instanceof ReadWriteVariableInstruction && ((ReadWriteVariableInstruction)instruction).isWrite()) {
+        int varIndex = myWriteDfa.getVarIndex(((ReadWriteVariableInstruction)instruction).getVariableName());
+        if (state.myWritten.get(varIndex)) {
+          state.myWrittenTwice.set(varIndex);
+        }
+        else {
+          state.myWritten.set(varIndex);
+        }
+      }
+    }
+
+    @Nonnull
+    @Override
+    public State initial() {
+      return new State(new DefinitionMap(), mySeparateWriteDefinitions ? new DefinitionMap() : null);
+    }
+
+    @Override
+    public boolean isForward() {
+      return true;
+    }
+  }
+
+  private static class ProductSemilattice implements Semilattice<State> {
+    private final ReachingDefinitionsSemilattice myDefinitions = new ReachingDefinitionsSemilattice();
+    private final boolean mySeparateWriteDefinitions;
+
+    ProductSemilattice(boolean separateWriteDefinitions) {
+      mySeparateWriteDefinitions = separateWriteDefinitions;
+    }
+
+    @Override
+    public State join(ArrayList<State> ins) {
+      ArrayList<DefinitionMap> typeDefinitions = new ArrayList<DefinitionMap>(ins.size());
+      ArrayList<DefinitionMap> writeDefinitions = new ArrayList<DefinitionMap>(ins.size());
+      for (State state : ins) {
+        typeDefinitions.add(state.myTypeDefinitions);
+        if (mySeparateWriteDefinitions) {
+          writeDefinitions.add(state.myWriteDefinitions);
+        }
+      }
+
+      State result = new State(myDefinitions.join(typeDefinitions),
+                               mySeparateWriteDefinitions ? myDefinitions.join(writeDefinitions) : null);
+      for (State state : ins) {
+        result.myWritten.or(state.myWritten);
+        result.myWrittenTwice.or(state.myWrittenTwice);
+      }
+      return result;
+    }
+
+    @Override
+    public boolean eq(State e1, State e2) {
+      return myDefinitions.eq(e1.myTypeDefinitions, e2.myTypeDefinitions) &&
+             (!mySeparateWriteDefinitions || myDefinitions.eq(e1.myWriteDefinitions, e2.myWriteDefinitions)) &&
+             e1.myWritten.equals(e2.myWritten) &&
+             e1.myWrittenTwice.equals(e2.myWrittenTwice);
+    }
+  }
+}
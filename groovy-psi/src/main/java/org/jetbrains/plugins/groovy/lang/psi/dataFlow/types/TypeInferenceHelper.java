@@ -36,17 +36,15 @@ import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.GrListOrMap;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrVariable;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.*;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.path.GrIndexProperty;
-import org.jetbrains.plugins.groovy.lang.psi.controlFlow.InstanceOfInstruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.MixinTypeInstruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.ReadWriteVariableInstruction;
-import org.jetbrains.plugins.groovy.lang.psi.controlFlow.impl.ArgumentInstruction;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DFAEngine;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DFAType;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DfaInstance;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.DefinitionMap;
 import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsDfaInstance;
-import org.jetbrains.plugins.groovy.lang.psi.dataFlow.reachingDefs.ReachingDefinitionsSemilattice;
 import org.jetbrains.plugins.groovy.lang.psi.impl.GrTupleType;
 import org.jetbrains.plugins.groovy.lang.psi.impl.InferenceContext;
 import org.jetbrains.plugins.groovy.lang.psi.impl.statements.expressions.TypesUtil;
@@ -164,45 +162,8 @@ public class TypeInferenceHelper {
   }
 
   @Nullable
-  private static Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>> getDefUseMaps(@Nonnull final
-                                                                                         GrControlFlowOwner scope) {
-    return LanguageCachedValueUtil.getCachedValue(scope, new CachedValueProvider<Pair<ReachingDefinitionsDfaInstance,
-      List<DefinitionMap>>>() {
-      @Override
-      public Result<Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>>> compute() {
-        final Instruction[] flow = scope.getControlFlow();
-        ReachingDefinitionsDfaInstance dfaInstance = new ReachingDefinitionsDfaInstance(flow) {
-          @Override
-          public void fun(DefinitionMap m, Instruction instruction) {
-            if (instruction instanceof InstanceOfInstruction) {
-              InstanceOfInstruction instanceOfInstruction = (InstanceOfInstruction)instruction;
-              ReadWriteVariableInstruction i = instanceOfInstruction.getInstructionToMixin(flow);
-              if (i != null) {
-                int varIndex = getVarIndex(i.getVariableName());
-                if (varIndex >= 0) {
-                  m.registerDef(instruction, varIndex);
-                }
-              }
-            }
-            else if (instruction instanceof ArgumentInstruction) {
-              String variableName = ((ArgumentInstruction)instruction).getVariableName();
-              if (variableName != null) {
-                m.registerDef(instruction, getVarIndex(variableName));
-              }
-            }
-            else {
-              super.fun(m, instruction);
-            }
-          }
-        };
-        ReachingDefinitionsSemilattice lattice = new ReachingDefinitionsSemilattice();
-        DFAEngine<DefinitionMap> engine = new DFAEngine<DefinitionMap>(flow, dfaInstance, lattice);
-        List<DefinitionMap> dfaResult = engine.performDFAWithTimeout();
-        Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>> result = dfaResult == null ? null : Pair
-          .create(dfaInstance, dfaResult);
-        return Result.create(result, PsiModificationTracker.MODIFICATION_COUNT);
-      }
-    });
+  private static Pair<ReachingDefinitionsDfaInstance, List<DefinitionMap>> getDefUseMaps(@Nonnull GrControlFlowOwner scope) {
+    return DataFlowAnalysis.getTypeDefinitions(scope);
   }
 
   @Nullable
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.psi.impl;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.component.util.ModificationTracker;
+import consulo.ide.ServiceManager;
+import consulo.language.psi.AnyPsiChangeListener;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiModificationTracker;
+import consulo.project.Project;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.blocks.GrOpenBlock;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.members.GrMethod;
+import org.jetbrains.plugins.groovy.lang.psi.impl.statements.blocks.GrBlockImpl;
+
+/**
+ * Counts the PSI modifications which may change something outside of a method body, so that results computed for
+ * code inside a body can depend on this tracker and the {@link GrBlockImpl#getLocalModificationTracker() local
+ * tracker} of the body instead of on {@link PsiModificationTracker#MODIFICATION_COUNT}, and survive edits in other
+ * method bodies.
+ * <p>
+ * A physical change is left out of the count only when all its tree changes were below an isolated body: the body
+ * of a constructor or of a method with a declared return type, which neither had nor has metaClass assignments,
+ * mixin calls or category classes. An edit in such a body can't change the signature, the inferred type or the
+ * members of anything outside of it. The first edit of a body is always counted, as its text before the edit
+ * hasn't been checked. Every other change, explicit {@link PsiModificationTracker#incCounter()}
+ * calls and changes of non-Groovy files included, increments the count.
+ *
+ * @since 2026-10-19
+ */
+@Singleton
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+public class GrCodeBlockModificationTracker implements ModificationTracker {
+  private final PsiModificationTracker myGlobalTracker;
+
+  private volatile long myInBodyModifications;
+
+  // the state of the current physical change, which runs under the write lock
+  private long myCountBeforeChange;
+  private boolean myBodyChanged;
+  private boolean myOutOfBodyChanged;
+  private boolean myTreeChangeInBody;
+
+  @Inject
+  public GrCodeBlockModificationTracker(Project project) {
+    myGlobalTracker = PsiModificationTracker.getInstance(project);
+
+    project.getMessageBus().connect().subscribe(AnyPsiChangeListener.class, new AnyPsiChangeListener() {
+      @Override
+      public void beforePsiChanged(boolean isPhysical) {
+        if (isPhysical) {
+          myCountBeforeChange = myGlobalTracker.getModificationCount();
+          myBodyChanged = false;
+          myOutOfBodyChanged = false;
+          myTreeChangeInBody = false;
+        }
+        else {
+          // a non-physical change nested in a physical one is counted as a whole
+          myOutOfBodyChanged = true;
+        }
+      }
+
+      @Override
+      public void afterPsiChanged(boolean isPhysical) {
+        if (isPhysical && myBodyChanged && !myOutOfBodyChanged) {
+          myInBodyModifications += myGlobalTracker.getModificationCount() - myCountBeforeChange;
+        }
+      }
+    });
+  }
+
+  public static GrCodeBlockModificationTracker getInstance(@Nonnull Project project) {
+    return ServiceManager.getService(project, GrCodeBlockModificationTracker.class);
+  }
+
+  @Override
+  public long getModificationCount() {
+    return myGlobalTracker.getModificationCount() - myInBodyModifications;
+  }
+
+  /**
+   * @return the dependencies of a cached value computed for {@code place}: the local tracker of the outermost
+   * isolated body containing it and this tracker, or the global modification count when there is no such body
+   */
+  @Nonnull
+  public Object[] getDependencies(@Nonnull PsiElement place) {
+    GrOpenBlock body = getEnclosingBody(place);
+    if (body instanceof GrBlockImpl) {
+      return new Object[]{((GrBlockImpl)body).getLocalModificationTracker(), this};
+    }
+    return new Object[]{PsiModificationTracker.MODIFICATION_COUNT};
+  }
+
+  @Nullable
+  public static GrOpenBlock getEnclosingBody(@Nonnull PsiElement place) {
+    GrOpenBlock body = null;
+    for (PsiElement e = place; e != null && !(e instanceof PsiFile); e = e.getParent()) {
+      if (isIsolatedBody(e)) {
+        body = (GrOpenBlock)e;
+      }
+    }
+    return body;
+  }
+
+  public static boolean isIsolatedBody(@Nonnull PsiElement element) {
+    if (!(element instanceof GrOpenBlock) || !(element.getParent() instanceof GrMethod method)) return false;
+    return method.getBlock() == element && (method.isConstructor() || method.getReturnTypeElementGroovy() != null);
+  }
+
+  /**
+   * Called by {@link GrBlockImpl#clearCaches()} when a tree change goes up through an isolated body.
+   *
+   * @param declaresMembers whether the body had or has metaClass assignments, mixin calls or category classes,
+   *                        which add members to classes used outside of it
+   */
+  public void bodyChanged(boolean declaresMembers) {
+    myBodyChanged = true;
+    myTreeChangeInBody = true;
+    if (declaresMembers) {
+      myOutOfBodyChanged = true;
+    }
+  }
+
+  /**
+   * Called by {@link GroovyFileBaseImpl#subtreeChanged()} at the end of every tree change of a Groovy file.
+   */
+  public void fileChanged() {
+    if (!myTreeChangeInBody) {
+      myOutOfBodyChanged = true;
+    }
+    myTreeChangeInBody = false;
+  }
+}
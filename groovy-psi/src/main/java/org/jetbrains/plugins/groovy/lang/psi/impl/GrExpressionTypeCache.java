@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.psi.impl;
+
+import com.intellij.java.language.psi.PsiAnnotation;
+import com.intellij.java.language.psi.PsiPrimitiveType;
+import com.intellij.java.language.psi.PsiType;
+import consulo.language.psi.PsiFile;
+import consulo.util.collection.ContainerUtil;
+import consulo.util.dataholder.Key;
+import consulo.util.dataholder.UserDataHolderEx;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElement;
+
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expression type cache used by {@link GroovyPsiManager#getType}.
+ * <p>
+ * Types are kept in per-file open addressing tables (parallel key/value slot arrays) instead of one weak map over
+ * all typed elements, so typing a file costs two array writes per expression and dropping the cache releases whole
+ * tables at once. A table lives in the user data of its file, so its elements and types are reachable only through
+ * the file and go away with it. A table grows up to {@link #MAX_FILE_SLOTS} slots; types of files with more typed
+ * elements and of elements without a containing file go to a weak map as before.
+ * <p>
+ * {@link #clear()} empties the tables created since the previous clear and bumps the generation, so a table left in
+ * the user data of a file is replaced on the next lookup rather than read.
+ *
+ * @since 2026-10-19
+ */
+final class GrExpressionTypeCache {
+  private static final Key<FileTable> FILE_TABLE = Key.create("groovy.expression.types");
+
+  static final int INITIAL_FILE_SLOTS = 256;
+  static final int MAX_FILE_SLOTS = 1 << 16;
+
+  private final int myInitialFileSlots;
+  private final int myMaxFileSlots;
+
+  private final Queue<WeakReference<FileTable>> myTables = new ConcurrentLinkedQueue<WeakReference<FileTable>>();
+  private final AtomicInteger myGeneration = new AtomicInteger();
+  private final ConcurrentMap<GroovyPsiElement, PsiType> myOverflow = ContainerUtil.createConcurrentWeakMap();
+
+  private final LongAdder myHits = new LongAdder();
+  private final LongAdder myMisses = new LongAdder();
+  private final LongAdder myOverflows = new LongAdder();
+
+  GrExpressionTypeCache() {
+    this(INITIAL_FILE_SLOTS, MAX_FILE_SLOTS);
+  }
+
+  /**
+   * @param initialFileSlots initial capacity of a file table, a power of two
+   * @param maxFileSlots     capacity at which a file table stops growing, a power of two
+   */
+  GrExpressionTypeCache(int initialFileSlots, int maxFileSlots) {
+    assert Integer.bitCount(initialFileSlots) == 1 && Integer.bitCount(maxFileSlots) == 1 && initialFileSlots <= maxFileSlots;
+    myInitialFileSlots = initialFileSlots;
+    myMaxFileSlots = maxFileSlots;
+  }
+
+  /**
+   * Looks up the type of {@code element} and counts the lookup as a hit or a miss.
+   */
+  @Nullable
+  PsiType get(@Nonnull GroovyPsiElement element) {
+    PsiType type = peek(element);
+    if (type == null) {
+      myMisses.increment();
+    }
+    else {
+      myHits.increment();
+    }
+    return type;
+  }
+
+  /**
+   * Looks up the type of {@code element} without counting, for a second look after a miss was already counted.
+   */
+  @Nullable
+  PsiType peek(@Nonnull GroovyPsiElement element) {
+    FileTable table = getTable(element, false);
+    PsiType type = table != null ? table.get(element) : null;
+    if (type == null) {
+      type = myOverflow.get(element);
+    }
+    return type;
+  }
+
+  /**
+   * @return the type already cached for {@code element} by a concurrent computation, or {@code type}
+   */
+  @Nonnull
+  PsiType cacheOrGet(@Nonnull GroovyPsiElement element, @Nonnull PsiType type) {
+    FileTable table = getTable(element, true);
+    if (table != null) {
+      PsiType cached = table.putIfAbsent(element, type);
+      if (cached != FileTable.FULL) {
+        return cached != null ? cached : type;
+      }
+      myOverflows.increment();
+    }
+
+    PsiType cached = myOverflow.putIfAbsent(element, type);
+    return cached != null ? cached : type;
+  }
+
+  void clear() {
+    myGeneration.incrementAndGet();
+    for (WeakReference<FileTable> ref = myTables.poll(); ref != null; ref = myTables.poll()) {
+      FileTable table = ref.get();
+      if (table != null) {
+        table.clear();
+      }
+    }
+    myOverflow.clear();
+  }
+
+  @Nonnull
+  String getStatistics() {
+    int files = 0;
+    for (WeakReference<FileTable> ref : myTables) {
+      if (ref.get() != null) files++;
+    }
+    return "hits=" + myHits.sum() + ", misses=" + myMisses.sum() + ", overflows=" + myOverflows.sum() + ", files=" + files;
+  }
+
+  @Nullable
+  private FileTable getTable(@Nonnull GroovyPsiElement element, boolean create) {
+    PsiFile file = element.getContainingFile();
+    if (!(file instanceof UserDataHolderEx)) return null;
+
+    int generation = myGeneration.get();
+    while (true) {
+      FileTable table = file.getUserData(FILE_TABLE);
+      if (table != null && table.myOwner == this && table.myGeneration == generation) return table;
+      if (!create) return null;
+
+      FileTable newTable = new FileTable(this, generation);
+      boolean stored = table == null
+                       ? ((UserDataHolderEx)file).putUserDataIfAbsent(FILE_TABLE, newTable) == newTable
+                       : ((UserDataHolderEx)file).replace(FILE_TABLE, table, newTable);
+      if (stored) {
+        myTables.add(new WeakReference<FileTable>(newTable));
+        return newTable;
+      }
+    }
+  }
+
+  private static final class FileTable {
+    private static final PsiType FULL = new PsiPrimitiveType("full", PsiAnnotation.EMPTY_ARRAY);
+    private static final Slots EMPTY = new Slots(1);
+
+    private final GrExpressionTypeCache myOwner;
+    private final int myGeneration;
+    private volatile Slots mySlots;
+    private int mySize;
+
+    FileTable(@Nonnull GrExpressionTypeCache owner, int generation) {
+      myOwner = owner;
+      myGeneration = generation;
+      mySlots = new Slots(owner.myInitialFileSlots);
+    }
+
+    @Nullable
+    PsiType get(@Nonnull GroovyPsiElement element) {
+      return mySlots.get(element);
+    }
+
+    /**
+     * @return previously cached type, null if {@code type} was stored, or {@link #FULL} if the table is exhausted
+     */
+    @Nullable
+    synchronized PsiType putIfAbsent(@Nonnull GroovyPsiElement element, @Nonnull PsiType type) {
+      PsiType cached = mySlots.get(element);
+      if (cached != null) return cached;
+
+      Slots slots = mySlots;
+      if ((mySize + 1) * 4 > slots.capacity() * 3) {
+        if (slots.capacity() >= myOwner.myMaxFileSlots) return FULL;
+        slots = slots.grow(Math.max(slots.capacity() * 2, myOwner.myInitialFileSlots));
+        mySlots = slots;
+      }
+      slots.put(element, type);
+      mySize++;
+      return null;
+    }
+
+    /**
+     * Releases the elements and types; a lookup which got the table before the clear sees it empty.
+     */
+    synchronized void clear() {
+      mySlots = EMPTY;
+      mySize = 0;
+    }
+  }
+
+  private static final class Slots {
+    private final AtomicReferenceArray<GroovyPsiElement> myKeys;
+    private final AtomicReferenceArray<PsiType> myValues;
+
+    Slots(int capacity) {
+      myKeys = new AtomicReferenceArray<GroovyPsiElement>(capacity);
+      myValues = new AtomicReferenceArray<PsiType>(capacity);
+    }
+
+    int capacity() {
+      return myKeys.length();
+    }
+
+    @Nullable
+    PsiType get(@Nonnull GroovyPsiElement element) {
+      int mask = myKeys.length() - 1;
+      for (int i = hash(element) & mask; ; i = (i + 1) & mask) {
+        GroovyPsiElement key = myKeys.get(i);
+        if (key == null) return null;
+        if (key == element) return myValues.get(i);
+      }
+    }
+
+    /**
+     * Values are published before keys, so a lock-free reader seeing a key sees its value.
+     */
+    void put(@Nonnull GroovyPsiElement element, @Nonnull PsiType type) {
+      int mask = myKeys.length() - 1;
+      int i = hash(element) & mask;
+      while (myKeys.get(i) != null) {
+        i = (i + 1) & mask;
+      }
+      myValues.set(i, type);
+      myKeys.set(i, element);
+    }
+
+    @Nonnull
+    Slots grow(int capacity) {
+      Slots result = new Slots(capacity);
+      for (int i = 0; i < myKeys.length(); i++) {
+        GroovyPsiElement key = myKeys.get(i);
+        if (key != null) {
+          result.put(key, myValues.get(i));
+        }
+      }
+      return result;
+    }
+
+    private static int hash(@Nonnull Object o) {
+      int h = System.identityHashCode(o);
+      return h ^ (h >>> 16);
+    }
+  }
+}
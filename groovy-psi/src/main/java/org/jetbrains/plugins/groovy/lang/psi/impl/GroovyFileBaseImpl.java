@@ -64,6 +64,9 @@ public abstract class GroovyFileBaseImpl extends PsiFileBase implements GroovyFi
   public void subtreeChanged() {
     super.subtreeChanged();
     myMethods = null;
+    if (isPhysical()) {
+      GrCodeBlockModificationTracker.getInstance(getProject()).fileChanged();
+    }
   }
 
   protected GroovyFileBaseImpl(FileViewProvider viewProvider, @Nonnull Language language) {
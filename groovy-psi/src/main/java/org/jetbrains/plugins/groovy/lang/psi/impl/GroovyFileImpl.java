@@ -54,6 +54,7 @@ import org.jetbrains.plugins.groovy.lang.psi.impl.synthetic.GrLightParameter;
 import org.jetbrains.plugins.groovy.lang.psi.impl.synthetic.GroovyScriptClass;
 import org.jetbrains.plugins.groovy.lang.psi.stubs.GrFileStub;
 import org.jetbrains.plugins.groovy.lang.psi.stubs.GrPackageDefinitionStub;
+import org.jetbrains.plugins.groovy.lang.resolve.GrScopeDeclarations;
 import org.jetbrains.plugins.groovy.lang.resolve.MethodTypeInferencer;
 import org.jetbrains.plugins.groovy.lang.resolve.PackageSkippingProcessor;
 import org.jetbrains.plugins.groovy.lang.resolve.ResolveUtil;
@@ -322,6 +323,11 @@ public class GroovyFileImpl extends GroovyFileBaseImpl implements GroovyFile {
       // won't see our variables
     }
 
+    String name = ResolveUtil.getNameHint(processor);
+    if (name != null && GrScopeDeclarations.isEnabled()) {
+      return lastParent instanceof GrMember || GrScopeDeclarations.processChildren(this, name, processor, state, lastParent, place);
+    }
+
     PsiElement run = lastParent == null ? getLastChild() : lastParent.getPrevSibling();
     while (run != null) {
       if (shouldProcess(lastParent, run) && !run.processDeclarations(processor, state, null, place)) {
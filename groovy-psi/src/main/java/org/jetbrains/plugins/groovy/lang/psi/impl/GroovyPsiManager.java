@@ -77,7 +77,7 @@ public class GroovyPsiManager {
 
   private volatile Map<String, GrTypeDefinition> myArrayClass = new HashMap<String, GrTypeDefinition>();
 
-  private final ConcurrentMap<GroovyPsiElement, PsiType> myCalculatedTypes = ContainerUtil.createConcurrentWeakMap();
+  private final GrExpressionTypeCache myCalculatedTypes = new GrExpressionTypeCache();
   private final ConcurrentMap<String, SoftReference<Map<GlobalSearchScope, PsiClass>>> myClassCache = ContainerUtil.newConcurrentMap();
   private final ConcurrentMap<PsiMember, Boolean> myCompileStatic = ContainerUtil.newConcurrentMap();
 
@@ -203,10 +203,10 @@ public class GroovyPsiManager {
         type = UNKNOWN_TYPE;
       }
       if (stamp.mayCacheNow()) {
-        type = Maps.cacheOrGet(myCalculatedTypes, element, type);
+        type = myCalculatedTypes.cacheOrGet(element, type);
       }
       else {
-        PsiType alreadyInferred = myCalculatedTypes.get(element);
+        PsiType alreadyInferred = myCalculatedTypes.peek(element);
         if (alreadyInferred != null) {
           type = alreadyInferred;
         }
@@ -218,6 +218,14 @@ public class GroovyPsiManager {
     return UNKNOWN_TYPE == type ? null : type;
   }
 
+  /**
+   * @return hit/miss counters of the expression type cache, for diagnostics
+   */
+  @Nonnull
+  public String getTypeCacheStatistics() {
+    return myCalculatedTypes.getStatistics();
+  }
+
   @Nullable
   public GrTypeDefinition getArrayClass(@Nonnull PsiType type) {
     String typeText = type.getCanonicalText();
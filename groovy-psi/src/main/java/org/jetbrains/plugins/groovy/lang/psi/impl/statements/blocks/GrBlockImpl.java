@@ -20,6 +20,7 @@ import consulo.annotation.access.RequiredWriteAction;
 import consulo.application.util.CachedValue;
 import consulo.application.util.CachedValueProvider;
 import consulo.application.util.CachedValuesManager;
+import consulo.component.util.ModificationTracker;
 import consulo.language.ast.ASTNode;
 import consulo.language.ast.IElementType;
 import consulo.language.impl.ast.Factory;
@@ -46,8 +47,10 @@ import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.literals
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.params.GrParameterList;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.Instruction;
 import org.jetbrains.plugins.groovy.lang.psi.controlFlow.impl.ControlFlowBuilder;
+import org.jetbrains.plugins.groovy.lang.psi.impl.GrCodeBlockModificationTracker;
 import org.jetbrains.plugins.groovy.lang.psi.impl.GroovyPsiElementImpl;
 import org.jetbrains.plugins.groovy.lang.psi.impl.PsiImplUtil;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.index.GrMetaProgrammingIndex;
 import org.jetbrains.plugins.groovy.lang.psi.util.PsiUtil;
 import org.jetbrains.plugins.groovy.lang.resolve.ResolveUtil;
 
@@ -57,6 +60,10 @@ import org.jetbrains.plugins.groovy.lang.resolve.ResolveUtil;
 public abstract class GrBlockImpl extends LazyParseablePsiElement implements GrCodeBlock, GrControlFlowOwner {
   private static final Key<CachedValue<Instruction[]>> CONTROL_FLOW = Key.create("Control flow");
 
+  private volatile long myLocalModificationCount;
+  // whether the text may add members to classes, true until the text of the block has been checked
+  private volatile boolean myMayDeclareMembers = true;
+
   protected GrBlockImpl(@Nonnull IElementType type, CharSequence buffer) {
     super(type, buffer);
   }
@@ -94,6 +101,21 @@ public abstract class GrBlockImpl extends LazyParseablePsiElement implements GrC
   public void clearCaches() {
     super.clearCaches();
     putUserData(CONTROL_FLOW, null);
+    myLocalModificationCount++;
+    if (GrCodeBlockModificationTracker.isIsolatedBody(this) && isPhysical()) {
+      // a metaClass assignment, mixin or category added or removed here changes members of classes used elsewhere
+      boolean mayHaveDeclaredMembers = myMayDeclareMembers;
+      myMayDeclareMembers = GrMetaProgrammingIndex.mayContainDeclarations(getText());
+      GrCodeBlockModificationTracker.getInstance(getProject()).bodyChanged(mayHaveDeclaredMembers || myMayDeclareMembers);
+    }
+  }
+
+  /**
+   * @return the tracker of changes within this block, see {@link GrCodeBlockModificationTracker}
+   */
+  @Nonnull
+  public ModificationTracker getLocalModificationTracker() {
+    return () -> myLocalModificationCount;
   }
 
   @Override
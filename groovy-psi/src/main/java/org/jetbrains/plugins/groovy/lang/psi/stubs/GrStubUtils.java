@@ -37,6 +37,7 @@ import org.jetbrains.plugins.groovy.lang.psi.impl.auxiliary.modifiers.GrModifier
 import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * User: Dmitry.Krasilschikov
@@ -46,6 +47,8 @@ public class GrStubUtils {
   private static final Logger LOG = Logger.getInstance(GrStubUtils.class);
   public static final int TOO_LONG = -1;
 
+  private static final ConcurrentMap<String, String> ourTypeTexts = ContainerUtil.createConcurrentWeakKeyWeakValueMap();
+
   public static void writeStringArray(StubOutputStream dataStream, String[] array) throws IOException {
     if (array.length > Byte.MAX_VALUE) {
       dataStream.writeByte(TOO_LONG);
@@ -85,6 +88,23 @@ public class GrStubUtils {
     return hasTypeText ? dataStream.readUTFFast() : null;
   }
 
+  /**
+   * Type texts repeat a lot (every {@code String} parameter, every {@code Map<String, Object>} field), so they are
+   * written as ids of the name enumerator shared by all stubs instead of inline strings, and interned on read so that
+   * the loaded stubs of different members and files share the strings.
+   */
+  public static void writeTypeText(StubOutputStream dataStream, @Nullable String typeText) throws IOException {
+    dataStream.writeName(typeText);
+  }
+
+  @Nullable
+  public static String readTypeText(StubInputStream dataStream) throws IOException {
+    String typeText = dataStream.readNameString();
+    if (typeText == null) return null;
+    String interned = ourTypeTexts.putIfAbsent(typeText, typeText);
+    return interned != null ? interned : typeText;
+  }
+
   @Nullable
   public static String getTypeText(@Nullable GrTypeElement typeElement) {
     return typeElement == null ? null : typeElement.getText();
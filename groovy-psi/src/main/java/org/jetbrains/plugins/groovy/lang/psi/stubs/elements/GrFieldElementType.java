@@ -88,7 +88,7 @@ public class GrFieldElementType extends GrStubElementType<GrFieldStub, GrField>
     GrStubUtils.writeStringArray(dataStream, stub.getAnnotations());
     GrStubUtils.writeStringArray(dataStream, stub.getNamedParameters());
     dataStream.writeByte(stub.getFlags());
-    GrStubUtils.writeNullableString(dataStream, stub.getTypeText());
+    GrStubUtils.writeTypeText(dataStream, stub.getTypeText());
   }
 
   static GrFieldStub deserializeFieldStub(StubInputStream dataStream, StubElement parentStub) throws IOException {
@@ -96,7 +96,7 @@ public class GrFieldElementType extends GrStubElementType<GrFieldStub, GrField>
     String[] annNames = GrStubUtils.readStringArray(dataStream);
     String[] namedParameters = GrStubUtils.readStringArray(dataStream);
     byte flags = dataStream.readByte();
-    String typeText = GrStubUtils.readNullableString(dataStream);
+    String typeText = GrStubUtils.readTypeText(dataStream);
     return new GrFieldStub(parentStub, ref, annNames, namedParameters, GrFieldStub.isEnumConstant(flags) ? ENUM_CONSTANT : FIELD,
                                flags, typeText);
   }
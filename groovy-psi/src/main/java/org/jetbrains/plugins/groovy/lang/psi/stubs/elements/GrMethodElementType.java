@@ -57,7 +57,7 @@ public abstract class GrMethodElementType extends GrStubElementType<GrMethodStub
     dataStream.writeName(stub.getName());
     GrStubUtils.writeStringArray(dataStream, stub.getAnnotations());
     GrStubUtils.writeStringArray(dataStream, stub.getNamedParameters());
-    GrStubUtils.writeNullableString(dataStream, stub.getTypeText());
+    GrStubUtils.writeTypeText(dataStream, stub.getTypeText());
     dataStream.writeByte(stub.getFlags());
   }
 
@@ -67,7 +67,7 @@ public abstract class GrMethodElementType extends GrStubElementType<GrMethodStub
     StringRef ref = dataStream.readName();
     String[] annNames = GrStubUtils.readStringArray(dataStream);
     String[] namedParameters = GrStubUtils.readStringArray(dataStream);
-    String typeText = GrStubUtils.readNullableString(dataStream);
+    String typeText = GrStubUtils.readTypeText(dataStream);
     byte flags = dataStream.readByte();
     return new GrMethodStub(parentStub, ref, annNames, namedParameters, this, typeText, flags);
   }
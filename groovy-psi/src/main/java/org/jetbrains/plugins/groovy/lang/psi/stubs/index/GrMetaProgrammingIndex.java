@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.psi.stubs.index;
+
+import com.intellij.java.language.psi.PsiAnnotationMemberValue;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import consulo.language.psi.stub.DefaultFileTypeSpecificInputFilter;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileContent;
+import consulo.language.psi.stub.ScalarIndexExtension;
+import consulo.util.collection.MultiMap;
+import consulo.util.lang.StringUtil;
+import org.jetbrains.plugins.groovy.GroovyFileType;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.GrModifierList;
+import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.annotation.GrAnnotation;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrAssignmentExpression;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrExpression;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrMethodCall;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrReferenceExpression;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.util.GroovyCommonClassNames;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Groovy files adding members to classes at runtime, keyed by the short name of the class they add members to:
+ * <ul>
+ * <li>{@code Foo.metaClass.bar = {...}}</li>
+ * <li>{@code Foo.mixin(Bar)} and {@code Foo.metaClass.mixin(Bar)}</li>
+ * <li>{@code @Category(Foo) class Bar}</li>
+ * </ul>
+ * The index is syntactic, candidates found by it are resolved by
+ * {@link org.jetbrains.plugins.groovy.lang.resolve.noncode.MetaProgrammingMemberContributor}.
+ *
+ * @since 2026-10-19
+ */
+@ExtensionImpl
+public class GrMetaProgrammingIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create("GrMetaProgrammingIndex");
+
+  private static final String METACLASS = "metaClass";
+  private static final String GET_METACLASS = "getMetaClass";
+  private static final String MIXIN = "mixin";
+  private static final String CATEGORY = StringUtil.getShortName(GroovyCommonClassNames.GROOVY_LANG_CATEGORY);
+
+  private final EnumeratorStringDescriptor myKeyDescriptor = new EnumeratorStringDescriptor();
+
+  @Override
+  @Nonnull
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @Override
+  @Nonnull
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return new DataIndexer<String, Void, FileContent>() {
+      @Nonnull
+      @Override
+      public Map<String, Void> map(@Nonnull FileContent inputData) {
+        if (!mayContainDeclarations(inputData.getContentAsText())) {
+          return Map.of();
+        }
+
+        PsiFile file = inputData.getPsiFile();
+        if (!(file instanceof GroovyFile)) return Map.of();
+
+        Map<String, Void> result = new HashMap<String, Void>();
+        for (String name : collectDeclarations((GroovyFile)file).keySet()) {
+          result.put(name, null);
+        }
+        return result;
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return myKeyDescriptor;
+  }
+
+  @Nonnull
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(GroovyFileType.GROOVY_FILE_TYPE);
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return 0;
+  }
+
+  /**
+   * @return false if {@code text} surely has no metaClass assignments, mixin calls and category classes
+   */
+  public static boolean mayContainDeclarations(@Nonnull CharSequence text) {
+    return StringUtil.contains(text, METACLASS) || StringUtil.contains(text, MIXIN) || StringUtil.contains(text, CATEGORY);
+  }
+
+  /**
+   * @return metaClass assignments and mixin calls ({@link org.jetbrains.plugins.groovy.lang.psi.api.statements.GrStatement}s)
+   * and category classes ({@link GrTypeDefinition}s) of the file by the short name of the class they add members to
+   */
+  @Nonnull
+  public static MultiMap<String, PsiElement> collectDeclarations(@Nonnull GroovyFile file) {
+    final MultiMap<String, PsiElement> result = new MultiMap<String, PsiElement>();
+    file.accept(new PsiRecursiveElementWalkingVisitor() {
+      @Override
+      public void visitElement(PsiElement element) {
+        String target = null;
+        if (element instanceof GrAssignmentExpression) {
+          target = getMetaClassAssignmentTarget((GrAssignmentExpression)element);
+        }
+        else if (element instanceof GrMethodCall) {
+          target = getMixinTarget((GrMethodCall)element);
+        }
+        else if (element instanceof GrTypeDefinition) {
+          target = getCategoryTarget((GrTypeDefinition)element);
+        }
+        if (target != null) {
+          result.putValue(target, element);
+        }
+        super.visitElement(element);
+      }
+    });
+    return result;
+  }
+
+  @Nullable
+  private static String getMetaClassAssignmentTarget(@Nonnull GrAssignmentExpression assignment) {
+    GrExpression lValue = assignment.getLValue();
+    if (!(lValue instanceof GrReferenceExpression)) return null;
+
+    GrExpression metaClass = ((GrReferenceExpression)lValue).getQualifier();
+    if (!isMetaClassRef(metaClass)) return null;
+    return getClassName(((GrReferenceExpression)metaClass).getQualifier());
+  }
+
+  @Nullable
+  private static String getMixinTarget(@Nonnull GrMethodCall call) {
+    GrExpression invoked = call.getInvokedExpression();
+    if (!(invoked instanceof GrReferenceExpression) || !MIXIN.equals(((GrReferenceExpression)invoked).getReferenceName())) {
+      return null;
+    }
+
+    GrExpression qualifier = ((GrReferenceExpression)invoked).getQualifier();
+    if (qualifier instanceof GrMethodCall) {
+      qualifier = ((GrMethodCall)qualifier).getInvokedExpression();
+    }
+    if (isMetaClassRef(qualifier)) {
+      qualifier = ((GrReferenceExpression)qualifier).getQualifier();
+    }
+    return getClassName(qualifier);
+  }
+
+  @Nullable
+  private static String getCategoryTarget(@Nonnull GrTypeDefinition definition) {
+    GrModifierList modifierList = definition.getModifierList();
+    if (modifierList == null) return null;
+
+    for (GrAnnotation annotation : modifierList.getRawAnnotations()) {
+      if (!CATEGORY.equals(annotation.getShortName())) continue;
+
+      PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("value");
+      return value instanceof GrExpression ? getClassName((GrExpression)value) : null;
+    }
+    return null;
+  }
+
+  private static boolean isMetaClassRef(@Nullable GrExpression expression) {
+    if (!(expression instanceof GrReferenceExpression)) return false;
+    String name = ((GrReferenceExpression)expression).getReferenceName();
+    return METACLASS.equals(name) || GET_METACLASS.equals(name);
+  }
+
+  /**
+   * @return {@code Foo} for {@code Foo}, {@code a.b.Foo} and {@code Foo.class}
+   */
+  @Nullable
+  private static String getClassName(@Nullable GrExpression expression) {
+    if (!(expression instanceof GrReferenceExpression)) return null;
+
+    GrReferenceExpression ref = (GrReferenceExpression)expression;
+    if ("class".equals(ref.getReferenceName())) {
+      GrExpression qualifier = ref.getQualifier();
+      if (!(qualifier instanceof GrReferenceExpression)) return null;
+      ref = (GrReferenceExpression)qualifier;
+    }
+    String name = ref.getReferenceName();
+    return StringUtil.isEmpty(name) ? null : name;
+  }
+}
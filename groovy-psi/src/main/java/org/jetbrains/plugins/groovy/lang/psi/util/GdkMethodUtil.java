@@ -16,6 +16,7 @@
 package org.jetbrains.plugins.groovy.lang.psi.util;
 
 import com.intellij.java.language.psi.*;
+import com.intellij.java.language.psi.util.InheritanceUtil;
 import com.intellij.java.language.psi.util.PsiTypesUtil;
 import com.intellij.java.language.psi.util.PsiUtil;
 import consulo.application.util.CachedValueProvider;
@@ -287,37 +288,59 @@ public class GdkMethodUtil {
         break;
       }
 
-      Trinity<PsiClassType, GrReferenceExpression, PsiClass> result = getMixinTypes(statement);
+      processMixinStatement(statement, null, processor, state, place);
+    }
 
-      if (result != null) {
-        PsiClassType subjectType = result.first;
-        GrReferenceExpression qualifier = result.second;
-        PsiClass mixin = result.third;
+    return true;
+  }
 
-        DelegatingScopeProcessor delegate = new MixinMemberContributor.MixinProcessor(processor,
-                                                                                            subjectType, qualifier);
-        mixin.processDeclarations(delegate, state, null, place);
-      }
-      else {
-        Trinity<PsiClassType, GrReferenceExpression, List<GrMethod>> closureResult = getClosureMixins
-          (statement);
-        if (closureResult != null) {
-          PsiClassType subjectType = closureResult.first;
-          GrReferenceExpression qualifier = closureResult.second;
-          List<GrMethod> methods = closureResult.third;
-
-          DelegatingScopeProcessor delegate = new MixinMemberContributor.MixinProcessor(processor,
-                                                                                              subjectType, qualifier);
-          for (GrMethod method : methods) {
-            ResolveUtil.processElement(delegate, method, state);
-          }
-        }
+  /**
+   * Processes members added by a single {@code Foo.mixin(Bar)} call or {@code Foo.metaClass.bar = {...}} assignment.
+   *
+   * @param target if not null, the statement is only processed if it mixes members into this class or one of its
+   *               super classes
+   */
+  public static boolean processMixinStatement(@Nonnull GrStatement statement,
+                                              @Nullable PsiClass target,
+                                              @Nonnull PsiScopeProcessor processor,
+                                              @Nonnull ResolveState state,
+                                              @Nonnull PsiElement place) {
+    Trinity<PsiClassType, GrReferenceExpression, PsiClass> result = getMixinTypes(statement);
+
+    if (result != null) {
+      PsiClassType subjectType = result.first;
+      GrReferenceExpression qualifier = result.second;
+      PsiClass mixin = result.third;
+      if (!isMixedInto(subjectType, target)) return true;
+
+      DelegatingScopeProcessor delegate = new MixinMemberContributor.MixinProcessor(processor,
+                                                                                    subjectType, qualifier);
+      return mixin.processDeclarations(delegate, state, null, place);
+    }
+
+    Trinity<PsiClassType, GrReferenceExpression, List<GrMethod>> closureResult = getClosureMixins(statement);
+    if (closureResult != null) {
+      PsiClassType subjectType = closureResult.first;
+      GrReferenceExpression qualifier = closureResult.second;
+      List<GrMethod> methods = closureResult.third;
+      if (!isMixedInto(subjectType, target)) return true;
+
+      DelegatingScopeProcessor delegate = new MixinMemberContributor.MixinProcessor(processor,
+                                                                                    subjectType, qualifier);
+      for (GrMethod method : methods) {
+        if (!ResolveUtil.processElement(delegate, method, state)) return false;
       }
     }
 
     return true;
   }
 
+  private static boolean isMixedInto(@Nonnull PsiClassType subjectType, @Nullable PsiClass target) {
+    if (target == null) return true;
+    PsiClass subject = subjectType.resolve();
+    return subject != null && InheritanceUtil.isInheritorOrSelf(target, subject, true);
+  }
+
   @Nonnull
   private static GrMethod createMethod(@Nonnull GrClosureSignature signature,
                                        @Nonnull String name,
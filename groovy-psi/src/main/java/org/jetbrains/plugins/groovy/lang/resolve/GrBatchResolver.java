@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve;
+
+import consulo.annotation.access.RequiredReadAction;
+import consulo.application.concurrent.JobLauncher;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.ProgressManager;
+import consulo.component.ProcessCanceledException;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiRecursiveElementWalkingVisitor;
+import org.jetbrains.plugins.groovy.lang.psi.GrControlFlowOwner;
+import org.jetbrains.plugins.groovy.lang.psi.GrReferenceElement;
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.types.TypeInferenceHelper;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves all Groovy references under a file or a control flow owner in one pass, so that per-element
+ * highlighting visitors afterwards only hit {@link consulo.language.psi.resolve.ResolveCache}.
+ * <p>
+ * References are grouped by their innermost control flow owner. For each owner the control flow and the reaching
+ * definitions are built once up front, then its references are resolved in post-order, i.e. qualifiers and call
+ * arguments before the references depending on their types. Resolving dependencies first keeps the inference
+ * recursion shallow, so intermediate types and resolve results are cacheable and shared between sibling references
+ * instead of being recomputed under the recursion guard.
+ * <p>
+ * Bodies of different methods are independent control flow owners, so they can also be analyzed in parallel with
+ * {@link #resolveAllConcurrently(PsiElement, ProgressIndicator)} to warm the caches used by the annotator and the
+ * inspections which visit the file sequentially afterwards.
+ *
+ * @since 2026-10-19
+ */
+public class GrBatchResolver {
+  /**
+   * Set {@code -Dgroovy.parallel.resolve=false} to resolve method bodies of a file sequentially.
+   */
+  private static volatile boolean ourParallel = !"false".equals(System.getProperty("groovy.parallel.resolve"));
+
+  private GrBatchResolver() {
+  }
+
+  public static boolean isParallel() {
+    return ourParallel;
+  }
+
+  public static void setParallel(boolean parallel) {
+    ourParallel = parallel;
+  }
+
+  @RequiredReadAction
+  public static void resolveAll(@Nonnull PsiElement root) {
+    for (Map<GrControlFlowOwner, List<GrReferenceElement<?>>> unit : collectReferences(root)) {
+      resolveUnit(unit);
+    }
+  }
+
+  /**
+   * Same as {@link #resolveAll(PsiElement)}, but independent units (bodies of top-level methods, closures and
+   * initializers, each with their nested owners) are resolved concurrently in read actions. Cancelling
+   * {@code indicator} stops all the workers and throws {@link ProcessCanceledException}, also when the units are
+   * resolved sequentially.
+   */
+  @RequiredReadAction
+  public static void resolveAllConcurrently(@Nonnull PsiElement root, @Nonnull ProgressIndicator indicator) {
+    List<Map<GrControlFlowOwner, List<GrReferenceElement<?>>>> units = collectReferences(root);
+    if (!ourParallel || units.size() < 2) {
+      for (Map<GrControlFlowOwner, List<GrReferenceElement<?>>> unit : units) {
+        indicator.checkCanceled();
+        resolveUnit(unit);
+      }
+      return;
+    }
+
+    boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(units, indicator, unit -> {
+      resolveUnit(unit);
+      return true;
+    });
+    if (!completed) {
+      // the workers only stop early when the indicator is cancelled
+      throw new ProcessCanceledException();
+    }
+  }
+
+  /**
+   * @return references grouped by their innermost control flow owner, the groups being grouped in turn by the
+   * outermost owner below the root's owner
+   */
+  @Nonnull
+  @RequiredReadAction
+  private static List<Map<GrControlFlowOwner, List<GrReferenceElement<?>>>> collectReferences(@Nonnull PsiElement root) {
+    final Map<PsiElement, Map<GrControlFlowOwner, List<GrReferenceElement<?>>>> units =
+      new LinkedHashMap<PsiElement, Map<GrControlFlowOwner, List<GrReferenceElement<?>>>>();
+    final Map<GrControlFlowOwner, List<GrReferenceElement<?>>> ownerless = new LinkedHashMap<GrControlFlowOwner, List<GrReferenceElement<?>>>();
+
+    root.accept(new PsiRecursiveElementWalkingVisitor() {
+      private final List<GrControlFlowOwner> myOwners = new ArrayList<GrControlFlowOwner>();
+
+      @Override
+      public void visitElement(PsiElement element) {
+        if (isFlowOwner(element)) {
+          myOwners.add((GrControlFlowOwner)element);
+        }
+        super.visitElement(element);
+      }
+
+      @Override
+      protected void elementFinished(PsiElement element) {
+        if (isFlowOwner(element)) {
+          myOwners.remove(myOwners.size() - 1);
+        }
+        if (element instanceof GrReferenceElement) {
+          GrReferenceElement<?> reference = (GrReferenceElement<?>)element;
+          Map<GrControlFlowOwner, List<GrReferenceElement<?>>> unit;
+          GrControlFlowOwner owner;
+          if (myOwners.isEmpty()) {
+            unit = ownerless;
+            owner = null;
+          }
+          else {
+            PsiElement unitRoot = myOwners.get(myOwners.size() > 1 ? 1 : 0);
+            unit = units.get(unitRoot);
+            if (unit == null) {
+              units.put(unitRoot, unit = new LinkedHashMap<GrControlFlowOwner, List<GrReferenceElement<?>>>());
+            }
+            owner = myOwners.get(myOwners.size() - 1);
+          }
+
+          List<GrReferenceElement<?>> list = unit.get(owner);
+          if (list == null) {
+            unit.put(owner, list = new ArrayList<GrReferenceElement<?>>());
+          }
+          list.add(reference);
+        }
+      }
+    });
+
+    List<Map<GrControlFlowOwner, List<GrReferenceElement<?>>>> result = new ArrayList<Map<GrControlFlowOwner, List<GrReferenceElement<?>>>>(units.values());
+    if (!ownerless.isEmpty()) {
+      result.add(ownerless);
+    }
+    return result;
+  }
+
+  private static boolean isFlowOwner(@Nonnull PsiElement element) {
+    return element instanceof GrControlFlowOwner && ((GrControlFlowOwner)element).isTopControlFlowOwner();
+  }
+
+  @RequiredReadAction
+  private static void resolveUnit(@Nonnull Map<GrControlFlowOwner, List<GrReferenceElement<?>>> unit) {
+    for (Map.Entry<GrControlFlowOwner, List<GrReferenceElement<?>>> entry : unit.entrySet()) {
+      ProgressManager.checkCanceled();
+      GrControlFlowOwner owner = entry.getKey();
+      if (owner != null) {
+        TypeInferenceHelper.isTooComplexTooAnalyze(owner);
+      }
+      for (GrReferenceElement<?> reference : entry.getValue()) {
+        ProgressManager.checkCanceled();
+        reference.multiResolve(false);
+      }
+    }
+  }
+}
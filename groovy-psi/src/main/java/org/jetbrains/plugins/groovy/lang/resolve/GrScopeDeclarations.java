@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve;
+
+import consulo.application.util.CachedValueProvider;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiModificationTracker;
+import consulo.language.psi.resolve.PsiScopeProcessor;
+import consulo.language.psi.resolve.ResolveState;
+import consulo.language.psi.util.LanguageCachedValueUtil;
+import consulo.util.collection.primitive.ints.IntList;
+import consulo.util.collection.primitive.ints.IntLists;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFileBase;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElement;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrLabeledStatement;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrStatement;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrTopLevelDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrVariable;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrVariableDeclaration;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.blocks.GrClosableBlock;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.members.GrMethod;
+import org.jetbrains.plugins.groovy.lang.psi.api.toplevel.imports.GrImportStatement;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Name to declaration map of the direct children of a Groovy scope (file, code block, closure, case section).
+ * <p>
+ * When the scope processor carries a {@link com.intellij.java.language.impl.psi.scope.NameHint NameHint}, only
+ * the children declaring a variable with the hinted name and the children which can't be indexed by name (local
+ * classes, script methods, closures) are asked to process their declarations, instead of every preceding sibling.
+ * The lookup can be turned off with {@code -Dgroovy.resolve.scope.declarations=false}, then the callers walk all the
+ * preceding siblings.
+ *
+ * @since 2026-10-19
+ */
+public final class GrScopeDeclarations {
+  private static final int[] EMPTY = new int[0];
+
+  private static volatile boolean ourEnabled = !"false".equals(System.getProperty("groovy.resolve.scope.declarations"));
+
+  private final PsiElement[] myChildren;
+  private final int[] myStartOffsets;
+  private final Map<String, int[]> myNamedChildren;
+  private final int[] myUnnamedChildren;
+
+  private GrScopeDeclarations(@Nonnull PsiElement scope) {
+    boolean topLevel = scope instanceof GroovyFileBase;
+    List<PsiElement> children = new ArrayList<PsiElement>();
+    Map<String, IntList> named = new HashMap<String, IntList>();
+    IntList unnamed = IntLists.newArrayList();
+
+    for (PsiElement child = scope.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (!(child instanceof GroovyPsiElement)) continue;
+      if (topLevel && (child instanceof GrTopLevelDefinition || child instanceof GrImportStatement)) continue;
+
+      int index = children.size();
+      PsiElement declaration = child;
+      while (declaration instanceof GrLabeledStatement) {
+        declaration = ((GrLabeledStatement)declaration).getStatement();
+      }
+
+      if (declaration instanceof GrVariableDeclaration) {
+        children.add(child);
+        for (GrVariable variable : ((GrVariableDeclaration)declaration).getVariables()) {
+          String name = variable.getName();
+          IntList list = named.get(name);
+          if (list == null) {
+            named.put(name, list = IntLists.newArrayList());
+          }
+          if (list.isEmpty() || list.get(list.size() - 1) != index) {
+            list.add(index);
+          }
+        }
+      }
+      else if (!isTrivial(declaration)) {
+        children.add(child);
+        unnamed.add(index);
+      }
+    }
+
+    myChildren = children.toArray(PsiElement.EMPTY_ARRAY);
+    myStartOffsets = new int[myChildren.length];
+    for (int i = 0; i < myChildren.length; i++) {
+      myStartOffsets[i] = myChildren[i].getStartOffsetInParent();
+    }
+    myNamedChildren = new HashMap<String, int[]>(named.size());
+    for (Map.Entry<String, IntList> entry : named.entrySet()) {
+      myNamedChildren.put(entry.getKey(), entry.getValue().toArray());
+    }
+    myUnnamedChildren = unnamed.toArray();
+  }
+
+  public static boolean isEnabled() {
+    return ourEnabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    ourEnabled = enabled;
+  }
+
+  /**
+   * Statements without own processDeclarations() contribute nothing to the enclosing scope. Anything else
+   * (local classes, script methods, closures, nested statement owners) is processed regardless of the name.
+   */
+  private static boolean isTrivial(@Nullable PsiElement element) {
+    if (element == null) return true;
+    if (element instanceof GrTypeDefinition || element instanceof GrMethod || element instanceof GrClosableBlock) return false;
+    return element instanceof GrStatement;
+  }
+
+  @Nonnull
+  private static GrScopeDeclarations getInstance(@Nonnull final PsiElement scope) {
+    return LanguageCachedValueUtil.getCachedValue(scope, new CachedValueProvider<GrScopeDeclarations>() {
+      @Nullable
+      @Override
+      public Result<GrScopeDeclarations> compute() {
+        return Result.create(new GrScopeDeclarations(scope), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    });
+  }
+
+  /**
+   * Processes declarations of the children of {@code scope} preceding {@code lastParent} which may declare {@code name},
+   * in the same bottom-up order as a plain sibling walk does.
+   */
+  public static boolean processChildren(@Nonnull PsiElement scope,
+                                        @Nonnull String name,
+                                        @Nonnull PsiScopeProcessor processor,
+                                        @Nonnull ResolveState state,
+                                        @Nullable PsiElement lastParent,
+                                        @Nonnull PsiElement place) {
+    return getInstance(scope).process(name, processor, state, lastParent, place);
+  }
+
+  private boolean process(@Nonnull String name,
+                          @Nonnull PsiScopeProcessor processor,
+                          @Nonnull ResolveState state,
+                          @Nullable PsiElement lastParent,
+                          @Nonnull PsiElement place) {
+    int bound = lastParent == null ? myChildren.length : findBound(lastParent);
+
+    int[] named = myNamedChildren.get(name);
+    if (named == null) named = EMPTY;
+    int[] unnamed = myUnnamedChildren;
+
+    int i = lastBelow(named, bound);
+    int j = lastBelow(unnamed, bound);
+    while (i >= 0 || j >= 0) {
+      int index;
+      if (j < 0 || i >= 0 && named[i] > unnamed[j]) {
+        index = named[i--];
+      }
+      else {
+        index = unnamed[j--];
+      }
+
+      if (!myChildren[index].processDeclarations(processor, state, null, place)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return index of the first indexed child starting at or after {@code lastParent}
+   */
+  private int findBound(@Nonnull PsiElement lastParent) {
+    return firstNotBelow(myStartOffsets, lastParent.getStartOffsetInParent());
+  }
+
+  private static int lastBelow(@Nonnull int[] sorted, int bound) {
+    return firstNotBelow(sorted, bound) - 1;
+  }
+
+  private static int firstNotBelow(@Nonnull int[] sorted, int value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve;
+
+import com.intellij.java.language.psi.PsiClass;
+import com.intellij.java.language.psi.PsiClassType;
+import com.intellij.java.language.psi.PsiType;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
+import consulo.ide.ServiceManager;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiModificationTracker;
+import consulo.module.content.ProjectFileIndex;
+import consulo.module.content.ProjectRootManager;
+import consulo.module.content.layer.event.ModuleRootAdapter;
+import consulo.module.content.layer.event.ModuleRootEvent;
+import consulo.module.content.layer.event.ModuleRootListener;
+import consulo.project.Project;
+import consulo.util.collection.ContainerUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the transitive super type closure computed by {@link ResolveUtil#getAllSuperTypes(PsiType, Project)}.
+ * <p>
+ * Closures consisting only of resolved library classes are kept until the project roots change, softly, so the JDK
+ * and library hierarchies seen during a session don't stay in memory once it runs short. Closures touching classes
+ * from the project content or containing a type which doesn't resolve are kept until the next physical PSI change,
+ * since editing a class or creating the missing one changes them.
+ *
+ * @since 2026-10-19
+ */
+@Singleton
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+public class GrSuperTypesCache {
+  private final Project myProject;
+
+  private final ConcurrentMap<String, Map<String, PsiType>> myLibraryTypes = ContainerUtil.createConcurrentSoftValueMap();
+  private final CachedValue<ConcurrentMap<String, Map<String, PsiType>>> mySourceTypes;
+
+  @Inject
+  public GrSuperTypesCache(Project project) {
+    myProject = project;
+    mySourceTypes = CachedValuesManager.getManager(project).createCachedValue(new CachedValueProvider<ConcurrentMap<String, Map<String, PsiType>>>() {
+      @Override
+      public Result<ConcurrentMap<String, Map<String, PsiType>>> compute() {
+        return Result.create(ContainerUtil.<String, Map<String, PsiType>>newConcurrentMap(), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    }, false);
+
+    project.getMessageBus().connect().subscribe(ModuleRootListener.class, new ModuleRootAdapter() {
+      @Override
+      public void rootsChanged(ModuleRootEvent event) {
+        clear();
+      }
+    });
+  }
+
+  public static GrSuperTypesCache getInstance(Project project) {
+    return ServiceManager.getService(project, GrSuperTypesCache.class);
+  }
+
+  public void clear() {
+    myLibraryTypes.clear();
+    mySourceTypes.getValue().clear();
+  }
+
+  @Nonnull
+  public Map<String, PsiType> getAllSuperTypes(@Nonnull PsiType base, @Nullable String key) {
+    ConcurrentMap<String, Map<String, PsiType>> sourceTypes = mySourceTypes.getValue();
+    if (key != null) {
+      Map<String, PsiType> cached = myLibraryTypes.get(key);
+      if (cached == null) {
+        cached = sourceTypes.get(key);
+      }
+      if (cached != null) return cached;
+    }
+
+    Map<String, PsiType> result = new HashMap<String, PsiType>();
+    Set<PsiClass> visitedClasses = new LinkedHashSet<PsiClass>();
+    ResolveUtil.collectSuperTypes(base, result, myProject, visitedClasses);
+    result = Collections.unmodifiableMap(result);
+
+    if (key != null) {
+      if (hasUnresolvedTypes(result) || hasContentClasses(visitedClasses)) {
+        sourceTypes.put(key, result);
+      }
+      else {
+        myLibraryTypes.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  private static boolean hasUnresolvedTypes(@Nonnull Map<String, PsiType> superTypes) {
+    for (PsiType type : superTypes.values()) {
+      if (type instanceof PsiClassType && ((PsiClassType)type).resolve() == null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasContentClasses(@Nonnull Collection<PsiClass> classes) {
+    for (PsiClass aClass : classes) {
+      if (isInContent(aClass)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isInContent(@Nonnull PsiClass aClass) {
+    PsiFile file = aClass.getContainingFile();
+    if (file == null) return true;
+
+    VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+    if (virtualFile == null) return true;
+
+    ProjectFileIndex index = ProjectRootManager.getInstance(myProject).getFileIndex();
+    return index.isInContent(virtualFile);
+  }
+}
@@ -24,14 +24,11 @@ import com.intellij.java.language.psi.util.InheritanceUtil;
 import com.intellij.java.language.psi.util.PsiUtil;
 import com.intellij.java.language.psi.util.TypeConversionUtil;
 import consulo.application.progress.ProgressManager;
-import consulo.application.util.CachedValueProvider;
-import consulo.application.util.CachedValuesManager;
 import consulo.language.psi.*;
 import consulo.language.psi.resolve.PsiScopeProcessor;
 import consulo.language.psi.resolve.ResolveState;
 import consulo.language.psi.util.PsiTreeUtil;
 import consulo.logging.Logger;
-import consulo.module.content.ProjectRootManager;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
 import consulo.util.dataholder.Key;
@@ -82,7 +79,6 @@ import org.jetbrains.plugins.groovy.lang.resolve.processors.*;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author ven
@@ -281,6 +277,11 @@ public class ResolveUtil {
       return true;
     }
 
+    String name = getNameHint(processor);
+    if (name != null && GrScopeDeclarations.isEnabled()) {
+      return GrScopeDeclarations.processChildren(element, name, processor, state, lastParent, place);
+    }
+
     PsiElement run = lastParent == null ? element.getLastChild() : lastParent.getPrevSibling();
     while (run != null) {
       if (!run.processDeclarations(processor, state, null, place)) {
@@ -365,28 +366,33 @@ public class ResolveUtil {
   private static final Key<PsiType> SERIALIZABLE = Key.create(CommonClassNames.JAVA_IO_SERIALIZABLE);
   private static final Key<PsiType> STRING = Key.create(CommonClassNames.JAVA_LANG_STRING);
 
-  private static void collectSuperTypes(PsiType type, Map<String, PsiType> visited, Project project) {
+  static void collectSuperTypes(PsiType type, Map<String, PsiType> visited, Project project, Set<PsiClass> visitedClasses) {
     String qName = rawCanonicalText(type);
 
     if (visited.put(qName, type) != null) {
       return;
     }
 
+    PsiClass aClass = PsiUtil.resolveClassInType(type);
+    if (aClass != null) {
+      visitedClasses.add(aClass);
+    }
+
     PsiType[] superTypes = type.getSuperTypes();
     for (PsiType superType : superTypes) {
-      collectSuperTypes(TypeConversionUtil.erasure(superType), visited, project);
+      collectSuperTypes(TypeConversionUtil.erasure(superType), visited, project, visitedClasses);
     }
 
     if (type instanceof PsiArrayType && superTypes.length == 0) {
       PsiType comparable = createTypeFromText(project, COMPARABLE, CommonClassNames.JAVA_LANG_COMPARABLE);
       PsiType serializable = createTypeFromText(project, SERIALIZABLE, CommonClassNames.JAVA_IO_SERIALIZABLE);
-      collectSuperTypes(comparable, visited, project);
-      collectSuperTypes(serializable, visited, project);
+      collectSuperTypes(comparable, visited, project, visitedClasses);
+      collectSuperTypes(serializable, visited, project, visitedClasses);
     }
 
     if (GroovyCommonClassNames.GROOVY_LANG_GSTRING.equals(qName)) {
       collectSuperTypes(createTypeFromText(project, STRING, CommonClassNames.JAVA_LANG_STRING), visited,
-                        project);
+                        project, visitedClasses);
     }
 
   }
@@ -402,16 +408,6 @@ public class ResolveUtil {
   }
 
   public static Map<String, PsiType> getAllSuperTypes(@Nonnull PsiType base, final Project project) {
-    Map<String, Map<String, PsiType>> cache = CachedValuesManager.getManager(project).getCachedValue
-      (project, new CachedValueProvider<Map<String, Map<String, PsiType>>>() {
-        @Override
-        public Result<Map<String, Map<String, PsiType>>> compute() {
-          Map<String, Map<String, PsiType>> result = new ConcurrentHashMap<String, Map<String, PsiType>>();
-          return Result.create(result, PsiModificationTracker.MODIFICATION_COUNT,
-                               ProjectRootManager.getInstance(project));
-        }
-      });
-
     PsiClass cls = PsiUtil.resolveClassInType(base);
     String key;
     if (cls instanceof PsiTypeParameter) {
@@ -427,15 +423,7 @@ public class ResolveUtil {
     else {
       key = base.getCanonicalText();
     }
-    Map<String, PsiType> result = key == null ? null : cache.get(key);
-    if (result == null) {
-      result = new HashMap<String, PsiType>();
-      collectSuperTypes(base, result, project);
-      if (key != null) {
-        cache.put(key, result);
-      }
-    }
-    return result;
+    return GrSuperTypesCache.getInstance(project).getAllSuperTypes(base, key);
   }
 
   @Nonnull
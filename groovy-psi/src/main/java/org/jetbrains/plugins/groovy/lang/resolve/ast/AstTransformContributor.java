@@ -22,17 +22,32 @@ import consulo.annotation.component.ExtensionAPI;
 import consulo.application.util.RecursionManager;
 import consulo.application.util.function.Computable;
 import consulo.component.extension.ExtensionPointName;
+import consulo.language.psi.StubBasedPsiElement;
+import consulo.language.psi.stub.StubElement;
 import consulo.util.collection.ContainerUtil;
+import consulo.util.lang.StringUtil;
+import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.GrModifierList;
+import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.modifiers.annotation.GrAnnotation;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrField;
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.members.GrMember;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.GrFieldStub;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.GrStubUtils;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.GrTypeDefinitionStub;
 
 import jakarta.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.TestOnly;
+import java.util.*;
 
 /**
+ * Contributes members generated by AST transformations to Groovy classes.
+ * <p>
+ * Contributors reacting to annotations should declare their short names in {@link #getAnnotationShortNames()}. Such
+ * contributors are not called for classes which have none of these annotations, neither on the class nor on its
+ * fields. The check reads the annotation names kept in the class and field stubs, so members of classes which don't
+ * use the transformations are computed without loading their ASTs.
+ *
  * @author Max Medvedev
  */
 @ExtensionAPI(ComponentScope.APPLICATION)
@@ -51,11 +66,22 @@ public abstract class AstTransformContributor {
 
   }
 
+  /**
+   * @return short names of the class or field annotations this contributor reacts to, or an empty set if the
+   * contributor should be called for every class
+   */
+  @Nonnull
+  public Set<String> getAnnotationShortNames() {
+    return Collections.emptySet();
+  }
+
   @Nonnull
   public static Collection<PsiMethod> runContributorsForMethods(@Nonnull GrTypeDefinition clazz) {
     Collection<PsiMethod> result = RecursionManager.doPreventingRecursion(clazz, true, () -> {
       Collection<PsiMethod> collector = new ArrayList<PsiMethod>();
+      AnnotationNames names = new AnnotationNames(clazz);
       for (AstTransformContributor contributor : EP_NAME.getExtensionList()) {
+        if (!names.mayHaveAny(contributor.getAnnotationShortNames())) continue;
         contributor.collectMethods(clazz, collector);
       }
       return collector;
@@ -67,7 +93,9 @@ public abstract class AstTransformContributor {
   public static List<GrField> runContributorsForFields(@Nonnull GrTypeDefinition clazz) {
     List<GrField> fields = RecursionManager.doPreventingRecursion(clazz, true, () -> {
       List<GrField> collector = new ArrayList<GrField>();
+      AnnotationNames names = new AnnotationNames(clazz);
       for (AstTransformContributor contributor : EP_NAME.getExtensionList()) {
+        if (!names.mayHaveAny(contributor.getAnnotationShortNames())) continue;
         contributor.collectFields(clazz, collector);
       }
       return collector;
@@ -81,7 +109,9 @@ public abstract class AstTransformContributor {
       @Override
       public List<PsiClass> compute() {
         List<PsiClass> collector = ContainerUtil.newArrayList();
+        AnnotationNames names = new AnnotationNames(clazz);
         for (AstTransformContributor contributor : EP_NAME.getExtensions()) {
+          if (!names.mayHaveAny(contributor.getAnnotationShortNames())) continue;
           contributor.collectClasses(clazz, collector);
         }
         return collector;
@@ -89,4 +119,92 @@ public abstract class AstTransformContributor {
     });
     return fields != null ? fields : Collections.<PsiClass>emptyList();
   }
+
+  /**
+   * @return false if {@code clazz} has none of the annotations {@code shortNames}, so contributors reacting to them are
+   * skipped for it
+   */
+  @TestOnly
+  static boolean mayHaveAnyAnnotation(@Nonnull GrTypeDefinition clazz, @Nonnull Set<String> shortNames) {
+    return new AnnotationNames(clazz).mayHaveAny(shortNames);
+  }
+
+  /**
+   * Annotation names of a class and its code fields, read lazily from stubs when the class has them.
+   */
+  private static class AnnotationNames {
+    private final GrTypeDefinition myClass;
+    private Set<String> myWrittenNames;
+    private Set<String> myResolvedNames;
+
+    AnnotationNames(@Nonnull GrTypeDefinition clazz) {
+      myClass = clazz;
+    }
+
+    boolean mayHaveAny(@Nonnull Set<String> shortNames) {
+      if (shortNames.isEmpty()) return true;
+
+      Set<String> written = getWrittenNames();
+      if (written.isEmpty()) return false;
+      for (String name : shortNames) {
+        if (written.contains(name)) return true;
+      }
+
+      // an annotation may be imported under an alias or be an @AnnotationCollector alias of the transformation
+      // annotations, those are recognized by the short names of the resolved annotations
+      Set<String> resolved = getResolvedNames();
+      for (String name : shortNames) {
+        if (resolved.contains(name)) return true;
+      }
+      return false;
+    }
+
+    @Nonnull
+    private Set<String> getWrittenNames() {
+      if (myWrittenNames == null) {
+        Set<String> names = new HashSet<String>();
+        ContainerUtil.addAll(names, getAnnotationNames(myClass));
+        for (GrField field : myClass.getCodeFields()) {
+          ContainerUtil.addAll(names, getAnnotationNames(field));
+        }
+        myWrittenNames = names;
+      }
+      return myWrittenNames;
+    }
+
+    @Nonnull
+    private Set<String> getResolvedNames() {
+      if (myResolvedNames == null) {
+        Set<String> names = new HashSet<String>();
+        addResolvedNames(myClass.getModifierList(), names);
+        for (GrField field : myClass.getCodeFields()) {
+          addResolvedNames(field.getModifierList(), names);
+        }
+        myResolvedNames = names;
+      }
+      return myResolvedNames;
+    }
+
+    private static void addResolvedNames(@Nullable GrModifierList modifierList, @Nonnull Set<String> names) {
+      if (modifierList == null || modifierList.getRawAnnotations().length == 0) return;
+      for (GrAnnotation annotation : modifierList.getAnnotations()) {
+        String qualifiedName = annotation.getQualifiedName();
+        if (qualifiedName != null) {
+          names.add(StringUtil.getShortName(qualifiedName));
+        }
+      }
+    }
+
+    @Nonnull
+    private static String[] getAnnotationNames(@Nonnull GrMember member) {
+      StubElement<?> stub = member instanceof StubBasedPsiElement ? ((StubBasedPsiElement<?>)member).getStub() : null;
+      if (stub instanceof GrTypeDefinitionStub) {
+        return ((GrTypeDefinitionStub)stub).getAnnotations();
+      }
+      if (stub instanceof GrFieldStub) {
+        return ((GrFieldStub)stub).getAnnotations();
+      }
+      return GrStubUtils.getAnnotationNames(member);
+    }
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve.noncode;
+
+import com.intellij.java.language.psi.PsiClass;
+import com.intellij.java.language.psi.PsiClassType;
+import com.intellij.java.language.psi.PsiType;
+import com.intellij.java.language.psi.util.InheritanceUtil;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.application.progress.ProgressManager;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.RecursionManager;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.PsiModificationTracker;
+import consulo.language.psi.resolve.PsiScopeProcessor;
+import consulo.language.psi.resolve.ResolveState;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.util.LanguageCachedValueUtil;
+import consulo.util.collection.ContainerUtil;
+import consulo.util.collection.MultiMap;
+import consulo.util.lang.StringUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrStatement;
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition;
+import org.jetbrains.plugins.groovy.lang.psi.impl.statements.expressions.ClassUtil;
+import org.jetbrains.plugins.groovy.lang.psi.stubs.index.GrMetaProgrammingIndex;
+import org.jetbrains.plugins.groovy.lang.psi.util.GdkMethodUtil;
+import org.jetbrains.plugins.groovy.lang.resolve.NonCodeMembersContributor;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Members added to a class anywhere in the project by {@code metaClass} assignments, {@code mixin()} calls and
+ * {@code @Category} classes, found with {@link GrMetaProgrammingIndex}.
+ * <p>
+ * Declarations in the file of the reference are skipped, those are processed in the scope walk of the reference
+ * respecting the statement order (see {@link GdkMethodUtil#processMixinToMetaclass}).
+ * <p>
+ * The declarations targeting a class are cached on the class per resolve scope until the next PSI change, so the
+ * index and the declaring files are looked at once per class rather than once per reference. Feeding the members to
+ * the processor depends on the qualifier and the place of the reference, so it runs for every call.
+ *
+ * @since 2026-10-19
+ */
+@ExtensionImpl
+public class MetaProgrammingMemberContributor extends NonCodeMembersContributor {
+  @Override
+  public void processDynamicElements(@Nonnull PsiType qualifierType,
+                                     PsiClass aClass,
+                                     @Nonnull PsiScopeProcessor processor,
+                                     @Nonnull PsiElement place,
+                                     @Nonnull ResolveState state) {
+    if (aClass == null) return;
+
+    PsiFile placeFile = place.getContainingFile();
+    for (PsiElement declaration : getTargetingDeclarations(aClass, place.getResolveScope())) {
+      ProgressManager.checkCanceled();
+      if (declaration.getContainingFile().equals(placeFile)) continue;
+
+      // resolving the declaration may need members of its own target class
+      Boolean result = RecursionManager.doPreventingRecursion(declaration, false,
+                                                              () -> processDeclaration(declaration, aClass, qualifierType,
+                                                                                       processor, place, state));
+      if (Boolean.FALSE.equals(result)) return;
+    }
+  }
+
+  /**
+   * @return the declarations which may add members to {@code aClass} or its super classes, found in {@code scope}
+   */
+  @Nonnull
+  private static List<PsiElement> getTargetingDeclarations(@Nonnull final PsiClass aClass, @Nonnull GlobalSearchScope scope) {
+    ConcurrentMap<GlobalSearchScope, List<PsiElement>> byScope =
+      LanguageCachedValueUtil.getCachedValue(aClass, new CachedValueProvider<ConcurrentMap<GlobalSearchScope, List<PsiElement>>>() {
+        @Override
+        public Result<ConcurrentMap<GlobalSearchScope, List<PsiElement>>> compute() {
+          return Result.create(ContainerUtil.<GlobalSearchScope, List<PsiElement>>newConcurrentMap(),
+                               PsiModificationTracker.MODIFICATION_COUNT);
+        }
+      });
+
+    List<PsiElement> declarations = byScope.get(scope);
+    if (declarations == null) {
+      declarations = collectDeclarations(aClass, scope);
+      List<PsiElement> existing = byScope.putIfAbsent(scope, declarations);
+      if (existing != null) declarations = existing;
+    }
+    return declarations;
+  }
+
+  @Nonnull
+  private static List<PsiElement> collectDeclarations(@Nonnull PsiClass aClass, @Nonnull GlobalSearchScope scope) {
+    FileBasedIndex index = FileBasedIndex.getInstance();
+    PsiManager manager = aClass.getManager();
+
+    Set<VirtualFile> files = new HashSet<VirtualFile>();
+    Set<String> targetNames = new HashSet<String>();
+    for (String superClassName : ClassUtil.getSuperClassesWithCache(aClass).keySet()) {
+      if (superClassName == null) continue;
+      String shortName = StringUtil.getShortName(superClassName);
+      Collection<VirtualFile> containingFiles = index.getContainingFiles(GrMetaProgrammingIndex.NAME, shortName, scope);
+      if (!containingFiles.isEmpty()) {
+        targetNames.add(shortName);
+        files.addAll(containingFiles);
+      }
+    }
+
+    List<PsiElement> result = new ArrayList<PsiElement>();
+    for (VirtualFile vFile : files) {
+      ProgressManager.checkCanceled();
+      PsiFile file = manager.findFile(vFile);
+      if (!(file instanceof GroovyFile)) continue;
+
+      MultiMap<String, PsiElement> declarations = getDeclarations((GroovyFile)file);
+      for (String name : targetNames) {
+        result.addAll(declarations.get(name));
+      }
+    }
+    return result;
+  }
+
+  private static boolean processDeclaration(@Nonnull PsiElement declaration,
+                                            @Nonnull PsiClass aClass,
+                                            @Nonnull PsiType qualifierType,
+                                            @Nonnull PsiScopeProcessor processor,
+                                            @Nonnull PsiElement place,
+                                            @Nonnull ResolveState state) {
+    if (declaration instanceof GrStatement) {
+      return GdkMethodUtil.processMixinStatement((GrStatement)declaration, aClass, processor, state, place);
+    }
+
+    if (declaration instanceof GrTypeDefinition) {
+      GrTypeDefinition category = (GrTypeDefinition)declaration;
+      PsiClassType categoryType = GdkMethodUtil.getCategoryType(category);
+      PsiClass target = categoryType == null ? null : categoryType.resolve();
+      if (target == null || !InheritanceUtil.isInheritorOrSelf(aClass, target, true)) return true;
+
+      MixinMemberContributor.MixinProcessor delegate = new MixinMemberContributor.MixinProcessor(processor, qualifierType, place);
+      return category.processDeclarations(delegate, state, null, place);
+    }
+
+    return true;
+  }
+
+  @Nonnull
+  private static MultiMap<String, PsiElement> getDeclarations(@Nonnull final GroovyFile file) {
+    return LanguageCachedValueUtil.getCachedValue(file, new CachedValueProvider<MultiMap<String, PsiElement>>() {
+      @Override
+      public Result<MultiMap<String, PsiElement>> compute() {
+        return Result.create(GrMetaProgrammingIndex.collectDeclarations(file), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    });
+  }
+}
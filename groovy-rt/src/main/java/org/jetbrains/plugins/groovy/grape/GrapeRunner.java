@@ -4,23 +4,45 @@ import groovy.lang.GroovyShell;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
 import org.codehaus.groovy.control.messages.ExceptionMessage;
 
+import java.io.PrintStream;
 import java.net.URL;
 import java.util.Iterator;
 import java.util.List;
 
 /**
+ * Resolves @Grab queries passed as arguments, each being the text of a @Grab annotation followed by the @GrabExclude
+ * and @GrabResolver annotations applying to it. All queries are resolved in one process, so Grape and Ivy are set up
+ * once.
+ * <p>
+ * The output of each query starts with a {@link #QUERY_PREFIX} line holding its index among the arguments, followed
+ * by a {@link #URL_PREFIX} line per resolved jar. Other lines until the next query are messages about it.
+ *
  * @author peter
  */
 public class GrapeRunner {
   public static final String URL_PREFIX = "URL:";
+  public static final String QUERY_PREFIX = "QUERY:";
 
   private GrapeRunner() {
   }
 
   public static void main(String[] args) {
+    resolve(args, System.out);
+  }
+
+  public static void resolve(String[] queries, PrintStream out) {
+    for (int i = 0; i < queries.length; i++) {
+      out.println(QUERY_PREFIX + i);
+      resolve(queries[i], out);
+    }
+    out.flush();
+  }
+
+  private static void resolve(String query, PrintStream out) {
+    // a shell per query: Grape adds the jars to the shell class loader, which then holds the jars of this query only
     GroovyShell shell = new GroovyShell();
     try {
-      shell.parse(args[0] + " import java.lang.*");
+      shell.parse(query + " import java.lang.*");
     }
     catch (MultipleCompilationErrorsException e) {
       List errors = e.getErrorCollector().getErrors();
@@ -30,22 +52,22 @@ public class GrapeRunner {
           Exception cause = ((ExceptionMessage)o).getCause();
           String message = cause.getMessage();
           if (message != null && message.startsWith("Error grabbing Grapes")) {
-            System.out.println(message);
+            out.println(message);
             return;
           }
         }
       }
-      e.printStackTrace();
+      e.printStackTrace(out);
       return;
     }
     catch (Throwable e) {
-      e.printStackTrace();
+      e.printStackTrace(out);
       return;
     }
 
     URL[] urls = shell.getClassLoader().getURLs();
     for (int i = 0; i < urls.length; i++) {
-      System.out.println(URL_PREFIX + urls[i]);
+      out.println(URL_PREFIX + urls[i]);
     }
   }
 
@@ -0,0 +1,179 @@
+package org.jetbrains.plugins.groovy.shell;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.codehaus.groovy.runtime.StackTraceUtils;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluation backend of the Groovy shell which outlives module rebuilds. Groovy itself is loaded once by the JVM,
+ * the module classes and libraries are loaded by a child class loader which {@link #RELOAD} replaces, so the JVM
+ * start, the Groovy runtime initialization and the JIT warm-up are paid once per console.
+ * <p>
+ * Requests are read from stdin as frames: a {@code <command> <length>} header line followed by exactly
+ * {@code length} characters of payload, see {@link #frame}. The payload is never parsed for line breaks, so any
+ * text can be submitted. Results are printed to stdout after {@link #RESULT_PREFIX}, errors go to stderr.
+ *
+ * @since 2026-10-19
+ */
+public class GroovyConsoleServer {
+  /**
+   * Evaluates the payload in the current class loader. Variables and imports of earlier submissions are visible
+   */
+  public static final String EVAL = "EVAL";
+  /**
+   * Replaces the class loader by a new one over the payload, a classpath separated by {@link File#pathSeparator},
+   * and forgets the variables and imports of earlier submissions
+   */
+  public static final String RELOAD = "RELOAD";
+  public static final String EXIT = "EXIT";
+
+  public static final String RESULT_PREFIX = "===> ";
+  public static final String ENCODING = "UTF-8";
+
+  private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+[^;\\n]+", Pattern.MULTILINE);
+
+  private final PrintStream myOut;
+  private final PrintStream myErr;
+  private final List<String> myImports = new ArrayList<String>();
+  private URLClassLoader myLoader;
+  private GroovyShell myShell;
+  private int myScriptCount;
+
+  private GroovyConsoleServer(PrintStream out, PrintStream err) {
+    myOut = out;
+    myErr = err;
+  }
+
+  public static String frame(String command, String payload) {
+    return command + " " + payload.length() + "\n" + payload;
+  }
+
+  public static void main(String[] args) throws IOException {
+    PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true, ENCODING);
+    PrintStream err = new PrintStream(new FileOutputStream(FileDescriptor.err), true, ENCODING);
+    System.setOut(out);
+    System.setErr(err);
+
+    GroovyConsoleServer server = new GroovyConsoleServer(out, err);
+    server.reload("");
+    server.serve(new BufferedReader(new InputStreamReader(System.in, ENCODING)));
+    System.exit(0);
+  }
+
+  private void serve(BufferedReader in) throws IOException {
+    while (true) {
+      String header = in.readLine();
+      if (header == null) {
+        return;
+      }
+      if (header.length() == 0) {
+        continue;
+      }
+
+      int space = header.indexOf(' ');
+      String command = space < 0 ? header : header.substring(0, space);
+      String payload = space < 0 ? "" : readPayload(in, header, space);
+      if (EXIT.equals(command)) {
+        return;
+      }
+      if (EVAL.equals(command)) {
+        eval(payload);
+      }
+      else if (RELOAD.equals(command)) {
+        reload(payload);
+      }
+      else {
+        myErr.println("Unknown command: " + command);
+      }
+    }
+  }
+
+  private static String readPayload(BufferedReader in, String header, int space) throws IOException {
+    int length;
+    try {
+      length = Integer.parseInt(header.substring(space + 1).trim());
+    }
+    catch (NumberFormatException e) {
+      // the stream is out of sync, nothing after this header can be trusted
+      throw new IOException("Malformed frame header: " + header);
+    }
+
+    char[] payload = new char[length];
+    int read = 0;
+    while (read < length) {
+      int count = in.read(payload, read, length - read);
+      if (count < 0) {
+        throw new EOFException("Frame truncated: " + header);
+      }
+      read += count;
+    }
+    return new String(payload);
+  }
+
+  private void eval(String text) {
+    Thread thread = Thread.currentThread();
+    ClassLoader contextLoader = thread.getContextClassLoader();
+    thread.setContextClassLoader(myLoader);
+    try {
+      // imports go on the first line, so the line numbers in the stack traces stay those of the submission
+      StringBuilder script = new StringBuilder();
+      for (String anImport : myImports) {
+        script.append(anImport).append("; ");
+      }
+      script.append(text);
+
+      Object result = myShell.evaluate(script.toString(), "Script" + (++myScriptCount) + ".groovy");
+      Matcher matcher = IMPORT.matcher(text);
+      while (matcher.find()) {
+        myImports.add(matcher.group().trim());
+      }
+      myOut.println(RESULT_PREFIX + InvokerHelper.inspect(result));
+    }
+    catch (Throwable e) {
+      StackTraceUtils.deepSanitize(e).printStackTrace(myErr);
+    }
+    finally {
+      thread.setContextClassLoader(contextLoader);
+      myOut.flush();
+      myErr.flush();
+    }
+  }
+
+  private void reload(String classPath) {
+    List<URL> urls = new ArrayList<URL>();
+    for (String path : classPath.split(File.pathSeparator)) {
+      if (path.trim().length() == 0) {
+        continue;
+      }
+      try {
+        urls.add(new File(path).toURI().toURL());
+      }
+      catch (MalformedURLException e) {
+        myErr.println("Skipping classpath entry " + path + ": " + e.getMessage());
+      }
+    }
+
+    URLClassLoader oldLoader = myLoader;
+    myLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), GroovyConsoleServer.class.getClassLoader());
+    myShell = new GroovyShell(myLoader, new Binding());
+    myImports.clear();
+
+    if (oldLoader instanceof Closeable) {
+      try {
+        ((Closeable)oldLoader).close();
+      }
+      catch (IOException ignored) {
+      }
+    }
+  }
+}
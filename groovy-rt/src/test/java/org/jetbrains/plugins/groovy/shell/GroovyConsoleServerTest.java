@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.shell;
+
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@link GroovyConsoleServer} processes over this module's classpath, and compares the latency from a rebuild
+ * of the evaluated classes to the first result of a reloaded server with that of a fresh process, which is what
+ * restarting the console does.
+ *
+ * @since 2026-10-19
+ */
+public class GroovyConsoleServerTest {
+  private static final int RESTARTS = 5;
+
+  private final List<ServerProcess> myProcesses = new ArrayList<ServerProcess>();
+  private File myOutputRoot;
+
+  @Before
+  public void setUp() throws IOException {
+    myOutputRoot = File.createTempFile("groovyConsoleServer", "");
+    assertTrue(myOutputRoot.delete() && myOutputRoot.mkdirs());
+  }
+
+  @After
+  public void tearDown() {
+    for (ServerProcess process : myProcesses) {
+      process.stop();
+    }
+    delete(myOutputRoot);
+  }
+
+  @Test
+  public void reloadAfterRebuildIsFasterThanNewProcess() throws Exception {
+    ServerProcess server = start();
+    server.reloadAndEval(build(0));
+    server.awaitResult("0");
+
+    long reloadNanos = 0;
+    long restartNanos = 0;
+    for (int i = 1; i <= RESTARTS; i++) {
+      String classPath = build(i);
+
+      long start = System.nanoTime();
+      server.reloadAndEval(classPath);
+      server.awaitResult(String.valueOf(i));
+      reloadNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      ServerProcess fresh = start();
+      fresh.reloadAndEval(classPath);
+      fresh.awaitResult(String.valueOf(i));
+      restartNanos += System.nanoTime() - start;
+      fresh.stop();
+    }
+
+    System.out.println("rebuild to first result: reload " + TimeUnit.NANOSECONDS.toMillis(reloadNanos / RESTARTS) +
+                       "ms, new process " + TimeUnit.NANOSECONDS.toMillis(restartNanos / RESTARTS) + "ms");
+    assertTrue(reloadNanos < restartNanos);
+  }
+
+  @Test
+  public void submissionsAreFramed() throws Exception {
+    ServerProcess server = start();
+    server.reloadAndEval(build(1));
+    server.awaitResult("1");
+
+    server.send(GroovyConsoleServer.EVAL, "import java.util.concurrent.atomic.AtomicInteger\nx = new AtomicInteger(2)\n\nx.incrementAndGet()");
+    server.awaitResult("3");
+    // the import and the binding variable survive into the next submission, an empty payload is a valid frame
+    server.send(GroovyConsoleServer.EVAL, "");
+    server.awaitResult("null");
+    server.send(GroovyConsoleServer.EVAL, "new AtomicInteger(x.get() + 1).get()");
+    server.awaitResult("4");
+  }
+
+  /**
+   * Compiles the next version of the evaluated class to a new output directory, the way a rebuild replaces it
+   *
+   * @return the classpath to reload
+   */
+  private String build(int version) {
+    File output = new File(myOutputRoot, String.valueOf(version));
+    CompilerConfiguration configuration = new CompilerConfiguration();
+    configuration.setTargetDirectory(output);
+    CompilationUnit unit = new CompilationUnit(configuration);
+    unit.addSource("Greeter.groovy", "class Greeter { static int version() { " + version + " } }");
+    unit.compile();
+    return output.getPath();
+  }
+
+  private ServerProcess start() throws IOException {
+    ServerProcess process = new ServerProcess();
+    myProcesses.add(process);
+    return process;
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static class ServerProcess {
+    private final Process myProcess;
+    private final BlockingQueue<String> myLines = new LinkedBlockingQueue<String>();
+    private final StringBuilder myOutput = new StringBuilder();
+
+    ServerProcess() throws IOException {
+      String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+      ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                                                  GroovyConsoleServer.class.getName());
+      builder.redirectErrorStream(true);
+      myProcess = builder.start();
+
+      final BufferedReader reader = new BufferedReader(new InputStreamReader(myProcess.getInputStream(), GroovyConsoleServer.ENCODING));
+      Thread thread = new Thread("GroovyConsoleServer output") {
+        @Override
+        public void run() {
+          try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+              myLines.add(line);
+            }
+          }
+          catch (IOException ignored) {
+          }
+        }
+      };
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    void reloadAndEval(String classPath) throws IOException {
+      send(GroovyConsoleServer.RELOAD, classPath);
+      send(GroovyConsoleServer.EVAL, "Greeter.version()");
+    }
+
+    void send(String command, String payload) throws IOException {
+      OutputStream input = myProcess.getOutputStream();
+      input.write(GroovyConsoleServer.frame(command, payload).getBytes(GroovyConsoleServer.ENCODING));
+      input.flush();
+    }
+
+    void awaitResult(String expected) throws InterruptedException {
+      while (true) {
+        String line = myLines.poll(60, TimeUnit.SECONDS);
+        assertNotNull("no result " + expected + " in:\n" + myOutput, line);
+        myOutput.append(line).append('\n');
+        if (line.startsWith(GroovyConsoleServer.RESULT_PREFIX)) {
+          assertEquals(myOutput.toString(), GroovyConsoleServer.RESULT_PREFIX + expected, line);
+          return;
+        }
+      }
+    }
+
+    void stop() {
+      try {
+        send(GroovyConsoleServer.EXIT, "");
+      }
+      catch (IOException ignored) {
+      }
+      try {
+        if (!myProcess.waitFor(10, TimeUnit.SECONDS)) {
+          myProcess.destroy();
+        }
+      }
+      catch (InterruptedException e) {
+        myProcess.destroy();
+      }
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.benchmark
+
+import com.intellij.openapi.application.ApplicationManager
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.openjdk.jmh.results.RunResult
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Future
+
+/**
+ * Runs a PSI benchmark suite in the test application, the way the @Fork(0) suites are meant to be launched.
+ *
+ * @since 2026-10-19
+ */
+class GroovyBenchmarksTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  void testParserBenchmarkRunsInProcess() {
+    // the benchmarks take read actions, so they run off the event dispatch thread
+    Future<Collection<RunResult>> future = ApplicationManager.application.executeOnPooledThread({
+      GroovyBenchmarks.runInProcess('GroovyParserBenchmark', '-p', 'corpus=LARGE_CLASS', '-wi', '1', '-w', '100ms', '-i', '1', '-r', '100ms')
+    } as Callable<Collection<RunResult>>)
+    Collection<RunResult> results = future.get()
+
+    assertEquals(1, results.size())
+    RunResult result = results.iterator().next()
+    assertEquals(GroovyParserBenchmark.name + '.parse', result.params.benchmark)
+    assertTrue(result.primaryResult.score > 0)
+  }
+}
@@ -51,6 +51,7 @@ import com.intellij.testFramework.builders.JavaModuleFixtureBuilder
 import com.intellij.testFramework.fixtures.impl.TempDirTestFixtureImpl
 import com.intellij.util.SystemProperties
 import com.intellij.util.concurrency.Semaphore
+import org.jetbrains.plugins.groovy.impl.debugger.GroovyPositionManager
 /**
  * @author peter
  */
@@ -356,28 +357,174 @@ foo()
     }
   }
 
+  void "test conditional breakpoint compiles its condition once"() {
+    myFixture.addFileToProject('Foo.groovy', '''\
+int sum = 0
+for (int i = 0; i < 10000; i++) {
+  sum += i
+}
+println sum
+''')
+    addBreakpoint 'Foo.groovy', 0
+    def breakpoint = addBreakpoint 'Foo.groovy', 2
+    edt {
+      breakpoint.condition = new TextWithImportsImpl(CodeFragmentKind.EXPRESSION, 'i == 9999 && sum > 0')
+    }
+    make()
+    runDebugger 'Foo', {
+      // the time to compile, start and attach to the debuggee is left out
+      waitForBreakpoint()
+      long start = System.currentTimeMillis()
+      resume()
+      waitForBreakpoint(600000)
+      long elapsed = System.currentTimeMillis() - start
+      println "conditional breakpoint: ${elapsed / 10000} ms per hit"
+      eval 'i', '9999'
+
+      // the fragments compiled in the debuggee, per context class and source; the condition text is split here, so
+      // that the source of this expression doesn't count
+      eval "GroovySystem.metaClassRegistry.metaClassRegistryChangeEventListeners.find { it.getClass().name == 'GroovyDebuggerCaches' }" +
+           "['evaluators'].values().sum { it.keySet().count { it.contains('i == 9999 ' + '&& sum > 0') } }", '1'
+      // the caches don't show up in the system properties of the debuggee
+      eval "System.properties.every { it.key instanceof String && it.value instanceof String }", 'true'
+    }
+  }
+
+  void "test same watch in static and instance context"() {
+    myFixture.addFileToProject('Foo.groovy', '''\
+class Bar {
+  static int twice(int a) {
+    return 2 * a
+  }
+
+  int thrice(int a) {
+    return 3 * a
+  }
+}
+
+println Bar.twice(2)
+println new Bar().thrice(3)
+''')
+    addBreakpoint 'Foo.groovy', 2
+    addBreakpoint 'Foo.groovy', 6
+    make()
+    runDebugger 'Foo', {
+      waitForBreakpoint()
+      eval 'a + 1', '3'
+      resume()
+      // the fragment compiled for the static method must not be reused in the instance method
+      waitForBreakpoint()
+      eval 'a + 1', '4'
+    }
+  }
+
+  void "test stepping through closures reuses class files and line tables"() {
+    myFixture.addFileToProject('Foo.groovy', '''\
+def sum = 0
+(1..5).each { i ->
+  [1, 2].each { j ->
+    sum += i * j
+  }
+}
+println sum
+''')
+    addBreakpoint 'Foo.groovy', 3
+    runDebugger 'Foo', {
+      def positionManager = null
+      int fileLookups = -1
+      int lineTableQueries = -1
+      10.times { hit ->
+        waitForBreakpoint()
+        SourcePosition debuggerPosition = sourcePosition
+        assert debuggerPosition.file.name == 'Foo.groovy'
+        assert debuggerPosition.line == 3
+        managed {
+          if (positionManager == null) positionManager = new GroovyPositionManager(debugProcess)
+          def location = evaluationContext().frameProxy.location()
+          SourcePosition position = ApplicationManager.application.runReadAction(
+            { positionManager.getSourcePosition(location) } as Computable<SourcePosition>)
+          assert position.file == debuggerPosition.file
+          assert position.line == location.lineNumber() - 1
+          assert positionManager.getAllClasses(position) == debugProcess.positionManager.getAllClasses(debuggerPosition)
+          assert location.declaringType() in debugProcess.positionManager.getAllClasses(debuggerPosition)
+        }
+        if (fileLookups < 0) {
+          fileLookups = positionManager.fileLookupCount
+          lineTableQueries = positionManager.lineTableQueryCount
+          assert lineTableQueries > 0
+        }
+        else {
+          assert positionManager.fileLookupCount == fileLookups
+          assert positionManager.lineTableQueryCount == lineTableQueries
+        }
+        if (hit < 9) resume()
+      }
+    }
+  }
+
+  void "test closure prepared after the line tables were cached is found"() {
+    def file = myFixture.addFileToProject('Foo.groovy', '''\
+def sum = 0
+[1].each { i ->
+  sum += i
+}
+[2].each { j ->
+  sum += j
+}
+println sum
+''')
+    addBreakpoint 'Foo.groovy', 2
+    addBreakpoint 'Foo.groovy', 7
+    runDebugger 'Foo', {
+      SourcePosition inSecondClosure = ApplicationManager.application.runReadAction(
+        { SourcePosition.createFromLine(file, 5) } as Computable<SourcePosition>)
+
+      waitForBreakpoint()
+      assert sourcePosition.line == 2
+      managed {
+        // indexes the nested classes of Foo before the second closure is loaded
+        assert debugProcess.positionManager.getAllClasses(inSecondClosure).empty
+      }
+      resume()
+
+      // no breakpoint waits for the second closure, only the position manager sees it prepared
+      waitForBreakpoint()
+      assert sourcePosition.line == 7
+      managed {
+        def classes = debugProcess.positionManager.getAllClasses(inSecondClosure)
+        assert classes.size() == 1
+        assert classes[0].name().startsWith('Foo$')
+        def locations = debugProcess.positionManager.locationsOfLine(classes[0], inSecondClosure)
+        assert locations*.lineNumber() == [6]
+      }
+      resume()
+    }
+  }
+
   private def addBreakpoint(String fileName, int line) {
     VirtualFile file = null
     edt {
       file = myFixture.tempDirFixture.getFile(fileName)
     }
-    addBreakpoint(file, line)
+    return addBreakpoint(file, line)
   }
 
   private def addBreakpoint(VirtualFile file, int line) {
+    def breakpoint = null
     edt {
-      DebuggerManagerImpl.getInstanceEx(project).breakpointManager.addLineBreakpoint(FileDocumentManager.instance.getDocument(file), line)
+      breakpoint = DebuggerManagerImpl.getInstanceEx(project).breakpointManager.addLineBreakpoint(FileDocumentManager.instance.getDocument(file), line)
     }
+    return breakpoint
   }
 
   private def resume() {
     debugProcess.managerThread.invokeAndWait(debugProcess.createResumeCommand(debugProcess.suspendManager.pausedContext))
   }
 
-  private SuspendContextImpl waitForBreakpoint() {
+  private SuspendContextImpl waitForBreakpoint(int timeout = 10000) {
     int i = 0
     def suspendManager = debugProcess.suspendManager
-    while (i++ < 1000 && !suspendManager.pausedContext && !debugProcess.executionResult.processHandler.processTerminated) {
+    while (i++ < timeout / 10 && !suspendManager.pausedContext && !debugProcess.executionResult.processHandler.processTerminated) {
       Thread.sleep(10)
     }
 
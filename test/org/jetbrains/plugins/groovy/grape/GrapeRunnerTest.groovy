@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.grape
+
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.testFramework.UsefulTestCase
+import org.jetbrains.plugins.groovy.impl.grape.GrabDependencies
+import org.jetbrains.plugins.groovy.impl.grape.GrapeResolutionCache
+import org.jetbrains.plugins.groovy.util.TestUtils
+
+/**
+ * Resolves grabs from the file based Ivy repository in testdata/grape, so needs no network.
+ *
+ * @since 2026-10-19
+ */
+class GrapeRunnerTest extends UsefulTestCase {
+  private static final List<String> PROPERTIES = ['grape.root', 'grape.config', 'grape.test.repo']
+
+  private File myGrapeRoot
+  private final Map<String, String> myOldProperties = [:]
+
+  @Override
+  protected void setUp() {
+    super.setUp()
+    myGrapeRoot = FileUtil.createTempDirectory('grapes', null)
+    String testData = TestUtils.absoluteTestDataPath + '/grape'
+    PROPERTIES.each { myOldProperties[it] = System.getProperty(it) }
+    System.setProperty('grape.root', myGrapeRoot.path)
+    System.setProperty('grape.config', testData + '/grapeConfig.xml')
+    System.setProperty('grape.test.repo', testData + '/repo')
+  }
+
+  @Override
+  protected void tearDown() {
+    myOldProperties.each { name, value ->
+      if (value == null) System.clearProperty(name) else System.setProperty(name, value)
+    }
+    FileUtil.delete(myGrapeRoot)
+    super.tearDown()
+  }
+
+  public void testQueriesResolvedInOneRun() {
+    def outputs = resolve(["@Grab('org.example:greeting-app:2.0')",
+                           "@Grab('org.example:greeting:1.0')",
+                           "@Grab('org.example:missing:1.0')"])
+
+    assert outputs.size() == 3
+    assert outputs[0].jars*.name.sort() == ['greeting-1.0.jar', 'greeting-app-2.0.jar']
+    assert outputs[1].jars*.name == ['greeting-1.0.jar']
+    assert outputs[2].jars.empty
+    assert outputs[2].messages.toString().contains('Error grabbing Grapes')
+  }
+
+  public void testResolutionCache() {
+    def cache = new GrapeResolutionCache()
+    def query = "@Grab(group = 'org.example', module = 'greeting', version = '1.0')"
+    cache.putJars(query, resolve([query])[0].jars)
+
+    assert cache.getJars('@Grab(group="org.example",  module="greeting", version="1.0")')*.name == ['greeting-1.0.jar']
+    assert cache.getJars("@Grab(group = 'org.example', module = 'greeting', version = '1.1')") == null
+
+    cache.getJars(query).each { it.delete() }
+    assert cache.getJars(query) == null
+  }
+
+  public void testQueriesWhichMayResolveToOtherJarsAreNotCached() {
+    def cache = new GrapeResolutionCache()
+    def jars = resolve(["@Grab('org.example:greeting:1.0')"])[0].jars
+    for (query in ["@Grab('org.example:greeting:latest.release')",
+                   "@Grab('org.example:greeting:1.+')",
+                   "@Grab('org.example:greeting:[1.0,2.0)')",
+                   "@Grab(group = 'org.example', module = 'greeting', version = 'latest.integration')",
+                   "@Grab(group = 'org.example', module = 'greeting', version = '1.0', changing = true)"]) {
+      cache.putJars(query, jars)
+      assert cache.getJars(query) == null : query
+    }
+
+    def fixed = "@Grab(group = 'org.example', module = 'greeting', version = '1.0') @GrabResolver(name = 'local', root = 'http://localhost:8080/repo')"
+    cache.putJars(fixed, jars)
+    assert cache.getJars(fixed) == jars
+  }
+
+  private static List<GrabDependencies.GrapeOutput> resolve(List<String> queries) {
+    def out = new ByteArrayOutputStream()
+    GrapeRunner.resolve(queries as String[], new PrintStream(out, true, 'UTF-8'))
+    return GrabDependencies.parseOutput(out.toString('UTF-8'), queries.size())
+  }
+}
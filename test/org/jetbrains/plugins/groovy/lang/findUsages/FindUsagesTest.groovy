@@ -22,6 +22,9 @@ import com.intellij.find.findUsages.FindUsagesHandler
 import com.intellij.find.findUsages.FindUsagesManager
 import com.intellij.find.findUsages.FindUsagesOptions
 import com.intellij.find.impl.FindManagerImpl
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.fileTypes.LanguageFileType
+import com.intellij.openapi.fileTypes.ex.FileTypeManagerEx
 import com.intellij.java.language.psi.*
 import com.intellij.java.language.psi.search.GlobalSearchScope
 import com.intellij.java.language.psi.search.searches.DirectClassInheritorsSearch
@@ -33,12 +36,16 @@ import com.intellij.java.language.psi.util.PsiTreeUtil
 import com.intellij.usageView.UsageInfo
 import com.intellij.util.CommonProcessors
 import com.intellij.util.Query
+import org.jetbrains.plugins.groovy.GroovyEnabledFileType
+import org.jetbrains.plugins.groovy.GroovyLanguage
 import org.jetbrains.plugins.groovy.LightGroovyTestCase
 import org.jetbrains.plugins.groovy.lang.psi.GroovyFile
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition
 import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.members.GrMethod
 import org.jetbrains.plugins.groovy.util.TestUtils
 
+import javax.swing.Icon
+
 /**
  * @author ven
  */
@@ -447,6 +454,106 @@ print a<caret>a
     }
   }
 
+  void 'test dynamic usages in a groovy-enabled file which is not a groovy file'() {
+    def fileType = new GroovyEnabledTestFileType()
+    ApplicationManager.application.runWriteAction { FileTypeManagerEx.instanceEx.registerFileType(fileType, 'gtest') }
+    try {
+      // the only dynamic usage is in a file type the call site index doesn't cover
+      myFixture.addFileToProject('usage.gtest', '''\
+def use(p) {
+  p.fooBar(1)
+}
+''')
+      doTest(1, '''\
+class A {
+  void foo<caret>Bar(int i) {}
+}
+''')
+    }
+    finally {
+      ApplicationManager.application.runWriteAction { FileTypeManagerEx.instanceEx.unregisterFileType(fileType) }
+    }
+  }
+
+  void 'test late bound call with another argument count is not a usage'() {
+    myFixture.addFileToProject('usage.groovy', '''\
+def use(p) {
+  p.fooBar(1)
+  p.fooBar(1, 2)
+  p.fooBar()
+  p.fooBar(a: 1)
+}
+''')
+    // no call with one argument, the file is left out by the call site index
+    myFixture.addFileToProject('other.groovy', '''\
+def other(p) {
+  p.fooBar(1, 2, 3)
+}
+''')
+    assertEquals(['usage.groovy:p.fooBar', 'usage.groovy:p.fooBar'], findMethodUsages('''\
+class A {
+  void foo<caret>Bar(int i) {}
+}
+'''))
+  }
+
+  void 'test late bound property style references are usages'() {
+    // the name is never called here, the file is kept for references without a call
+    myFixture.addFileToProject('property.groovy', '''\
+def use(p) {
+  println p.fooBar
+  p.fooBar = 2
+}
+''')
+    myFixture.addFileToProject('getter.groovy', '''\
+def use(p) {
+  println p.getFooBar()
+  println p.fooBar(1)
+}
+''')
+    assertEquals(['getter.groovy:p.getFooBar', 'property.groovy:p.fooBar'], findMethodUsages('''\
+class A {
+  String get<caret>FooBar() { '' }
+}
+'''))
+  }
+
+  void 'test late bound calls with more arguments than the call site index tells apart'() {
+    String parameters = (0..30).collect { "int a$it" }.join(', ')
+    // 30 and more arguments share one bit of the index, the exact count is checked on the call
+    [29, 30, 31, 32].each { int count ->
+      myFixture.addFileToProject("call${count}.groovy", "def use(p) { p.many(${(0..<count).join(', ')}) }")
+    }
+    assertEquals(['call31.groovy:p.many'], findMethodUsages("""\
+class A {
+  void ma<caret>ny($parameters) {}
+}
+"""))
+  }
+
+  private List<String> findMethodUsages(String classText) {
+    myFixture.configureByText('_.groovy', classText)
+    PsiMethod method = PsiTreeUtil.getParentOfType(myFixture.file.findElementAt(myFixture.editor.caretModel.offset), PsiMethod)
+    assertNotNull(method)
+    MethodReferencesSearch.search(method).findAll().collect { PsiReference ref ->
+      "$ref.element.containingFile.name:$ref.element.text".toString()
+    }.sort()
+  }
+
+  private static class GroovyEnabledTestFileType extends LanguageFileType implements GroovyEnabledFileType {
+    GroovyEnabledTestFileType() {
+      super(GroovyLanguage.INSTANCE)
+    }
+
+    String getName() { 'GroovyEnabledTest' }
+
+    String getDescription() { 'Groovy-enabled test files' }
+
+    String getDefaultExtension() { 'gtest' }
+
+    Icon getIcon() { null }
+  }
+
   private void doTest(int usageCount, String text) {
     myFixture.configureByText('_.groovy', text)
     assertUsageCount(usageCount);
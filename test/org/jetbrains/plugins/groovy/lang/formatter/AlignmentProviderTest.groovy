@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.formatter
+
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import com.intellij.testFramework.IdeaTestUtil
+import org.jetbrains.plugins.groovy.GroovyFileType
+import org.jetbrains.plugins.groovy.codeStyle.GroovyCodeStyleSettings
+import org.jetbrains.plugins.groovy.impl.formatter.AlignmentProvider
+import org.jetbrains.plugins.groovy.lang.psi.api.auxiliary.GrListOrMap
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.arguments.GrNamedArgument
+
+/**
+ * @since 2026-10-19
+ */
+class AlignmentProviderTest extends GroovyFormatterTestCase {
+  private static final int ENTRIES = 20000
+
+  void testAlignHugeMapLiteral() {
+    myTempSettings.getCustomSettings(GroovyCodeStyleSettings.class).ALIGN_NAMED_ARGS_IN_MAP = true
+
+    StringBuilder text = new StringBuilder("def map = [\n")
+    for (int i = 0; i < ENTRIES; i++) {
+      text.append("key").append(i).append(": ").append(i).append(",\n")
+    }
+    text.append("]\n")
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text.toString())
+
+    long start = System.currentTimeMillis()
+    doFormat(myFixture.file)
+    IdeaTestUtil.assertTiming("Formatting a map of $ENTRIES entries", 20000, System.currentTimeMillis() - start)
+
+    def lines = myFixture.file.text.readLines().findAll { it.contains('key') }
+    assertEquals(ENTRIES, lines.size())
+    assertEquals([lines.last().indexOf(':')] as Set, lines.collect { it.indexOf(':') } as Set)
+  }
+
+  void testMergeGroupsPairwise() {
+    StringBuilder text = new StringBuilder("[")
+    for (int i = 0; i < ENTRIES; i++) {
+      text.append("key").append(i).append(": ").append(i).append(", ")
+    }
+    text.append("]")
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text.toString())
+    GrNamedArgument[] args = PsiTreeUtil.findChildOfType(myFixture.file, GrListOrMap).namedArguments
+
+    // groups of two, then of four and so on: the merges the old set based provider copied element by element
+    AlignmentProvider provider = new AlignmentProvider()
+    long start = System.currentTimeMillis()
+    for (int step = 1; step < args.length; step *= 2) {
+      for (int i = 0; i + step < args.length; i += 2 * step) {
+        provider.addPair(args[i], args[i + step], false)
+      }
+    }
+    IdeaTestUtil.assertTiming("Merging $ENTRIES alignment groups", 1000, System.currentTimeMillis() - start)
+
+    def alignment = provider.getAlignment(args[0])
+    assertNotNull(alignment)
+    for (arg in args) {
+      assertSame(alignment, provider.getAlignment(arg))
+    }
+  }
+
+  void testAlignmentSurvivesMerge() {
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, "[a: 1, b: 2, c: 3, d: 4]")
+    GrNamedArgument[] args = PsiTreeUtil.findChildOfType(myFixture.file, GrListOrMap).namedArguments
+
+    AlignmentProvider provider = new AlignmentProvider()
+    provider.addPair(args[0], args[1], true)
+    provider.addPair(args[2], args[3], true)
+    def alignment = provider.getAlignment(args[3])
+    provider.addPair(args[1], args[2], true)
+
+    args.each { assertSame(alignment, provider.getAlignment(it)) }
+    assertNull(provider.getAlignment(myFixture.file))
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.formatter
+
+import com.intellij.java.language.psi.codeStyle.CommonCodeStyleSettings
+import org.jetbrains.plugins.groovy.GroovyFileType
+import org.jetbrains.plugins.groovy.impl.formatter.processors.GroovySpacingTable
+import org.jetbrains.plugins.groovy.util.TestUtils
+
+/**
+ * Reformats the formatter testdata with {@link GroovySpacingTable} in the verify mode, which reports every table
+ * decision differing from the spacing processors as an error, and checks that the table and the processors format
+ * the same.
+ *
+ * @since 2026-10-19
+ */
+class GroovySpacingTableTest extends GroovyFormatterTestCase {
+  final String basePath = TestUtils.testDataPath + "groovy/formatter/"
+
+  @Override
+  protected void tearDown() throws Exception {
+    GroovySpacingTable.mode = GroovySpacingTable.Mode.TABLE
+    super.tearDown()
+  }
+
+  void testDefaultSettings() {
+    verifyTestdata()
+  }
+
+  void testNextLineBracesAndWrapping() {
+    groovySettings.CLASS_BRACE_STYLE = CommonCodeStyleSettings.NEXT_LINE
+    groovySettings.METHOD_BRACE_STYLE = CommonCodeStyleSettings.NEXT_LINE_IF_WRAPPED
+    groovySettings.BRACE_STYLE = CommonCodeStyleSettings.NEXT_LINE_SHIFTED
+    groovySettings.BINARY_OPERATION_SIGN_ON_NEXT_LINE = true
+    groovySettings.CALL_PARAMETERS_LPAREN_ON_NEXT_LINE = true
+    groovySettings.METHOD_PARAMETERS_RPAREN_ON_NEXT_LINE = true
+    groovySettings.ELSE_ON_NEW_LINE = true
+    groovySettings.CATCH_ON_NEW_LINE = true
+    groovySettings.KEEP_SIMPLE_BLOCKS_IN_ONE_LINE = false
+    groovySettings.KEEP_CONTROL_STATEMENT_IN_ONE_LINE = false
+    verifyTestdata()
+  }
+
+  void testSpacesAround() {
+    groovySettings.SPACE_WITHIN_METHOD_CALL_PARENTHESES = true
+    groovySettings.SPACE_WITHIN_BRACKETS = true
+    groovySettings.SPACE_AROUND_ADDITIVE_OPERATORS = false
+    groovySettings.SPACE_BEFORE_METHOD_CALL_PARENTHESES = true
+    groovySettings.SPACE_AFTER_COMMA = false
+    groovySettings.KEEP_FIRST_COLUMN_COMMENT = false
+    verifyTestdata()
+  }
+
+  private void verifyTestdata() {
+    def files = new File(testDataPath).listFiles().findAll { it.name.endsWith(".test") }.sort { it.name }
+    assertFalse(files.isEmpty())
+    for (File file in files) {
+      String before = TestUtils.readInput(file.path)[0]
+      String byTable = reformat(before, GroovySpacingTable.Mode.VERIFY)
+      String byProcessors = reformat(before, GroovySpacingTable.Mode.VISITOR)
+      assertEquals(file.name, byProcessors, byTable)
+    }
+  }
+
+  private String reformat(String text, GroovySpacingTable.Mode mode) {
+    GroovySpacingTable.mode = mode
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text)
+    doFormat(myFixture.file)
+    return myFixture.file.text
+  }
+}
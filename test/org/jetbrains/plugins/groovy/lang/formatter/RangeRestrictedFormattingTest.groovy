@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.formatter
+
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.command.CommandProcessor
+import com.intellij.java.language.psi.codeStyle.CodeStyleManager
+import org.jetbrains.plugins.groovy.GroovyFileType
+import org.jetbrains.plugins.groovy.codeStyle.GroovyCodeStyleSettings
+import org.jetbrains.plugins.groovy.impl.formatter.GroovyFormattingModelBuilder
+import org.jetbrains.plugins.groovy.util.TestUtils
+
+/**
+ * Formats parts of the formatter and enter action testdata with the blocks outside of the formatting range left
+ * unexpanded and with the blocks of the whole file, and checks that both give the same text.
+ *
+ * @since 2026-10-19
+ */
+class RangeRestrictedFormattingTest extends GroovyFormatterTestCase {
+  @Override
+  protected void tearDown() throws Exception {
+    GroovyFormattingModelBuilder.restrictToRange = true
+    super.tearDown()
+  }
+
+  void testReformatEachLine() {
+    for (File file in testdata("formatter")) {
+      String text = TestUtils.readInput(file.path)[0]
+      for (range in lineRanges(text)) {
+        assertEquals("$file.name $range", reformatRange(text, range, false), reformatRange(text, range, true))
+      }
+    }
+  }
+
+  void testLineIndents() {
+    for (File file in testdata("formatter")) {
+      String text = TestUtils.readInput(file.path)[0]
+      myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text)
+      for (range in lineRanges(text)) {
+        assertEquals("$file.name $range", lineIndent(range.from, false), lineIndent(range.from, true))
+      }
+    }
+  }
+
+  void testEnter() {
+    for (File file in testdata("enterAction")) {
+      String text = TestUtils.readInput(file.path)[0]
+      assertEquals(file.name, typeEnter(text, false), typeEnter(text, true))
+    }
+  }
+
+  void testAlignedNamedArgumentsAroundRange() {
+    myTempSettings.getCustomSettings(GroovyCodeStyleSettings.class).ALIGN_NAMED_ARGS_IN_MAP = true
+    String text = '''\
+def map = [
+    a: 1,
+    bbbbbbbbbb: 2,
+    ccc  : 3,
+  dd: 4,
+]
+def other = 1
+'''
+    for (range in lineRanges(text)) {
+      assertEquals(range.toString(), reformatRange(text, range, false), reformatRange(text, range, true))
+    }
+  }
+
+  private List<File> testdata(String dir) {
+    def files = new File(TestUtils.testDataPath + "groovy/" + dir).listFiles().findAll { it.name.endsWith(".test") }
+    assertFalse(files.isEmpty())
+    return files.sort { it.name }
+  }
+
+  private static List<IntRange> lineRanges(String text) {
+    List<IntRange> ranges = []
+    int start = 0
+    for (String line in text.split("\n", -1)) {
+      ranges << (start..start + line.length())
+      start += line.length() + 1
+    }
+    return ranges
+  }
+
+  private String reformatRange(String text, IntRange range, boolean restrictToRange) {
+    GroovyFormattingModelBuilder.restrictToRange = restrictToRange
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text)
+    CommandProcessor.instance.executeCommand(project, {
+      ApplicationManager.application.runWriteAction {
+        CodeStyleManager.getInstance(project).reformatText(myFixture.file, range.from, range.to)
+      }
+    }, null, null)
+    return myFixture.file.text
+  }
+
+  private String lineIndent(int offset, boolean restrictToRange) {
+    GroovyFormattingModelBuilder.restrictToRange = restrictToRange
+    return CodeStyleManager.getInstance(project).getLineIndent(myFixture.file, offset)
+  }
+
+  private String typeEnter(String text, boolean restrictToRange) {
+    GroovyFormattingModelBuilder.restrictToRange = restrictToRange
+    myFixture.configureByText(GroovyFileType.GROOVY_FILE_TYPE, text)
+    myFixture.type('\n' as char)
+    return myFixture.editor.document.text + "|" + myFixture.editor.caretModel.offset
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.highlighting
+
+import com.intellij.codeInspection.InspectionProfileEntry
+import com.intellij.java.language.psi.PsiManager
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import org.jetbrains.plugins.groovy.codeInspection.assignment.GroovyAssignabilityCheckInspection
+import org.jetbrains.plugins.groovy.codeInspection.untypedUnresolvedAccess.GrUnresolvedAccessInspection
+import org.jetbrains.plugins.groovy.lang.psi.GrReferenceElement
+import org.jetbrains.plugins.groovy.lang.psi.api.GroovyResolveResult
+import org.jetbrains.plugins.groovy.lang.resolve.GrBatchResolver
+
+/**
+ * Checks that resolving the references of a highlighting fixture in one batch gives the results of resolving them one
+ * by one, and that the fixture is highlighted the same way afterwards.
+ *
+ * @since 2026-10-19
+ */
+class GrBatchResolverTest extends GrHighlightingTestBase {
+  void testUnresolvedAccess() { doBatchTest(new GrUnresolvedAccessInspection()) }
+
+  void testBooleanProperties() { doBatchTest(new GrUnresolvedAccessInspection()) }
+
+  void testRecursiveMethodTypeInference() { doBatchTest() }
+
+  void testWithMethod() { doBatchTest() }
+
+  void testGenericsMethodUsage() { doBatchTest() }
+
+  void testCurrying() { doBatchTest(new GroovyAssignabilityCheckInspection()) }
+
+  private void doBatchTest(InspectionProfileEntry... tools) {
+    myFixture.configureByFile(getTestName(false) + '.groovy')
+    def references = PsiTreeUtil.findChildrenOfType(myFixture.file, GrReferenceElement)
+    assertFalse(references.isEmpty())
+
+    def lazy = references.collect { describe(it) }
+
+    dropCaches()
+    GrBatchResolver.resolveAll(myFixture.file)
+    assertEquals(lazy, references.collect { describe(it) })
+
+    myFixture.enableInspections(tools)
+    myFixture.checkHighlighting(true, false, true)
+  }
+
+  private void dropCaches() {
+    PsiManager manager = PsiManager.getInstance(project)
+    manager.modificationTracker.incCounter()
+    manager.dropResolveCaches()
+  }
+
+  private static List<String> describe(GrReferenceElement<?> reference) {
+    reference.multiResolve(false).collect { GroovyResolveResult result ->
+      "$reference.text@$reference.textRange.startOffset -> $result.element valid=$result.validResult static=$result.staticsOK accessible=$result.accessible".toString()
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.highlighting
+
+import com.intellij.codeInspection.InspectionProfileEntry
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import org.jetbrains.plugins.groovy.codeInspection.assignment.GroovyAssignabilityCheckInspection
+import org.jetbrains.plugins.groovy.impl.codeInspection.assignment.CallSiteCache
+import org.jetbrains.plugins.groovy.impl.codeInspection.assignment.GrMethodCallInfo
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrStatement
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrCall
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrMethodCall
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition
+
+/**
+ * @since 2026-10-19
+ */
+class GrCallSiteCacheTest extends GrHighlightingTestBase {
+  @Override
+  InspectionProfileEntry[] getCustomInspections() {
+    [new GroovyAssignabilityCheckInspection()] as InspectionProfileEntry[]
+  }
+
+  void testOneApplicabilityCheckPerCall() {
+    myFixture.addClass('''\
+package groovy.transform;
+public @interface CompileStatic {
+}''')
+
+    // the static type checking annotator and the inspection both check the calls of a @CompileStatic class
+    testHighlighting('''\
+import groovy.transform.CompileStatic
+
+@CompileStatic
+class A {
+  void foo(String s) {}
+
+  void foo(int i, int j) {}
+
+  void test() {
+    foo("a")
+    foo(1, 2)
+    new A().foo("b")
+    print "abc".substring(1)
+  }
+}
+''')
+
+    def calls = PsiTreeUtil.findChildrenOfType(myFixture.file, GrCall)
+    assertFalse(calls.isEmpty())
+    int computed = 0
+    for (GrCall call in calls) {
+      int computations = CallSiteCache.getInstance(call).applicabilityComputations
+      assertTrue(call.text, computations <= 1)
+      computed += computations
+    }
+    assertTrue(computed > 0)
+  }
+
+  void testEditInOtherMethodBodyKeepsCache() {
+    testHighlighting('''\
+class A {
+  void foo(String s) {}
+
+  void first() {
+    foo("a")
+  }
+
+  void second() {
+  }
+}
+''')
+
+    GroovyFile file = myFixture.file as GroovyFile
+    GrCall call = PsiTreeUtil.findChildOfType(file.typeDefinitions[0].findCodeMethodsByName('first', false)[0].block, GrCall)
+    // the first edit of a body is counted as a change outside of it, as its previous text is unknown
+    addStatement(file, 'second', 'print 1')
+    myFixture.checkHighlighting()
+    CallSiteCache cache = CallSiteCache.getInstance(call)
+    assertEquals(1, cache.applicabilityComputations)
+
+    addStatement(file, 'second', 'foo("b")')
+    myFixture.checkHighlighting()
+
+    assertSame(cache, CallSiteCache.getInstance(call))
+    assertEquals(1, cache.applicabilityComputations)
+  }
+
+  void testMetaClassMethodAddedInOtherBodyIsResolved() {
+    GroovyFile other = myFixture.addFileToProject('B.groovy', '''\
+class B {
+  void init() {
+  }
+}
+''') as GroovyFile
+    testHighlighting('''\
+class Foo {}
+
+class A {
+  void first() {
+    new Foo().bar()
+  }
+}
+''')
+
+    GrMethodCall call = PsiTreeUtil.findChildOfType(myFixture.file, GrMethodCall)
+    assertNull(new GrMethodCallInfo(call).advancedResolve().element)
+
+    addStatement(other, 'init', 'print 1')
+    assertNull(new GrMethodCallInfo(call).advancedResolve().element)
+
+    GrStatement metaClassAssignment = addStatement(other, 'init', 'Foo.metaClass.bar = { -> }')
+    assertNotNull(new GrMethodCallInfo(call).advancedResolve().element)
+
+    WriteCommandAction.runWriteCommandAction(project) {
+      metaClassAssignment.delete()
+    }
+    assertNull(new GrMethodCallInfo(call).advancedResolve().element)
+  }
+
+  private GrStatement addStatement(GroovyFile file, String methodName, String statementText) {
+    GrStatement added = null
+    WriteCommandAction.runWriteCommandAction(project) {
+      def statement = GroovyPsiElementFactory.getInstance(project).createStatementFromText(statementText)
+      GrTypeDefinition clazz = file.typeDefinitions[0]
+      added = clazz.findCodeMethodsByName(methodName, false)[0].block.addStatementBefore(statement, null)
+    }
+    return added
+  }
+}
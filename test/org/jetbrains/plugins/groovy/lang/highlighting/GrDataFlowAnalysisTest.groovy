@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.highlighting
+
+import com.intellij.codeInspection.InspectionProfileEntry
+import org.jetbrains.plugins.groovy.codeInspection.control.finalVar.GrFinalVariableAccessInspection
+import org.jetbrains.plugins.groovy.codeInspection.unassignedVariable.UnassignedVariableAccessInspection
+import org.jetbrains.plugins.groovy.codeInspection.unusedDef.UnusedDefInspection
+import org.jetbrains.plugins.groovy.lang.psi.dataFlow.DataFlowAnalysis
+
+/**
+ * @since 2026-10-19
+ */
+class GrDataFlowAnalysisTest extends GrHighlightingTestBase {
+  @Override
+  InspectionProfileEntry[] getCustomInspections() {
+    [new UnusedDefInspection(), new UnassignedVariableAccessInspection(), new GrFinalVariableAccessInspection()] as InspectionProfileEntry[]
+  }
+
+  void testOnePassPerOwner() {
+    int before = DataFlowAnalysis.passCount
+    testHighlighting('''\
+class Foo {
+  def unassigned(boolean b) {
+    def x
+    if (b) x = 1
+    print <warning>x</warning>
+  }
+
+  def finalReassigned() {
+    final <warning>y</warning> = 1
+    <warning>y</warning> = 2
+    print y
+  }
+
+  def unused() {
+    def <warning>z</warning> = 1
+    z = 2
+    print z
+  }
+}
+''')
+    // the file and the three method bodies, each analyzed once for all the inspections and the type inference
+    assertEquals(4, DataFlowAnalysis.passCount - before)
+  }
+
+  void testDefinitionUsedAfterInstanceOf() {
+    int before = DataFlowAnalysis.passCount
+    testHighlighting('''\
+def foo(Object o) {
+  def x = o
+  if (x instanceof String) {
+    print x.length()
+  }
+}
+''')
+    assertTrue(DataFlowAnalysis.passCount > before)
+  }
+}
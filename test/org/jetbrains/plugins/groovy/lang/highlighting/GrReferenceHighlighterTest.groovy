@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.highlighting
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo
+import com.intellij.java.language.psi.PsiManager
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import com.intellij.openapi.progress.ProcessCanceledException
+import com.intellij.openapi.progress.util.ProgressIndicatorBase
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.impl.annotator.GrReferenceHighlighter
+import org.jetbrains.plugins.groovy.lang.psi.GrReferenceElement
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFileBase
+import org.jetbrains.plugins.groovy.lang.resolve.GrBatchResolver
+
+/**
+ * @since 2026-10-19
+ */
+class GrReferenceHighlighterTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  private static final String TEXT = '''\
+class A {
+  private int count
+
+  List<String> names() {
+    def list = ['a', 'b']
+    list.collect { it.toUpperCase() }
+  }
+
+  int size() {
+    names().size() + count
+  }
+
+  void print() {
+    names().each { String name -> println(name.length()) }
+    undefined()
+  }
+}
+
+new A().print()
+'''
+
+  private boolean myParallel
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp()
+    myParallel = GrBatchResolver.parallel
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    GrBatchResolver.parallel = myParallel
+    super.tearDown()
+  }
+
+  void testConcurrentResolveGivesLazyResults() {
+    myFixture.configureByText('_.groovy', TEXT)
+    def lazy = resolveResults()
+
+    GrBatchResolver.parallel = true
+    dropCaches()
+    GrBatchResolver.resolveAllConcurrently(myFixture.file, new ProgressIndicatorBase())
+    assertEquals(lazy, resolveResults())
+
+    GrBatchResolver.parallel = false
+    dropCaches()
+    GrBatchResolver.resolveAllConcurrently(myFixture.file, new ProgressIndicatorBase())
+    assertEquals(lazy, resolveResults())
+  }
+
+  void testParallelAndSequentialPassesCollectSameInfos() {
+    myFixture.configureByText('_.groovy', TEXT)
+
+    GrBatchResolver.parallel = true
+    dropCaches()
+    def parallel = collectInfos(new ProgressIndicatorBase())
+    assertFalse(parallel.isEmpty())
+
+    GrBatchResolver.parallel = false
+    dropCaches()
+    assertEquals(parallel, collectInfos(new ProgressIndicatorBase()))
+  }
+
+  void testCancelledParallelResolve() {
+    GrBatchResolver.parallel = true
+    assertCancelled()
+  }
+
+  void testCancelledSequentialResolve() {
+    GrBatchResolver.parallel = false
+    assertCancelled()
+  }
+
+  private void assertCancelled() {
+    myFixture.configureByText('_.groovy', TEXT)
+    def indicator = new ProgressIndicatorBase()
+    indicator.start()
+    indicator.cancel()
+
+    try {
+      GrBatchResolver.resolveAllConcurrently(myFixture.file, indicator)
+      fail('resolve should be cancelled')
+    }
+    catch (ProcessCanceledException ignored) {
+    }
+
+    def highlighter = new GrReferenceHighlighter(myFixture.editor.document, myFixture.file as GroovyFileBase)
+    try {
+      highlighter.doCollectInformation(indicator)
+      fail('highlighting should be cancelled')
+    }
+    catch (ProcessCanceledException ignored) {
+    }
+  }
+
+  private List<String> collectInfos(ProgressIndicatorBase indicator) {
+    def highlighter = new GrReferenceHighlighter(myFixture.editor.document, myFixture.file as GroovyFileBase)
+    highlighter.doCollectInformation(indicator)
+    List<HighlightInfo> infos = highlighter.@myInfos
+    return infos.collect { "$it.startOffset:$it.endOffset $it.type $it.description".toString() }.sort()
+  }
+
+  private List<String> resolveResults() {
+    PsiTreeUtil.findChildrenOfType(myFixture.file, GrReferenceElement).collect { GrReferenceElement<?> ref ->
+      "$ref.text@$ref.textRange.startOffset -> ${ref.multiResolve(false).collect { it.element }}".toString()
+    }
+  }
+
+  private void dropCaches() {
+    PsiManager manager = PsiManager.getInstance(project)
+    manager.modificationTracker.incCounter()
+    manager.dropResolveCaches()
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.lexer
+
+import com.intellij.lexer.FlexAdapter
+import com.intellij.lexer.Lexer
+import com.intellij.lexer.LookAheadLexer
+import com.intellij.lexer.MergingLexerAdapter
+import com.intellij.psi.TokenType
+import com.intellij.psi.tree.IElementType
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.testFramework.UsefulTestCase
+import org.jetbrains.plugins.groovy.util.TestUtils
+
+/**
+ * Lexes the parser and highlighting testdata with {@link GroovyFusedLexer} and with the adapter stack it replaces,
+ * and compares the tokens, their offsets and the states, from the start of each file and from restart points inside
+ * it the way the editor highlighter restarts lexing.
+ *
+ * @since 2026-10-19
+ */
+class GroovyFusedLexerTest extends UsefulTestCase {
+  private static final int RESTART_STEP = 7
+
+  void testParsingTestData() {
+    def files = testDataFiles('parsing', '.test')
+    assertTrue(files.size() > 100)
+    files.each { File file -> compareLexers(file.path, TestUtils.readInput(file.path)[0]) }
+  }
+
+  void testHighlightingTestData() {
+    def files = testDataFiles('highlighting', '.groovy')
+    assertTrue(files.size() > 100)
+    files.each { File file -> compareLexers(file.path, FileUtil.loadFile(file)) }
+  }
+
+  void testUnterminatedLiterals() {
+    ['"abc', '"""abc $x', '/abc', '$/abc $x', "'''abc", '"a${b', '/* abc', 'def x = "${ {-> "', '"$a.b.'].each {
+      compareLexers(it, it)
+    }
+  }
+
+  void testMalformedInput() {
+    ['$/abc $/ x', '$/abc $$ $x $/', 'def s = $/ \\u12 /$', '"\\u12"', "'\\x'", '"\\u"', '"""\\8 ${', '/\\u00g/',
+     'def x = \'\\', '$/${/$'].each {
+      compareLexers(it, it)
+    }
+  }
+
+  void testRecoveryFromLexerError() {
+    String text = 'def x = "abc ${y}" + foo(1, 2)\nprintln x'
+    for (int failAt = 0; failAt <= text.length(); failAt++) {
+      List<List> expected = lex(new LookAheadLexer(new MergingLexerAdapter(new FlexAdapter(new FailingFlexLexer(failAt)),
+                                                                           GroovyLexer.TOKENS_TO_MERGE)), text, 0, 0)
+      List<List> actual = lex(new GroovyFusedLexer(new FailingFlexLexer(failAt)), text, 0, 0)
+      assertEquals("failing at $failAt", expected, actual)
+
+      // the rest of the text after the failure is one bad character token
+      assertEquals(TokenType.BAD_CHARACTER, actual.last()[0])
+      assertEquals(text.length(), actual.last()[2])
+    }
+  }
+
+  private static List<File> testDataFiles(String dir, String extension) {
+    List<File> result = []
+    new File(TestUtils.absoluteTestDataPath, dir).eachFileRecurse { File file ->
+      if (file.name.endsWith(extension)) result << file
+    }
+    return result.sort { it.path }
+  }
+
+  private static void compareLexers(String name, String text) {
+    List<List> expected = lex(GroovyLexer.createAdapterLexer(), text, 0, 0)
+    assertEquals(name, expected, lex(new GroovyFusedLexer(), text, 0, 0))
+
+    for (int i = RESTART_STEP; i < expected.size(); i += RESTART_STEP) {
+      int start = expected[i][1] as int
+      int state = expected[i][3] as int
+      assertEquals("$name from $start", lex(GroovyLexer.createAdapterLexer(), text, start, state),
+                   lex(new GroovyFusedLexer(), text, start, state))
+    }
+  }
+
+  /**
+   * @return type, start, end and state of every token
+   */
+  private static List<List> lex(Lexer lexer, String text, int start, int state) {
+    List<List> tokens = []
+    lexer.start(text, start, text.length(), state)
+    while (lexer.tokenType != null) {
+      tokens << [lexer.tokenType, lexer.tokenStart, lexer.tokenEnd, lexer.state]
+      lexer.advance()
+    }
+    return tokens
+  }
+
+  /**
+   * Fails the way a generated lexer does when no rule matches, once it gets to {@code failAt}.
+   */
+  private static class FailingFlexLexer extends _GroovyLexer {
+    private final int myFailAt
+
+    FailingFlexLexer(int failAt) {
+      super((Reader)null)
+      myFailAt = failAt
+    }
+
+    @Override
+    IElementType advance() throws IOException {
+      if (tokenEnd >= myFailAt) throw new Error("Error: could not match input")
+      return super.advance()
+    }
+  }
+}
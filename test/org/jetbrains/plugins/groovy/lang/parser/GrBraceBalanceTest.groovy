@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.parser
+
+import com.intellij.lexer.Lexer
+import com.intellij.psi.tree.IElementType
+import com.intellij.testFramework.UsefulTestCase
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyLexer
+import org.jetbrains.plugins.groovy.lang.lexer.GroovyTokenTypes
+
+import static com.intellij.psi.tree.IErrorCounterReparseableElementType.FATAL_ERROR
+
+/**
+ * Compares the incremental brace balance of {@link GrBraceBalance} with a relex of the whole text after edits inside
+ * strings, GStrings, slashy strings and nested blocks.
+ *
+ * @since 2026-10-19
+ */
+class GrBraceBalanceTest extends UsefulTestCase {
+  private static final String BLOCK = '''\
+{
+  def s = "a { b"
+  def g = "x ${ [1, 2].collect { it * 2 } } y ${s} }"
+  def m = """
+    ${ { -> "}" }() } {
+  """
+  def r = /a{2}\\/ ${s} }/
+  def d = $/ { ${ g } /$
+  'c }'
+  if (s) {
+    [1].each { i ->
+      println "${i} {"
+    }
+  }
+  // }
+  /* { */
+}'''
+
+  private static final List<String> INSERTIONS =
+    ['{', '}', '"', '"${', '${', '/', '$/', '/$', "'", '"""', "'''", '//', '/*', '*/', '\n', 'x', '\\']
+
+  void testInsertionAtEveryOffset() {
+    GrBraceBalance balance = new GrBraceBalance()
+    for (String insertion in INSERTIONS) {
+      for (int offset = 0; offset <= BLOCK.length(); offset++) {
+        check(balance, BLOCK.substring(0, offset) + insertion + BLOCK.substring(offset))
+        // back to the original, as after undo
+        check(balance, BLOCK)
+      }
+    }
+  }
+
+  void testDeletionAtEveryOffset() {
+    GrBraceBalance balance = new GrBraceBalance()
+    for (int length in [1, 2, 5]) {
+      for (int offset = 0; offset + length <= BLOCK.length(); offset++) {
+        check(balance, BLOCK.substring(0, offset) + BLOCK.substring(offset + length))
+      }
+    }
+  }
+
+  void testTyping() {
+    GrBraceBalance balance = new GrBraceBalance()
+    Random random = new Random(42)
+    String text = BLOCK
+    1000.times {
+      int offset = random.nextInt(text.length() + 1)
+      if (random.nextInt(4) == 0 && offset < text.length()) {
+        text = text.substring(0, offset) + text.substring(offset + 1)
+      }
+      else {
+        String insertion = INSERTIONS[random.nextInt(INSERTIONS.size())]
+        // typing goes on at the same place most of the time
+        for (int i = 0; i < 1 + random.nextInt(3); i++) {
+          text = text.substring(0, offset) + insertion + text.substring(offset)
+          check(balance, text)
+          offset += insertion.length()
+        }
+      }
+      check(balance, text)
+    }
+  }
+
+  private static void check(GrBraceBalance balance, String text) {
+    assertEquals(text, relex(text), balance.getErrorsCount(text))
+  }
+
+  /**
+   * The check of the whole text which {@link GrBraceBalance} replaces
+   */
+  private static int relex(String text) {
+    Lexer lexer = new GroovyLexer()
+    lexer.start(text)
+    if (lexer.tokenType != GroovyTokenTypes.mLCURLY) return FATAL_ERROR
+    lexer.advance()
+    int balance = 1
+    while (true) {
+      IElementType type = lexer.tokenType
+      if (type == null) break
+      if (balance == 0) return FATAL_ERROR
+      if (type == GroovyTokenTypes.mLCURLY) {
+        balance++
+      }
+      else if (type == GroovyTokenTypes.mRCURLY) {
+        balance--
+      }
+      lexer.advance()
+    }
+    return balance
+  }
+}
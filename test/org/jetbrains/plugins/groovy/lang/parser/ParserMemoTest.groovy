@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.parser
+
+import com.intellij.java.language.psi.impl.DebugUtil
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase
+import org.jetbrains.plugins.groovy.lang.parser.parsing.util.ParserMemo
+import org.jetbrains.plugins.groovy.util.TestUtils
+
+/**
+ * Parses input the parser backtracks in with and without {@link ParserMemo} and compares the trees.
+ *
+ * @since 2026-10-19
+ */
+class ParserMemoTest extends LightCodeInsightFixtureTestCase {
+  @Override
+  protected void tearDown() throws Exception {
+    ParserMemo.enabled = true
+    super.tearDown()
+  }
+
+  void testNestedCallsUsedAsOperands() {
+    checkSameTree(backtrackingStatement(4) + ' + 1\n' + backtrackingStatement(1) + '\n', true)
+  }
+
+  void testCastsAndTypeArgumentsInRolledBackCommandExpression() {
+    checkSameTree('''\
+foo((A) == a, (List < b), (Map<String, List<C>>) x) + 1
+bar (B) == b
+(C) == c
+Level < limit || done(Level) + 1
+x.<T>foo((T) y, (U < v)) + 2
+def z = baz((A) == a, (B < b)) + 3
+''', true)
+  }
+
+  void testParsingTestdata() {
+    new File(TestUtils.absoluteTestDataPath, 'parsing/groovy').eachFileRecurse { File file ->
+      if (file.name.endsWith('.test')) {
+        checkSameTree(TestUtils.readInput(file.path)[0], false)
+      }
+    }
+  }
+
+  private void checkSameTree(String text, boolean backtracks) {
+    ParserMemo.enabled = false
+    String withoutMemo = parse(text)
+
+    ParserMemo.enabled = true
+    long hits = ParserMemo.hitCount
+    assertEquals(text, withoutMemo, parse(text))
+    if (backtracks) {
+      assertTrue(ParserMemo.hitCount > hits)
+    }
+  }
+
+  private String parse(String text) {
+    // the tree is printed with the memo state it was parsed with, lazy closures included
+    return DebugUtil.psiToString(TestUtils.createPseudoPhysicalGroovyFile(project, text), false)
+  }
+
+  /**
+   * Same shape as the benchmark corpus: a call nesting calls {@code level} levels deep, each with a failing type cast
+   * and a failing type argument list
+   */
+  private static String backtrackingStatement(int level) {
+    if (level == 0) return '(Alpha0) == a0 && (Level0 < limit0)'
+    return "call$level(${backtrackingStatement(level - 1)}, (Alpha$level) == a$level, (Level$level < limit$level)) + $level"
+  }
+}
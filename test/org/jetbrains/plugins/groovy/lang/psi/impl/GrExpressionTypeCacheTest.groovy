@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.psi.impl
+
+import com.intellij.java.language.psi.PsiAnnotation
+import com.intellij.java.language.psi.PsiPrimitiveType
+import com.intellij.java.language.psi.PsiType
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import com.intellij.openapi.application.ApplicationManager
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile
+import org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.literals.GrLiteral
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Checks the per-file slot tables of {@link GrExpressionTypeCache}.
+ *
+ * @since 2026-10-19
+ */
+class GrExpressionTypeCacheTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  void testTableGrowsFromInitialCapacity() {
+    def cache = new GrExpressionTypeCache(4, 1024)
+    def literals = literals(500)
+    def types = types(literals.size())
+
+    literals.eachWithIndex { literal, i -> assert cache.cacheOrGet(literal, types[i]).is(types[i]) }
+    literals.eachWithIndex { literal, i -> assert cache.get(literal).is(types[i]) }
+
+    assert cache.statistics == "hits=500, misses=0, overflows=0, files=1"
+  }
+
+  void testExhaustedTableOverflowsToWeakMap() {
+    def cache = new GrExpressionTypeCache(4, 64)
+    def literals = literals(100)
+    def types = types(literals.size())
+
+    literals.eachWithIndex { literal, i -> assert cache.cacheOrGet(literal, types[i]).is(types[i]) }
+    literals.eachWithIndex { literal, i -> assert cache.peek(literal).is(types[i]) }
+
+    // 64 slots at 3/4 load hold 48 types, the rest goes to the overflow map
+    assert cache.statistics == "hits=0, misses=0, overflows=52, files=1"
+
+    // cached types are not replaced, neither in the table nor in the overflow map
+    def other = type("other")
+    literals.eachWithIndex { literal, i -> assert cache.cacheOrGet(literal, other).is(types[i]) }
+  }
+
+  void testTablePerFile() {
+    def cache = new GrExpressionTypeCache()
+    def first = literals(10)
+    def second = literals(10)
+    def type = type("t")
+
+    (first + second).each { cache.cacheOrGet(it, type) }
+    assert cache.statistics.endsWith("files=2")
+
+    // the table in the user data of a file is read only by the cache which created it
+    assert new GrExpressionTypeCache().peek(first[0]) == null
+    assert cache.peek(first[0]).is(type)
+  }
+
+  void testClearDropsTypes() {
+    def cache = new GrExpressionTypeCache(4, 64)
+    def literals = literals(100)
+    def type = type("t")
+
+    literals.each { cache.cacheOrGet(it, type) }
+    cache.clear()
+
+    literals.each { assert cache.peek(it) == null }
+    assert cache.statistics.endsWith("files=0")
+
+    def newType = type("new")
+    literals.each { assert cache.cacheOrGet(it, newType).is(newType) }
+    literals.each { assert cache.peek(it).is(newType) }
+  }
+
+  void testConcurrentCacheOrGet() {
+    def cache = new GrExpressionTypeCache(4, 1 << 16)
+    def literals = literals(2000)
+    int threads = 8
+
+    def start = new CountDownLatch(1)
+    List<List<PsiType>> results = inParallel(threads) { int thread ->
+      PsiType own = type("t" + thread)
+      start.await()
+      readAction { literals.collect { cache.cacheOrGet(it, own) } }
+    } { start.countDown() }
+
+    literals.eachWithIndex { literal, i ->
+      PsiType winner = cache.peek(literal)
+      assert winner != null
+      results.each { assert it[i].is(winner) }
+    }
+  }
+
+  void testClearDuringLookup() {
+    def cache = new GrExpressionTypeCache(4, 256)
+    def literals = literals(1000)
+    def types = types(literals.size())
+    def done = new AtomicBoolean()
+
+    List<Integer> found = inParallel(4) { int thread ->
+      int count = 0
+      readAction {
+        while (!done.get()) {
+          literals.eachWithIndex { literal, i ->
+            PsiType type = thread % 2 == 0 ? cache.peek(literal) : cache.cacheOrGet(literal, types[i])
+            // a lookup racing with a clear may miss, but never sees the type of another element
+            assert type == null || type.is(types[i])
+            if (type != null) count++
+          }
+        }
+      }
+      count
+    } {
+      for (int round = 0; round < 200; round++) {
+        cache.clear()
+        Thread.yield()
+      }
+      done.set(true)
+    }
+
+    assert found.sum() > 0
+  }
+
+  private List<GrLiteral> literals(int count) {
+    String text = (0..<count).collect { "println $it" }.join('\n')
+    GroovyFile file = GroovyPsiElementFactory.getInstance(project).createGroovyFile(text, false, null)
+    List<GrLiteral> result = PsiTreeUtil.collectElementsOfType(file, GrLiteral) as List
+    assert result.size() == count
+    result
+  }
+
+  private static List<PsiType> types(int count) {
+    (0..<count).collect { type("t" + it) }
+  }
+
+  private static PsiType type(String name) {
+    new PsiPrimitiveType(name, PsiAnnotation.EMPTY_ARRAY)
+  }
+
+  private static <T> T readAction(Closure<T> action) {
+    ApplicationManager.application.runReadAction(action as Callable<T>)
+  }
+
+  /**
+   * Runs {@code task} on {@code threads} threads while {@code driver} runs on the calling one.
+   */
+  private static <T> List<T> inParallel(int threads, Closure<T> task, Closure driver) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads)
+    try {
+      List<Future<T>> futures = (0..<threads).collect { int thread -> executor.submit({ task(thread) } as Callable<T>) }
+      driver()
+      futures.collect { it.get(1, TimeUnit.MINUTES) }
+    }
+    finally {
+      executor.shutdownNow()
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve
+
+import com.intellij.java.language.psi.PsiElement
+import com.intellij.java.language.psi.PsiManager
+import com.intellij.java.language.psi.PsiParameter
+import com.intellij.java.language.psi.PsiPolyVariantReference
+import com.intellij.java.language.psi.PsiReference
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrField
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrLabeledStatement
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.GrVariable
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition
+
+/**
+ * Resolves every reference of a file with and without the by-name lookup of {@link GrScopeDeclarations} and compares
+ * the results.
+ *
+ * @since 2026-10-19
+ */
+class GrScopeDeclarationsTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  @Override
+  protected void tearDown() throws Exception {
+    GrScopeDeclarations.enabled = true
+    super.tearDown()
+  }
+
+  void testLocalShadowingField() {
+    checkSameResolve('''\
+class A {
+  def x = 1
+
+  def foo() {
+    println x
+    def x = 2
+    println x
+    [1].each { def y = x; println y }
+  }
+}
+''')
+    assertInstanceOf(resolveAt('println x'), GrField)
+    assertResolvedLocal(resolveAt('println x', 2))
+    assertResolvedLocal(resolveAt('= x'))
+  }
+
+  void testScriptVariablesAndField() {
+    checkSameResolve('''\
+import groovy.transform.Field
+
+@Field def counter = 0
+def local = 1
+
+def inc() {
+  counter++
+  local
+}
+
+println counter + local
+def later = counter
+println later
+''')
+    assertInstanceOf(resolveAt('counter++'), GrVariable)
+    assertNull(resolveAt('  local\n'))
+    assertInstanceOf(resolveAt('+ local'), GrVariable)
+    assertInstanceOf(resolveAt('println later'), GrVariable)
+  }
+
+  void testDeclarationAfterUse() {
+    checkSameResolve('''\
+def foo() {
+  println z
+  def z = 1
+  println z
+  def w = z, z2 = w
+  println z2
+}
+''')
+    assertNull(resolveAt('println z'))
+    assertResolvedLocal(resolveAt('println z', 2))
+    assertResolvedLocal(resolveAt('= w'))
+  }
+
+  void testCaseSections() {
+    checkSameResolve('''\
+def foo(int i) {
+  switch (i) {
+    case 1:
+      def a = 1
+      println a
+    case 2:
+      def b = 2
+      println b
+      println a
+      break
+    default:
+      def a2 = i
+      println a2
+  }
+  println b
+}
+''')
+    assertResolvedLocal(resolveAt('println a'))
+    assertResolvedLocal(resolveAt('println b'))
+    assertResolvedLocal(resolveAt('println a2'))
+    assertNull(resolveAt('println b', 2))
+  }
+
+  void testLabels() {
+    checkSameResolve('''\
+def bar() {
+  outer:
+  for (int i = 0; i < 3; i++) {
+    lbl: def v = i
+    println v
+    if (v) break outer
+    continue outer
+  }
+}
+''')
+    assertResolvedLocal(resolveAt('println v'))
+    assertInstanceOf(resolveAt('outer\n'), GrLabeledStatement)
+  }
+
+  void testLoopAndCatchParameters() {
+    checkSameResolve('''\
+def baz(List list) {
+  for (e in list) { println e }
+  for (int k = 0; k < 2; k++) println k
+  try {
+    println e
+  }
+  catch (IOException | RuntimeException e) {
+    println e.message
+  }
+  println k
+}
+''')
+    assertInstanceOf(resolveAt('println e'), PsiParameter)
+    assertResolvedLocal(resolveAt('println k'))
+    assertNull(resolveAt('println e', 2))
+    assertInstanceOf(resolveAt('e.message'), PsiParameter)
+    assertNull(resolveAt('println k', 2))
+  }
+
+  void testLocalClassesAndClosures() {
+    checkSameResolve('''\
+def qux() {
+  class Local { def m() {} }
+  new Local().m()
+  def c = { p -> p + 1 }
+  c(1)
+}
+''')
+    assertInstanceOf(resolveAt('Local()'), GrTypeDefinition)
+    assertResolvedLocal(resolveAt('c(1)'))
+    assertInstanceOf(resolveAt('p + 1'), PsiParameter)
+  }
+
+  private void checkSameResolve(String text) {
+    myFixture.configureByText('a.groovy', text)
+    List<PsiReference> references = PsiTreeUtil.collectElements(myFixture.file) { true }.collectMany { it.references as List }
+    assertFalse(references.isEmpty())
+
+    GrScopeDeclarations.enabled = false
+    dropCaches()
+    def fullWalk = references.collect { describe(it) }
+
+    GrScopeDeclarations.enabled = true
+    dropCaches()
+    assertEquals(fullWalk, references.collect { describe(it) })
+  }
+
+  private PsiElement resolveAt(String occurrence, int n = 1) {
+    String text = myFixture.file.text
+    int offset = -1
+    n.times { offset = text.indexOf(occurrence, offset + 1) }
+    assertTrue("'$occurrence' not found", offset >= 0)
+
+    int start = offset + occurrence.findIndexOf { Character.isJavaIdentifierStart(it as char) }
+    if (occurrence.startsWith('println ')) start = offset + 'println '.length()
+    myFixture.file.findReferenceAt(start)?.resolve()
+  }
+
+  private static void assertResolvedLocal(PsiElement element) {
+    assertInstanceOf(element, GrVariable)
+    assertFalse(element instanceof GrField)
+  }
+
+  private void dropCaches() {
+    PsiManager manager = PsiManager.getInstance(project)
+    manager.modificationTracker.incCounter()
+    manager.dropResolveCaches()
+  }
+
+  private static List<String> describe(PsiReference reference) {
+    def results = reference instanceof PsiPolyVariantReference
+      ? (reference as PsiPolyVariantReference).multiResolve(false).collect { it.element }
+      : [reference.resolve()]
+    results.collect { PsiElement element ->
+      "$reference.canonicalText@$reference.element.textRange.startOffset -> $element ${element?.textRange}".toString()
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve
+
+import com.intellij.java.language.psi.JavaPsiFacade
+import com.intellij.java.language.psi.PsiClassType
+import com.intellij.java.language.psi.PsiType
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile
+
+/**
+ * @since 2026-10-19
+ */
+class GrSuperTypesCacheTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  void testSuperTypesOfUnresolvedClassAreRecomputedWhenItIsCreated() {
+    GroovyFile file = myFixture.addFileToProject('A.groovy', 'class A extends B {}') as GroovyFile
+    PsiClassType type = JavaPsiFacade.getElementFactory(project).createType(file.typeDefinitions[0])
+
+    Map<String, PsiType> superTypes = ResolveUtil.getAllSuperTypes(type, project)
+    assertNull((superTypes['B'] as PsiClassType).resolve())
+    assertFalse(superTypes.containsKey('java.io.Serializable'))
+
+    myFixture.addFileToProject('B.groovy', 'class B implements Serializable {}')
+
+    superTypes = ResolveUtil.getAllSuperTypes(type, project)
+    assertNotNull((superTypes['B'] as PsiClassType).resolve())
+    assertTrue(superTypes.containsKey('java.io.Serializable'))
+  }
+
+  void testSuperTypesOfSourceClassAreDroppedOnPsiChange() {
+    GroovyFile file = myFixture.addFileToProject('A.groovy', 'class A extends ArrayList {}') as GroovyFile
+    PsiClassType type = JavaPsiFacade.getElementFactory(project).createType(file.typeDefinitions[0])
+
+    Map<String, PsiType> superTypes = ResolveUtil.getAllSuperTypes(type, project)
+    assertTrue(superTypes.containsKey('java.util.List'))
+    assertSame(superTypes, ResolveUtil.getAllSuperTypes(type, project))
+
+    myFixture.addFileToProject('C.groovy', 'class C {}')
+    Map<String, PsiType> recomputed = ResolveUtil.getAllSuperTypes(type, project)
+    assertNotSame(superTypes, recomputed)
+    assertEquals(superTypes.keySet(), recomputed.keySet())
+  }
+
+  void testSuperTypesOfLibraryClassSurvivePsiChange() {
+    PsiClassType type = JavaPsiFacade.getElementFactory(project).createTypeByFQClassName('java.util.ArrayList')
+
+    Map<String, PsiType> superTypes = ResolveUtil.getAllSuperTypes(type, project)
+    assertTrue(superTypes.containsKey('java.util.List'))
+
+    myFixture.addFileToProject('C.groovy', 'class C {}')
+    assertSame(superTypes, ResolveUtil.getAllSuperTypes(type, project))
+
+    GrSuperTypesCache.getInstance(project).clear()
+    assertNotSame(superTypes, ResolveUtil.getAllSuperTypes(type, project))
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve
+
+import com.intellij.java.language.psi.PsiElement
+import com.intellij.java.language.psi.PsiMethod
+import com.intellij.java.language.psi.util.PsiTreeUtil
+import com.intellij.openapi.command.WriteCommandAction
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.lang.psi.GroovyFile
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.expressions.GrReferenceExpression
+
+/**
+ * @since 2026-10-19
+ */
+class MetaProgrammingMemberContributorTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp()
+    myFixture.addFileToProject('Foo.groovy', 'class Foo {}')
+  }
+
+  void testMetaClassMember() {
+    GroovyFile declaring = myFixture.addFileToProject('Meta.groovy', '''\
+Foo.metaClass.bar = { -> }
+''') as GroovyFile
+    GrReferenceExpression ref = configureCall('bar')
+    assertNotNull(ref.resolve())
+
+    delete(declaring.statements[0])
+    assertNull(ref.resolve())
+  }
+
+  void testMixinMember() {
+    GroovyFile declaring = myFixture.addFileToProject('Mix.groovy', '''\
+class Mix {
+  def baz() {}
+}
+
+Foo.mixin(Mix)
+''') as GroovyFile
+    GrReferenceExpression ref = configureCall('baz')
+    PsiElement resolved = ref.resolve()
+    assertInstanceOf(resolved, PsiMethod)
+    assertEquals('Mix', (resolved as PsiMethod).containingClass.name)
+
+    delete(declaring.statements.last())
+    assertNull(ref.resolve())
+  }
+
+  void testCategoryMember() {
+    GroovyFile declaring = myFixture.addFileToProject('Cat.groovy', '''\
+@Category(Foo)
+class Cat {
+  def qux() {}
+}
+''') as GroovyFile
+    GrReferenceExpression ref = configureCall('qux')
+    PsiElement resolved = ref.resolve()
+    assertInstanceOf(resolved, PsiMethod)
+    assertEquals('Cat', (resolved as PsiMethod).containingClass.name)
+
+    delete(declaring.typeDefinitions[0])
+    assertNull(ref.resolve())
+  }
+
+  void testMemberAddedToSuperClass() {
+    myFixture.addFileToProject('SubFoo.groovy', 'class SubFoo extends Foo {}')
+    myFixture.addFileToProject('Meta.groovy', '''\
+Foo.metaClass.bar = { -> }
+''')
+    myFixture.configureByText('A.groovy', 'new SubFoo().bar()')
+    assertNotNull(findReference('bar').resolve())
+  }
+
+  void testMemberAddedAfterFirstResolve() {
+    GrReferenceExpression ref = configureCall('bar')
+    assertNull(ref.resolve())
+
+    myFixture.addFileToProject('Meta.groovy', '''\
+Foo.metaClass.bar = { -> }
+''')
+    assertNotNull(ref.resolve())
+  }
+
+  private GrReferenceExpression configureCall(String name) {
+    myFixture.configureByText('A.groovy', "new Foo().${name}()")
+    return findReference(name)
+  }
+
+  private GrReferenceExpression findReference(String name) {
+    return PsiTreeUtil.findChildrenOfType(myFixture.file, GrReferenceExpression).find { it.referenceName == name }
+  }
+
+  private void delete(PsiElement declaration) {
+    WriteCommandAction.runWriteCommandAction(project) {
+      declaration.delete()
+    }
+  }
+}
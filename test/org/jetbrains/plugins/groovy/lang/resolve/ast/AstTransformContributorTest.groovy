@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.lang.resolve.ast
+
+import com.intellij.java.language.psi.JavaPsiFacade
+import com.intellij.java.language.psi.PsiMethod
+import com.intellij.java.language.psi.search.GlobalSearchScope
+import com.intellij.openapi.vfs.VirtualFileFilter
+import com.intellij.psi.impl.PsiManagerEx
+import org.jetbrains.plugins.groovy.LightGroovyTestCase
+import org.jetbrains.plugins.groovy.lang.psi.api.statements.typedef.GrTypeDefinition
+
+/**
+ * Checks when {@link AstTransformContributor}s reacting to annotations are skipped for a class.
+ *
+ * @since 2026-10-19
+ */
+class AstTransformContributorTest extends LightGroovyTestCase {
+  final String basePath = null
+
+  private static final Set<String> AUTO_CLONE = Collections.singleton('AutoClone')
+
+  void testClassWithoutRelevantAnnotationsIsSkipped() {
+    myFixture.addFileToProject('Plain.groovy', '''\
+@Deprecated
+class Plain {
+  @Deprecated String name
+  def clone() { this }
+}
+''')
+    myFixture.addFileToProject('Bare.groovy', 'class Bare {}')
+
+    assertFalse(AstTransformContributor.mayHaveAnyAnnotation(findClass('Plain'), AUTO_CLONE))
+    assertFalse(AstTransformContributor.mayHaveAnyAnnotation(findClass('Bare'), AUTO_CLONE))
+    assertTrue(AstTransformContributor.mayHaveAnyAnnotation(findClass('Bare'), Collections.<String>emptySet()))
+    assertEmpty(contributedMethods(findClass('Plain'), 'clone'))
+  }
+
+  void testAnnotationOnField() {
+    myFixture.addFileToProject('Holder.groovy', '''\
+class Holder {
+  @Delegate List list
+}
+''')
+    GrTypeDefinition holder = findClass('Holder')
+    assertTrue(AstTransformContributor.mayHaveAnyAnnotation(holder, Collections.singleton('Delegate')))
+    assertFalse(AstTransformContributor.mayHaveAnyAnnotation(holder, AUTO_CLONE))
+  }
+
+  void testImportAlias() {
+    myFixture.addFileToProject('Copy.groovy', '''\
+import groovy.transform.AutoClone as Copyable
+
+@Copyable
+class Copy {}
+''')
+    GrTypeDefinition copy = findClass('Copy')
+    assertTrue(AstTransformContributor.mayHaveAnyAnnotation(copy, AUTO_CLONE))
+    assertSize(1, contributedMethods(copy, 'clone'))
+  }
+
+  void testAnnotationCollectorFallsBackToRunning() {
+    myFixture.addFileToProject('CloneAll.groovy', '''\
+@groovy.transform.AnnotationCollector([groovy.transform.AutoClone])
+@interface CloneAll {}
+''')
+    myFixture.addFileToProject('Collected.groovy', '''\
+@CloneAll
+class Collected {}
+''')
+    GrTypeDefinition collected = findClass('Collected')
+    assertTrue(AstTransformContributor.mayHaveAnyAnnotation(collected, AUTO_CLONE))
+    assertSize(1, contributedMethods(collected, 'clone'))
+  }
+
+  void testStubOnlyClassIsNotLoaded() {
+    myFixture.addFileToProject('Stubbed.groovy', '''\
+@Deprecated
+class Stubbed {
+  @Deprecated String name
+  def foo() { println name }
+}
+''')
+    GrTypeDefinition stubbed = findClass('Stubbed')
+
+    // fails the test if the AST of any file is loaded
+    PsiManagerEx.getInstanceEx(project).setAssertOnFileLoadingFilter(VirtualFileFilter.ALL, testRootDisposable)
+
+    assertFalse(AstTransformContributor.mayHaveAnyAnnotation(stubbed, AUTO_CLONE))
+    assertEmpty(AstTransformContributor.runContributorsForMethods(stubbed))
+    assertEmpty(AstTransformContributor.runContributorsForFields(stubbed))
+    assertEmpty(AstTransformContributor.runContributorsForClasses(stubbed))
+  }
+
+  private GrTypeDefinition findClass(String name) {
+    def aClass = JavaPsiFacade.getInstance(project).findClass(name, GlobalSearchScope.allScope(project))
+    assertInstanceOf(aClass, GrTypeDefinition)
+    aClass as GrTypeDefinition
+  }
+
+  private static List<PsiMethod> contributedMethods(GrTypeDefinition aClass, String name) {
+    AstTransformContributor.runContributorsForMethods(aClass).findAll { it.name == name } as List
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jetbrains.plugins.groovy.mvc
+
+import com.intellij.openapi.application.WriteAction
+import com.intellij.openapi.module.Module
+import com.intellij.openapi.roots.ContentEntry
+import com.intellij.openapi.roots.ModifiableRootModel
+import com.intellij.openapi.roots.ModuleRootManager
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.openapi.vfs.JarFileSystem
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.LightProjectDescriptor
+import com.intellij.testFramework.PlatformTestUtil
+import com.intellij.testFramework.fixtures.DefaultLightProjectDescriptor
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase
+import org.jetbrains.plugins.groovy.impl.griffon.GriffonFramework
+import org.jetbrains.plugins.groovy.impl.mvc.MvcFramework
+import org.jetbrains.plugins.groovy.impl.mvc.MvcModuleStructureSynchronizer
+
+import java.util.concurrent.TimeUnit
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+/**
+ * @since 2026-10-19
+ */
+class MvcModuleStructureSynchronizerTest extends LightCodeInsightFixtureTestCase {
+  // a module with a Griffon SDK jar, so that the application directory makes it a Griffon module
+  private static final LightProjectDescriptor GRIFFON_DESCRIPTOR = new DefaultLightProjectDescriptor() {
+    @Override
+    void configureModule(Module module, ModifiableRootModel model, ContentEntry contentEntry) {
+      def sdkHome = FileUtil.createTempDirectory('griffon', null)
+      def jar = new File(sdkHome, 'dist/griffon-rt-1.1.0.jar')
+      jar.parentFile.mkdirs()
+      new ZipOutputStream(new FileOutputStream(jar)).withStream { it.putNextEntry(new ZipEntry('griffon/')) }
+
+      def library = model.moduleLibraryTable.createLibrary('griffon').modifiableModel
+      VirtualFile jarRoot = JarFileSystem.instance.refreshAndFindFileByPath(FileUtil.toSystemIndependentName(jar.path) + '!/')
+      assert jarRoot != null
+      library.addRoot(jarRoot, BinariesOrderRootType.getInstance())
+      library.commit()
+    }
+  }
+
+  @Override
+  protected LightProjectDescriptor getProjectDescriptor() {
+    return GRIFFON_DESCRIPTOR
+  }
+
+  @Override
+  protected void setUp() {
+    super.setUp()
+    MvcModuleStructureSynchronizer.ourGrailsTestFlag = true
+  }
+
+  @Override
+  protected void tearDown() {
+    MvcModuleStructureSynchronizer.ourGrailsTestFlag = false
+    super.tearDown()
+  }
+
+  public void testBurstOfFileEventsIsSynchronizedOnce() {
+    def synchronizer = MvcModuleStructureSynchronizer.getInstance(project)
+    waitForSync(synchronizer)
+    int syncCount = synchronizer.getSyncCount(myModule)
+    long applyNanos = synchronizer.applyNanos
+
+    WriteAction.run {
+      myFixture.tempDirFixture.findOrCreateDir('griffon-app/models')
+      myFixture.tempDirFixture.findOrCreateDir('griffon-app/controllers')
+      myFixture.tempDirFixture.findOrCreateDir('src/main')
+      1000.times { myFixture.tempDirFixture.createFile("lib/lib${it}.jar") }
+    }
+    assert MvcFramework.getInstance(myModule) instanceof GriffonFramework
+    waitForSync(synchronizer)
+
+    assert synchronizer.getSyncCount(myModule) == syncCount + 1
+    assert synchronizer.applyNanos - applyNanos < TimeUnit.MILLISECONDS.toNanos(100)
+
+    def sourceRoots = ModuleRootManager.getInstance(myModule).sourceRoots as List
+    for (path in ['griffon-app/models', 'griffon-app/controllers', 'src/main']) {
+      assert myFixture.tempDirFixture.getFile(path) in sourceRoots : path
+    }
+  }
+
+  private static void waitForSync(MvcModuleStructureSynchronizer synchronizer) {
+    long deadline = System.currentTimeMillis() + 10000
+    while (synchronizer.syncPending) {
+      assert System.currentTimeMillis() < deadline : 'too long waiting for the structure sync'
+      PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue()
+      Thread.sleep(10)
+    }
+    PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue()
+  }
+}